@@ -0,0 +1,77 @@
+package com.ems.analytics;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * One calendar year of daily counts, indexed by day of year, with {@link #UNKNOWN} for days not recorded.
+ * Serialised as 366 big-endian ints (1464 bytes).
+ */
+public final class DailyCounts {
+
+    public static final int UNKNOWN = -1;
+    private static final int DAYS = 366;
+
+    private final int year;
+    private final int[] counts;
+
+    private DailyCounts(int year, int[] counts) {
+        this.year = year;
+        this.counts = counts;
+    }
+
+    public static DailyCounts empty(int year) {
+        int[] counts = new int[DAYS];
+        Arrays.fill(counts, UNKNOWN);
+        return new DailyCounts(year, counts);
+    }
+
+    public static DailyCounts decode(int year, byte[] bytes) {
+        DailyCounts days = empty(year);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        for (int i = 0; i < DAYS && buffer.remaining() >= Integer.BYTES; i++) {
+            days.counts[i] = buffer.getInt();
+        }
+        return days;
+    }
+
+    public byte[] encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(DAYS * Integer.BYTES);
+        for (int count : counts) {
+            buffer.putInt(count);
+        }
+        return buffer.array();
+    }
+
+    public int year() {
+        return year;
+    }
+
+    public int get(LocalDate day) {
+        return counts[index(day)];
+    }
+
+    public void set(LocalDate day, int count) {
+        counts[index(day)] = count;
+    }
+
+    /**
+     * The last day of the year that has a count, or null.
+     */
+    public LocalDate lastRecordedDay() {
+        for (int i = DAYS - 1; i >= 0; i--) {
+            if (counts[i] != UNKNOWN) {
+                return LocalDate.ofYearDay(year, i + 1);
+            }
+        }
+        return null;
+    }
+
+    private int index(LocalDate day) {
+        if (day.getYear() != year) {
+            throw new IllegalArgumentException(day + " is not in " + year);
+        }
+        return day.getDayOfYear() - 1;
+    }
+}
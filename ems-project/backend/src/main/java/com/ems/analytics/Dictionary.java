@@ -0,0 +1,60 @@
+package com.ems.analytics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary encoding for a dimension column: each distinct entity id gets a dense code starting at 1,
+ * code 0 ({@link #NONE}) stands for "not set". Not thread-safe while building; read-only once the snapshot is built.
+ */
+public final class Dictionary {
+
+    public static final int NONE = 0;
+
+    private final Map<Long, Integer> codes = new HashMap<>();
+    private final List<Long> ids = new ArrayList<>();
+    private final List<String> labels = new ArrayList<>();
+
+    public Dictionary() {
+        ids.add(null);
+        labels.add("(none)");
+    }
+
+    int encode(Long id, String label) {
+        if (id == null) {
+            return NONE;
+        }
+        Integer code = codes.get(id);
+        if (code == null) {
+            code = ids.size();
+            codes.put(id, code);
+            ids.add(id);
+            labels.add(label);
+        }
+        return code;
+    }
+
+    /**
+     * The code for an id, or -1 if the id does not occur in the snapshot.
+     */
+    public int codeOf(Long id) {
+        return id == null ? NONE : codes.getOrDefault(id, -1);
+    }
+
+    /**
+     * Number of codes including {@link #NONE}.
+     */
+    public int cardinality() {
+        return ids.size();
+    }
+
+    public Long idOf(int code) {
+        return ids.get(code);
+    }
+
+    public String labelOf(int code) {
+        return labels.get(code);
+    }
+}
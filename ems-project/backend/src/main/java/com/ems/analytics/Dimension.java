@@ -0,0 +1,12 @@
+package com.ems.analytics;
+
+/**
+ * Columns a workforce query can group by.
+ */
+public enum Dimension {
+    DEPARTMENT,
+    DESIGNATION,
+    STATUS,
+    JOINING_YEAR,
+    SALARY_BAND
+}
@@ -0,0 +1,81 @@
+package com.ems.analytics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Per-group salary distributions read off a {@link WorkforceSnapshot}, grouped by department or designation
+ * and keyed by dictionary code. Employees without a salary are skipped.
+ */
+public final class SalaryDistributions {
+
+    private SalaryDistributions() {
+    }
+
+    /**
+     * Exact statistics: the salaries are bucketed by group in two passes (count, then fill) and each group is
+     * sorted in parallel.
+     */
+    public static Map<Integer, SalarySummary> exact(WorkforceSnapshot s, Dimension groupBy) {
+        int[] column = column(s, groupBy);
+        Dictionary dictionary = dictionary(s, groupBy);
+        int[] sizes = new int[dictionary.cardinality()];
+        for (int i = 0; i < s.size; i++) {
+            if (s.salaryCents[i] != WorkforceSnapshot.NO_SALARY) {
+                sizes[column[i]]++;
+            }
+        }
+        long[][] salaries = new long[sizes.length][];
+        for (int code = 0; code < sizes.length; code++) {
+            salaries[code] = new long[sizes[code]];
+        }
+        int[] filled = new int[sizes.length];
+        for (int i = 0; i < s.size; i++) {
+            long cents = s.salaryCents[i];
+            if (cents != WorkforceSnapshot.NO_SALARY) {
+                int code = column[i];
+                salaries[code][filled[code]++] = cents;
+            }
+        }
+        SalarySummary[] summaries = new SalarySummary[sizes.length];
+        IntStream.range(0, sizes.length).parallel()
+                .filter(code -> sizes[code] > 0)
+                .forEach(code -> {
+                    Arrays.sort(salaries[code]);
+                    summaries[code] = SalarySummary.ofSorted(salaries[code]);
+                });
+        Map<Integer, SalarySummary> result = new HashMap<>();
+        for (int code = 0; code < summaries.length; code++) {
+            if (summaries[code] != null) {
+                result.put(code, summaries[code]);
+            }
+        }
+        return result;
+    }
+
+    public static Map<Integer, SalaryHistogram> histograms(WorkforceSnapshot s, Dimension groupBy) {
+        int[] column = column(s, groupBy);
+        Map<Integer, SalaryHistogram> result = new HashMap<>();
+        for (int i = 0; i < s.size; i++) {
+            long cents = s.salaryCents[i];
+            if (cents != WorkforceSnapshot.NO_SALARY) {
+                result.computeIfAbsent(column[i], code -> new SalaryHistogram()).add(cents);
+            }
+        }
+        return result;
+    }
+
+    public static Dictionary dictionary(WorkforceSnapshot s, Dimension groupBy) {
+        return switch (groupBy) {
+            case DEPARTMENT -> s.departments;
+            case DESIGNATION -> s.designations;
+            default -> throw new IllegalArgumentException("Salary distributions group by department or designation");
+        };
+    }
+
+    private static int[] column(WorkforceSnapshot s, Dimension groupBy) {
+        return groupBy == Dimension.DEPARTMENT ? s.department : s.designation;
+    }
+}
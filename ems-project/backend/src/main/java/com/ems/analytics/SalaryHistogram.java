@@ -0,0 +1,99 @@
+package com.ems.analytics;
+
+import java.util.Arrays;
+
+/**
+ * A log-linear histogram of salaries in cents, in the style of HdrHistogram. Values below 256 get a bucket each;
+ * above that every power of two is split into 128 equal buckets, so any reported value is within 0.8% of the
+ * true one while a group takes at most a few thousand counters, however many employees it holds.
+ * <p>
+ * Unlike a t-digest, buckets are plain counters, so a value can be removed as exactly as it was added: a salary
+ * change is one decrement and one increment. Count and mean are exact; min, max and percentiles are bucket
+ * midpoints. Not thread-safe.
+ */
+public final class SalaryHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int LINEAR_LIMIT = 2 << SUB_BUCKET_BITS;
+
+    private long[] counts = new long[LINEAR_LIMIT];
+    private long count;
+    private long sumCents;
+
+    public void add(long cents) {
+        record(cents, 1);
+    }
+
+    /**
+     * Takes one occurrence of the value out again; a value whose bucket is already empty is ignored, so counts never
+     * go negative.
+     */
+    public void remove(long cents) {
+        int index = indexOf(Math.max(0, cents));
+        if (index < counts.length && counts[index] > 0) {
+            record(cents, -1);
+        }
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public SalarySummary summary() {
+        if (count == 0) {
+            return new SalarySummary(0, 0, 0, 0, 0, 0, 0);
+        }
+        int lowest = 0;
+        while (counts[lowest] == 0) {
+            lowest++;
+        }
+        int highest = counts.length - 1;
+        while (counts[highest] == 0) {
+            highest--;
+        }
+        return new SalarySummary(count, midpoint(lowest), midpoint(highest), (double) sumCents / count,
+                valueAtRank(SalarySummary.rank(0.10, count)),
+                valueAtRank(SalarySummary.rank(0.50, count)),
+                valueAtRank(SalarySummary.rank(0.90, count)));
+    }
+
+    private void record(long cents, int delta) {
+        long value = Math.max(0, cents);
+        int index = indexOf(value);
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(index + 1, counts.length * 2));
+        }
+        counts[index] += delta;
+        count += delta;
+        sumCents += delta * value;
+    }
+
+    private long valueAtRank(long rank) {
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return midpoint(i);
+            }
+        }
+        return midpoint(counts.length - 1);
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    static long midpoint(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index >> SUB_BUCKET_BITS) - 1;
+        long mantissa = index - ((long) shift << SUB_BUCKET_BITS);
+        long lower = mantissa << shift;
+        return lower + (1L << shift) / 2;
+    }
+}
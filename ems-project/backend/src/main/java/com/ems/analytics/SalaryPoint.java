@@ -0,0 +1,25 @@
+package com.ems.analytics;
+
+import com.ems.entity.Employee;
+
+/**
+ * Where one employee's salary counts: department, designation and the amount in cents.
+ */
+public record SalaryPoint(Long departmentId, String departmentName, Long designationId, String designationTitle,
+                          long salaryCents) {
+
+    /**
+     * The employee's current point, or null when they have no salary.
+     */
+    public static SalaryPoint of(Employee e) {
+        if (e.getSalary() == null) {
+            return null;
+        }
+        return new SalaryPoint(
+                e.getDepartment() != null ? e.getDepartment().getId() : null,
+                e.getDepartment() != null ? e.getDepartment().getName() : null,
+                e.getDesignation() != null ? e.getDesignation().getId() : null,
+                e.getDesignation() != null ? e.getDesignation().getTitle() : null,
+                e.getSalary().movePointRight(2).longValue());
+    }
+}
@@ -0,0 +1,25 @@
+package com.ems.analytics;
+
+/**
+ * Salary statistics for one group, in cents.
+ */
+public record SalarySummary(long count, long minCents, long maxCents, double meanCents,
+                            long p10Cents, long p50Cents, long p90Cents) {
+
+    /**
+     * Exact statistics of an ascending array; percentiles use the nearest-rank definition.
+     */
+    public static SalarySummary ofSorted(long[] sorted) {
+        int n = sorted.length;
+        long sum = 0;
+        for (long cents : sorted) {
+            sum += cents;
+        }
+        return new SalarySummary(n, sorted[0], sorted[n - 1], (double) sum / n,
+                sorted[rank(0.10, n) - 1], sorted[rank(0.50, n) - 1], sorted[rank(0.90, n) - 1]);
+    }
+
+    static int rank(double percentile, long count) {
+        return (int) Math.max(1, Math.ceil(percentile * count));
+    }
+}
@@ -0,0 +1,15 @@
+package com.ems.analytics;
+
+import java.util.Map;
+
+/**
+ * One result row: the group's dimension labels and its aggregates. Salary aggregates cover only employees with a
+ * salary ({@code salaryCount} of {@code count}); min and max are {@link WorkforceSnapshot#NO_SALARY} when none has.
+ */
+public record WorkforceGroup(Map<Dimension, String> key,
+                             long count,
+                             long salaryCount,
+                             long salarySumCents,
+                             long minSalaryCents,
+                             long maxSalaryCents) {
+}
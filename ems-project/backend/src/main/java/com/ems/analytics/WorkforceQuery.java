@@ -0,0 +1,22 @@
+package com.ems.analytics;
+
+import com.ems.entity.Employee;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A group-by query over a {@link WorkforceSnapshot}. Null or empty filters match everything; salary bounds are
+ * inclusive and exclude employees without a salary when set.
+ */
+public record WorkforceQuery(List<Dimension> groupBy,
+                             Set<Long> departmentIds,
+                             Set<Long> designationIds,
+                             Set<Employee.EmploymentStatus> statuses,
+                             LocalDate joinedFrom,
+                             LocalDate joinedTo,
+                             Long minSalaryCents,
+                             Long maxSalaryCents,
+                             long salaryBandCents) {
+}
@@ -0,0 +1,317 @@
+package com.ems.analytics;
+
+import com.ems.entity.Employee;
+import com.ems.exception.BadRequestException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Executes {@link WorkforceQuery} against a {@link WorkforceSnapshot} with a parallel scan.
+ * <p>
+ * The rows are cut into a few chunks per core. Each chunk filters and aggregates into its own partial result
+ * with no sharing, processing one column at a time. The partials are then merged. The group key packs each grouped dimension's code into one
+ * {@code long} (mixed radix). When the number of possible groups is small, partials are flat {@code long[]}
+ * tables indexed by that key, so the hot loop allocates nothing. Larger key spaces fall back to a hash map.
+ */
+public final class WorkforceQueryEngine {
+
+    private static final int MIN_CHUNK_ROWS = 16_384;
+    private static final long DENSE_GROUP_LIMIT = 4_096;
+    private static final long MAX_GROUPS = 1_000_000;
+
+    // per group: count, salaryCount, salarySum, salaryMin, salaryMax
+    private static final int CELLS = 5;
+
+    private WorkforceQueryEngine() {
+    }
+
+    public static List<WorkforceGroup> execute(WorkforceSnapshot snapshot, WorkforceQuery query) {
+        Dimension[] dims = query.groupBy() == null ? new Dimension[0] : query.groupBy().toArray(Dimension[]::new);
+        long band = query.salaryBandCents();
+        long[] radix = new long[dims.length];
+        long groups = 1;
+        for (int d = 0; d < dims.length; d++) {
+            radix[d] = cardinality(snapshot, dims[d], band);
+            groups = groups > MAX_GROUPS / radix[d] ? MAX_GROUPS + 1 : groups * radix[d];
+        }
+        if (groups > MAX_GROUPS) {
+            throw new BadRequestException("Query could produce more than " + MAX_GROUPS
+                    + " groups; group by fewer dimensions or use a wider salary band");
+        }
+
+        Filter filter = new Filter(snapshot, query);
+        int size = snapshot.size;
+        int chunks = Math.max(1, Math.min(size / MIN_CHUNK_ROWS, ForkJoinPool.getCommonPoolParallelism() * 4));
+        int chunkRows = (size + chunks - 1) / chunks;
+        boolean dense = groups <= DENSE_GROUP_LIMIT;
+        int denseGroups = (int) groups;
+
+        Partial total = IntStream.range(0, chunks).parallel()
+                .mapToObj(c -> scan(snapshot, filter, dims, radix, band,
+                        dense ? new Partial(denseGroups) : new Partial(),
+                        c * chunkRows, Math.min(size, (c + 1) * chunkRows)))
+                .reduce(Partial::merge)
+                .orElseThrow();
+        return total.toGroups(snapshot, dims, radix, band);
+    }
+
+    /**
+     * Column at a time: first a selection vector of matching rows, then one tight loop per grouped dimension
+     * folding its codes into the keys, then one pass adding salaries. Each loop reads a single column.
+     */
+    private static Partial scan(WorkforceSnapshot s, Filter filter, Dimension[] dims, long[] radix, long band,
+                                Partial partial, int from, int to) {
+        int[] selected = new int[to - from];
+        int matched = 0;
+        for (int i = from; i < to; i++) {
+            if (filter.test(i)) {
+                selected[matched++] = i;
+            }
+        }
+        long[] keys = new long[matched];
+        for (int d = 0; d < dims.length; d++) {
+            foldCodes(s, dims[d], radix[d], band, selected, keys);
+        }
+        long[] salaries = s.salaryCents;
+        for (int j = 0; j < matched; j++) {
+            partial.add(keys[j], salaries[selected[j]]);
+        }
+        return partial;
+    }
+
+    private static void foldCodes(WorkforceSnapshot s, Dimension dimension, long radix, long band,
+                                  int[] selected, long[] keys) {
+        int n = keys.length;
+        switch (dimension) {
+            case DEPARTMENT -> {
+                int[] column = s.department;
+                for (int j = 0; j < n; j++) {
+                    keys[j] = keys[j] * radix + column[selected[j]];
+                }
+            }
+            case DESIGNATION -> {
+                int[] column = s.designation;
+                for (int j = 0; j < n; j++) {
+                    keys[j] = keys[j] * radix + column[selected[j]];
+                }
+            }
+            case STATUS -> {
+                byte[] column = s.status;
+                for (int j = 0; j < n; j++) {
+                    keys[j] = keys[j] * radix + column[selected[j]];
+                }
+            }
+            case JOINING_YEAR -> {
+                short[] column = s.joiningYear;
+                int minYear = s.minYear;
+                for (int j = 0; j < n; j++) {
+                    keys[j] = keys[j] * radix + (column[selected[j]] - minYear);
+                }
+            }
+            case SALARY_BAND -> {
+                long[] column = s.salaryCents;
+                for (int j = 0; j < n; j++) {
+                    long cents = column[selected[j]];
+                    long code = cents == WorkforceSnapshot.NO_SALARY ? 0 : Math.max(0, cents) / band + 1;
+                    keys[j] = keys[j] * radix + code;
+                }
+            }
+        }
+    }
+
+    private static long cardinality(WorkforceSnapshot s, Dimension dimension, long band) {
+        return switch (dimension) {
+            case DEPARTMENT -> s.departments.cardinality();
+            case DESIGNATION -> s.designations.cardinality();
+            case STATUS -> Employee.EmploymentStatus.values().length;
+            case JOINING_YEAR -> s.maxYear - s.minYear + 1;
+            case SALARY_BAND -> s.maxSalaryCents / band + 2;
+        };
+    }
+
+    private static String label(WorkforceSnapshot s, Dimension dimension, int code, long band) {
+        return switch (dimension) {
+            case DEPARTMENT -> s.departments.labelOf(code);
+            case DESIGNATION -> s.designations.labelOf(code);
+            case STATUS -> WorkforceSnapshot.statusOf(code).name();
+            case JOINING_YEAR -> String.valueOf(s.minYear + code);
+            case SALARY_BAND -> {
+                if (code == 0) {
+                    yield "(none)";
+                }
+                long lower = (code - 1) * band;
+                yield "[" + BigDecimal.valueOf(lower, 2) + ", " + BigDecimal.valueOf(lower + band, 2) + ")";
+            }
+        };
+    }
+
+    /**
+     * Filters compiled to primitive lookups: code-indexed flags for dictionary columns, ranges for the rest.
+     */
+    private static final class Filter {
+        private final WorkforceSnapshot s;
+        private final boolean[] departments;
+        private final boolean[] designations;
+        private final boolean[] statuses;
+        private final int minDay;
+        private final int maxDay;
+        private final boolean salaryBounded;
+        private final long minCents;
+        private final long maxCents;
+
+        Filter(WorkforceSnapshot s, WorkforceQuery q) {
+            this.s = s;
+            this.departments = flags(s.departments, q.departmentIds());
+            this.designations = flags(s.designations, q.designationIds());
+            if (q.statuses() == null || q.statuses().isEmpty()) {
+                this.statuses = null;
+            } else {
+                this.statuses = new boolean[Employee.EmploymentStatus.values().length];
+                q.statuses().forEach(status -> statuses[status.ordinal()] = true);
+            }
+            this.minDay = q.joinedFrom() == null ? Integer.MIN_VALUE : (int) q.joinedFrom().toEpochDay();
+            this.maxDay = q.joinedTo() == null ? Integer.MAX_VALUE : (int) q.joinedTo().toEpochDay();
+            this.salaryBounded = q.minSalaryCents() != null || q.maxSalaryCents() != null;
+            this.minCents = q.minSalaryCents() == null ? Long.MIN_VALUE + 1 : q.minSalaryCents();
+            this.maxCents = q.maxSalaryCents() == null ? Long.MAX_VALUE : q.maxSalaryCents();
+        }
+
+        private static boolean[] flags(Dictionary dictionary, Collection<Long> ids) {
+            if (ids == null || ids.isEmpty()) {
+                return null;
+            }
+            boolean[] flags = new boolean[dictionary.cardinality()];
+            for (Long id : ids) {
+                int code = dictionary.codeOf(id);
+                if (code > 0) {
+                    flags[code] = true;
+                }
+            }
+            return flags;
+        }
+
+        boolean test(int i) {
+            if (departments != null && !departments[s.department[i]]) {
+                return false;
+            }
+            if (designations != null && !designations[s.designation[i]]) {
+                return false;
+            }
+            if (statuses != null && !statuses[s.status[i]]) {
+                return false;
+            }
+            int day = s.joiningDay[i];
+            if (day < minDay || day > maxDay) {
+                return false;
+            }
+            if (salaryBounded) {
+                long cents = s.salaryCents[i];
+                return cents != WorkforceSnapshot.NO_SALARY && cents >= minCents && cents <= maxCents;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * One chunk's aggregates, either a flat table indexed by group key or a map for large key spaces.
+     */
+    private static final class Partial {
+        private final long[] table;
+        private final Map<Long, long[]> map;
+
+        Partial(int groups) {
+            this.table = new long[groups * CELLS];
+            this.map = null;
+        }
+
+        Partial() {
+            this.table = null;
+            this.map = new HashMap<>();
+        }
+
+        void add(long key, long salaryCents) {
+            long[] cells;
+            int base;
+            if (table != null) {
+                cells = table;
+                base = (int) key * CELLS;
+            } else {
+                cells = map.computeIfAbsent(key, k -> new long[CELLS]);
+                base = 0;
+            }
+            cells[base]++;
+            if (salaryCents != WorkforceSnapshot.NO_SALARY) {
+                accumulateSalary(cells, base, 1, salaryCents, salaryCents, salaryCents);
+            }
+        }
+
+        Partial merge(Partial other) {
+            if (table != null) {
+                for (int base = 0; base < table.length; base += CELLS) {
+                    mergeCells(table, base, other.table, base);
+                }
+            } else {
+                other.map.forEach((key, cells) -> {
+                    long[] mine = map.putIfAbsent(key, cells);
+                    if (mine != null) {
+                        mergeCells(mine, 0, cells, 0);
+                    }
+                });
+            }
+            return this;
+        }
+
+        List<WorkforceGroup> toGroups(WorkforceSnapshot s, Dimension[] dims, long[] radix, long band) {
+            List<WorkforceGroup> groups = new ArrayList<>();
+            if (table != null) {
+                for (int key = 0; key * CELLS < table.length; key++) {
+                    if (table[key * CELLS] > 0) {
+                        groups.add(toGroup(s, dims, radix, band, key, table, key * CELLS));
+                    }
+                }
+            } else {
+                map.keySet().stream().sorted()
+                        .forEach(key -> groups.add(toGroup(s, dims, radix, band, key, map.get(key), 0)));
+            }
+            return groups;
+        }
+
+        private static void mergeCells(long[] into, int intoBase, long[] from, int fromBase) {
+            into[intoBase] += from[fromBase];
+            long salaryCount = from[fromBase + 1];
+            if (salaryCount > 0) {
+                accumulateSalary(into, intoBase, salaryCount, from[fromBase + 2], from[fromBase + 3], from[fromBase + 4]);
+            }
+        }
+
+        private static void accumulateSalary(long[] cells, int base, long count, long sum, long min, long max) {
+            boolean first = cells[base + 1] == 0;
+            cells[base + 1] += count;
+            cells[base + 2] += sum;
+            cells[base + 3] = first ? min : Math.min(cells[base + 3], min);
+            cells[base + 4] = first ? max : Math.max(cells[base + 4], max);
+        }
+
+        private static WorkforceGroup toGroup(WorkforceSnapshot s, Dimension[] dims, long[] radix, long band,
+                                              long key, long[] cells, int base) {
+            Map<Dimension, String> labels = new EnumMap<>(Dimension.class);
+            long rest = key;
+            for (int d = dims.length - 1; d >= 0; d--) {
+                labels.put(dims[d], label(s, dims[d], (int) (rest % radix[d]), band));
+                rest /= radix[d];
+            }
+            boolean hasSalary = cells[base + 1] > 0;
+            return new WorkforceGroup(labels, cells[base], cells[base + 1], cells[base + 2],
+                    hasSalary ? cells[base + 3] : WorkforceSnapshot.NO_SALARY,
+                    hasSalary ? cells[base + 4] : WorkforceSnapshot.NO_SALARY);
+        }
+    }
+}
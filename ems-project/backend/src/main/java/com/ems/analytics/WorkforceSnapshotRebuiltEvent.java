@@ -0,0 +1,10 @@
+package com.ems.analytics;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published after a new {@link WorkforceSnapshot} is swapped in. {@code readStartedAt} is when its transaction on
+ * the primary began: every change committed before that is in it, changes committed after that may or may not be.
+ */
+public record WorkforceSnapshotRebuiltEvent(WorkforceSnapshot snapshot, LocalDateTime readStartedAt) {
+}
@@ -0,0 +1,68 @@
+package com.ems.audit;
+
+/**
+ * The fields whose changes audit entries record, named as in the API responses. The {@code code} is what is stored:
+ * it keys the entries of {@code audit_logs.changes} and selects the bit in {@code audit_logs.changed_fields}, so
+ * codes must never be reused or renumbered, and stay below 63.
+ */
+public enum AuditField {
+    FIRST_NAME(1, "firstName"),
+    LAST_NAME(2, "lastName"),
+    EMAIL(3, "email"),
+    PHONE(4, "phone"),
+    DATE_OF_BIRTH(5, "dateOfBirth"),
+    DATE_OF_JOINING(6, "dateOfJoining"),
+    SALARY(7, "salary"),
+    DEPARTMENT_ID(8, "departmentId"),
+    DESIGNATION_ID(9, "designationId"),
+    REPORTING_MANAGER_ID(10, "reportingManagerId"),
+    EMPLOYMENT_STATUS(11, "employmentStatus"),
+    RESIGNATION_DATE(12, "resignationDate"),
+    NOTICE_PERIOD_END_DATE(13, "noticePeriodEndDate"),
+    NAME(14, "name"),
+    DESCRIPTION(15, "description"),
+    MANAGER_ID(16, "managerId"),
+    STATUS(17, "status");
+
+    private static final AuditField[] VALUES = values();
+
+    private final int code;
+    private final String fieldName;
+
+    AuditField(int code, String fieldName) {
+        this.code = code;
+        this.fieldName = fieldName;
+    }
+
+    public int code() {
+        return code;
+    }
+
+    public String fieldName() {
+        return fieldName;
+    }
+
+    public long bit() {
+        return 1L << code;
+    }
+
+    /** The field with this code, or null for a code this version does not know. */
+    public static AuditField fromCode(int code) {
+        for (AuditField field : VALUES) {
+            if (field.code == code) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /** The field with this API name, ignoring case, or null. */
+    public static AuditField fromName(String name) {
+        for (AuditField field : VALUES) {
+            if (field.fieldName.equalsIgnoreCase(name)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
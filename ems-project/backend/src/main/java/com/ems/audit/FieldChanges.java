@@ -0,0 +1,94 @@
+package com.ems.audit;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Old and new values of the fields a write changed, as text. Values are compared as text, so setting a field to
+ * what it already was records nothing, and decimals compare by value ({@code 50000} equals {@code 50000.00}).
+ * <p>
+ * Stored and carried in event data as {@code [[code, old, new], ...]} with {@link AuditField} codes for the names.
+ */
+public final class FieldChanges {
+
+    /** Key of the changes in a domain event's data. */
+    public static final String DATA_KEY = "changes";
+
+    private final Map<AuditField, String[]> changes = new EnumMap<>(AuditField.class);
+
+    public FieldChanges add(AuditField field, Object before, Object after) {
+        String oldValue = text(before);
+        String newValue = text(after);
+        if (!Objects.equals(oldValue, newValue)) {
+            changes.put(field, new String[]{oldValue, newValue});
+        }
+        return this;
+    }
+
+    /** The fields whose value differs between two states taken with the same fields. */
+    public static FieldChanges between(Map<AuditField, ?> before, Map<AuditField, ?> after) {
+        FieldChanges fieldChanges = new FieldChanges();
+        before.forEach((field, value) -> fieldChanges.add(field, value, after.get(field)));
+        return fieldChanges;
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /** One bit per changed field, see {@link AuditField#bit()}. */
+    public long mask() {
+        long mask = 0;
+        for (AuditField field : changes.keySet()) {
+            mask |= field.bit();
+        }
+        return mask;
+    }
+
+    /** Field to {@code {old, new}}, in code order. */
+    public Map<AuditField, String[]> asMap() {
+        return Collections.unmodifiableMap(changes);
+    }
+
+    /** The {@code [[code, old, new], ...]} form, for event data and storage. */
+    public List<List<Object>> toList() {
+        List<List<Object>> list = new ArrayList<>(changes.size());
+        changes.forEach((field, values) -> list.add(Arrays.asList(field.code(), values[0], values[1])));
+        return list;
+    }
+
+    /**
+     * Reads the {@code [[code, old, new], ...]} form back; empty for null, and codes this version does not know
+     * are skipped.
+     */
+    public static FieldChanges fromList(Object list) {
+        FieldChanges fieldChanges = new FieldChanges();
+        if (list instanceof List<?> entries) {
+            for (Object entry : entries) {
+                if (entry instanceof List<?> values && values.size() == 3 && values.get(0) instanceof Number code) {
+                    AuditField field = AuditField.fromCode(code.intValue());
+                    if (field != null) {
+                        fieldChanges.changes.put(field, new String[]{text(values.get(1)), text(values.get(2))});
+                    }
+                }
+            }
+        }
+        return fieldChanges;
+    }
+
+    private static String text(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.signum() == 0 ? "0" : decimal.stripTrailingZeros().toPlainString();
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,15 @@
+package com.ems.cache;
+
+/**
+ * Carries invalidations to the other nodes. The default implementation is {@link DbPolledInvalidationTransport};
+ * a message broker can replace it by implementing this interface and calling {@link CacheRegistry#evict} for every
+ * message it receives from another node.
+ */
+public interface CacheInvalidationTransport {
+
+    /**
+     * Announces that {@code key} (or the whole cache, when null) changed. Called inside the writer's transaction
+     * when there is one, so a transactional transport publishes if and only if the change commits.
+     */
+    void publish(String cacheName, String key);
+}
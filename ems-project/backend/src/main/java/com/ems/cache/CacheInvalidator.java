@@ -0,0 +1,37 @@
+package com.ems.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * What writers call after changing data that some node may cache. The local copy is evicted once the transaction
+ * commits (evicting earlier would let a concurrent read re-cache the old row); other nodes are told through the
+ * {@link CacheInvalidationTransport}.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidator {
+
+    private final CacheRegistry cacheRegistry;
+    private final CacheInvalidationTransport transport;
+
+    public void invalidate(String cacheName, String key) {
+        transport.publish(cacheName, key);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cacheRegistry.evict(cacheName, key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cacheRegistry.evict(cacheName, key);
+            }
+        });
+    }
+
+    public void invalidateAll(String cacheName) {
+        invalidate(cacheName, null);
+    }
+}
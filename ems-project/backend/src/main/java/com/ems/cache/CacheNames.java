@@ -0,0 +1,15 @@
+package com.ems.cache;
+
+public final class CacheNames {
+
+    /** Login state and authorities by username, see UserDetailsServiceImpl. */
+    public static final String USERS = "users";
+
+    /** Serialised list entries, see JsonFragmentCache. */
+    public static final String EMPLOYEE_JSON = "employee-json";
+    public static final String DEPARTMENT_JSON = "department-json";
+    public static final String DESIGNATION_JSON = "designation-json";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,47 @@
+package com.ems.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The node's {@link LocalCache}s by name, so invalidations received from any transport can find them.
+ */
+@Slf4j
+@Component
+public class CacheRegistry {
+
+    private final Map<String, LocalCache<?>> caches = new ConcurrentHashMap<>();
+
+    public <V> LocalCache<V> create(String name, int maxSize, Duration ttl) {
+        LocalCache<V> cache = new LocalCache<>(name, maxSize, ttl);
+        if (caches.putIfAbsent(name, cache) != null) {
+            throw new IllegalStateException("Cache already registered: " + name);
+        }
+        return cache;
+    }
+
+    /**
+     * Evicts {@code key} from the named cache, or clears the cache when {@code key} is null.
+     * Unknown cache names are ignored: another node may run caches this one does not.
+     */
+    public void evict(String cacheName, String key) {
+        LocalCache<?> cache = caches.get(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (key == null) {
+            cache.clear();
+        } else {
+            cache.evict(key);
+        }
+    }
+
+    public void clearAll() {
+        caches.values().forEach(LocalCache::clear);
+        log.info("Cleared {} local caches", caches.size());
+    }
+}
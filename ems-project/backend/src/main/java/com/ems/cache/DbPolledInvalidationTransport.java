@@ -0,0 +1,177 @@
+package com.ems.cache;
+
+import com.ems.entity.CacheInvalidation;
+import com.ems.job.ClusterJobRunner;
+import com.ems.repository.CacheInvalidationRepository;
+import com.ems.service.JobLockService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache invalidation through the {@code cache_invalidations} table. Writers insert a row in their own transaction;
+ * every node polls for rows above its cursor every {@code ems.cache.invalidation.poll-interval-ms} (a primary key
+ * range scan) and evicts locally.
+ * <p>
+ * Ids are allocated before commit, so a row can become visible after a higher id was read; a writer that invalidates
+ * early in a long batch transaction commits well after the ids around it. Every id skipped below the cursor is
+ * therefore remembered and looked up again on each poll until it shows up, or until
+ * {@code ems.cache.invalidation.gap-timeout-seconds} have passed, after which it is taken to be a rolled-back
+ * insert. Writer transactions must finish within that timeout. A node that falls too far behind (more than
+ * {@code max-batches-per-poll} full batches, more than {@code batch-size} outstanding ids, or no successful poll for
+ * half the retention) clears all its caches and jumps to the head of the log instead of replaying it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ems.cache.invalidation.transport", havingValue = "db", matchIfMissing = true)
+public class DbPolledInvalidationTransport implements CacheInvalidationTransport {
+
+    private static final String RETENTION_JOB = "cache-invalidation-retention";
+
+    private final CacheInvalidationRepository repository;
+    private final CacheRegistry cacheRegistry;
+    private final ClusterJobRunner clusterJobRunner;
+    private final TransactionTemplate transaction;
+    private final String origin;
+    private final Counter appliedCounter;
+    private final Counter flushCounter;
+    private final Counter abandonedCounter;
+
+    // ids below the cursor not seen yet, with when each was first missed (epoch millis)
+    private final Map<Long, Long> unseen = new HashMap<>();
+    private Long cursor;
+    private long lastSuccessfulPollMillis;
+
+    @Value("${ems.cache.invalidation.batch-size:500}")
+    private int batchSize;
+
+    @Value("${ems.cache.invalidation.max-batches-per-poll:20}")
+    private int maxBatchesPerPoll;
+
+    @Value("${ems.cache.invalidation.retention-minutes:60}")
+    private long retentionMinutes;
+
+    @Value("${ems.cache.invalidation.gap-timeout-seconds:300}")
+    private long gapTimeoutSeconds;
+
+    public DbPolledInvalidationTransport(CacheInvalidationRepository repository,
+                                         CacheRegistry cacheRegistry,
+                                         ClusterJobRunner clusterJobRunner,
+                                         JobLockService jobLockService,
+                                         PlatformTransactionManager transactionManager,
+                                         MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.cacheRegistry = cacheRegistry;
+        this.clusterJobRunner = clusterJobRunner;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.origin = jobLockService.owner();
+        this.appliedCounter = Counter.builder("ems.cache.invalidations.applied")
+                .description("Invalidations from other nodes applied locally").register(meterRegistry);
+        this.flushCounter = Counter.builder("ems.cache.invalidations.full-flushes")
+                .description("Times this node cleared every cache because it fell behind the log").register(meterRegistry);
+        this.abandonedCounter = Counter.builder("ems.cache.invalidations.abandoned-ids")
+                .description("Skipped log ids that never appeared within the gap timeout").register(meterRegistry);
+    }
+
+    @Override
+    @Transactional
+    public void publish(String cacheName, String key) {
+        repository.save(CacheInvalidation.builder()
+                .cacheName(cacheName)
+                .cacheKey(key)
+                .origin(origin)
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${ems.cache.invalidation.poll-interval-ms:250}")
+    public synchronized void poll() {
+        long now = System.currentTimeMillis();
+        try {
+            if (cursor == null) {
+                // caches start empty, so there is nothing older to apply
+                cursor = repository.findMaxId();
+            } else if (now - lastSuccessfulPollMillis > Duration.ofMinutes(retentionMinutes).toMillis() / 2) {
+                // entries we never saw may already have been purged
+                flushAndSkipToHead("no successful poll for " + (now - lastSuccessfulPollMillis) + " ms");
+            } else {
+                readLog(now);
+            }
+            lastSuccessfulPollMillis = now;
+        } catch (RuntimeException e) {
+            log.warn("Cache invalidation poll failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ems.cache.invalidation.cleanup-interval-ms:600000}")
+    public void purgeOld() {
+        clusterJobRunner.run(RETENTION_JOB, Duration.ofMinutes(5), context -> {
+            LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+            Integer purged = transaction.execute(status -> repository.deleteCreatedBefore(cutoff));
+            return purged != null ? purged : 0;
+        });
+    }
+
+    private void readLog(long now) {
+        if (!unseen.isEmpty()) {
+            for (CacheInvalidation row : repository.findAllById(List.copyOf(unseen.keySet()))) {
+                unseen.remove(row.getId());
+                apply(row);
+            }
+            long expiredBefore = now - Duration.ofSeconds(gapTimeoutSeconds).toMillis();
+            int before = unseen.size();
+            unseen.values().removeIf(firstMissed -> firstMissed < expiredBefore);
+            if (unseen.size() < before) {
+                abandonedCounter.increment(before - unseen.size());
+                log.debug("Gave up waiting for {} cache invalidation ids", before - unseen.size());
+            }
+        }
+        for (int batch = 0; batch < maxBatchesPerPoll; batch++) {
+            List<CacheInvalidation> rows = repository.findAfter(cursor, PageRequest.of(0, batchSize));
+            for (CacheInvalidation row : rows) {
+                for (long id = cursor + 1; id < row.getId() && unseen.size() <= batchSize; id++) {
+                    unseen.put(id, now);
+                }
+                apply(row);
+                cursor = row.getId();
+            }
+            if (unseen.size() > batchSize) {
+                flushAndSkipToHead("more than " + batchSize + " invalidation ids outstanding");
+                return;
+            }
+            if (rows.size() < batchSize) {
+                return;
+            }
+        }
+        flushAndSkipToHead("more than " + maxBatchesPerPoll * batchSize + " pending invalidations");
+    }
+
+    private void apply(CacheInvalidation row) {
+        if (!origin.equals(row.getOrigin())) {
+            cacheRegistry.evict(row.getCacheName(), row.getCacheKey());
+            appliedCounter.increment();
+        }
+    }
+
+    private void flushAndSkipToHead(String reason) {
+        log.warn("Clearing all local caches: {}", reason);
+        Long head = repository.findMaxId();
+        cacheRegistry.clearAll();
+        flushCounter.increment();
+        cursor = head;
+        unseen.clear();
+    }
+}
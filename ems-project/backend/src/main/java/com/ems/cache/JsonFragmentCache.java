@@ -0,0 +1,77 @@
+package com.ems.cache;
+
+import com.ems.dto.response.JsonFragments;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The serialised JSON of list entries, so the employee, department and designation lists only serialise rows that
+ * changed since the last request. There is one entry per entity id, stored with a version string made of the versions
+ * of every row its response reads from. A write bumps one of those versions, so the next read sees a different
+ * version, serialises the row again and replaces the entry; the cache therefore never holds more than one entry per
+ * entity. This also holds when the list is read from a lagging replica: the old rows carry the old versions, so an
+ * old fragment is only ever served for an old row.
+ * <p>
+ * Fragments are written with the application {@code ObjectMapper}, so they match what the mapper would have written
+ * for the DTO itself.
+ */
+@Component
+public class JsonFragmentCache {
+
+    private record Fragment(String version, SerializedString json) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, LocalCache<Fragment>> caches;
+
+    public JsonFragmentCache(ObjectMapper objectMapper,
+                             CacheRegistry cacheRegistry,
+                             @Value("${ems.cache.json-fragments.max-size:250000}") int maxSize,
+                             @Value("${ems.cache.json-fragments.ttl-seconds:3600}") long ttlSeconds) {
+        this.objectMapper = objectMapper;
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.caches = Map.of(
+                CacheNames.EMPLOYEE_JSON, cacheRegistry.create(CacheNames.EMPLOYEE_JSON, maxSize, ttl),
+                CacheNames.DEPARTMENT_JSON, cacheRegistry.create(CacheNames.DEPARTMENT_JSON, maxSize, ttl),
+                CacheNames.DESIGNATION_JSON, cacheRegistry.create(CacheNames.DESIGNATION_JSON, maxSize, ttl));
+    }
+
+    /**
+     * One fragment per entity, in list order. Misses, and entries cached for another {@code version}, are mapped
+     * with {@code toResponse} and serialised.
+     */
+    public <E> JsonFragments fragments(String cacheName, List<E> entities, Function<E, Long> id,
+                                       Function<E, String> version, Function<E, ?> toResponse) {
+        LocalCache<Fragment> cache = caches.get(cacheName);
+        if (cache == null) {
+            throw new IllegalArgumentException("Not a JSON fragment cache: " + cacheName);
+        }
+        List<SerializableString> items = new ArrayList<>(entities.size());
+        for (E entity : entities) {
+            String current = version.apply(entity);
+            Fragment fragment = cache.get(String.valueOf(id.apply(entity)),
+                    cached -> cached.version().equals(current),
+                    k -> new Fragment(current, serialize(toResponse.apply(entity))));
+            items.add(fragment.json());
+        }
+        return new JsonFragments(items);
+    }
+
+    private SerializedString serialize(Object response) {
+        try {
+            return new SerializedString(objectMapper.writeValueAsString(response));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise " + response.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.ems.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A small in-process cache kept coherent across nodes by {@link CacheInvalidator}. Entries also expire after a TTL,
+ * which bounds staleness if an invalidation is ever missed.
+ * <p>
+ * A load that overlaps an eviction is not stored: every eviction bumps a generation counter, and a loaded value is
+ * only kept if the generation is unchanged since the load began. When the cache is full it is cleared rather than
+ * tracking recency, which is cheap and good enough for key sets that fit within {@code maxSize}; a cache whose values
+ * change per key replaces them through {@link #get(String, Predicate, Function)} rather than adding keys.
+ */
+public final class LocalCache<V> {
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+    }
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<String, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    LocalCache(String name, int maxSize, Duration ttl) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * The cached value for {@code key}, loading it on a miss. A null from the loader is returned but not cached.
+     */
+    public V get(String key, Function<String, V> loader) {
+        return get(key, value -> true, loader);
+    }
+
+    /**
+     * As {@link #get(String, Function)}, but a cached value failing {@code current} counts as a miss, and the loaded
+     * value replaces it under the same key.
+     */
+    public V get(String key, Predicate<V> current, Function<String, V> loader) {
+        long now = System.nanoTime();
+        Entry<V> entry = entries.get(key);
+        if (entry != null && now - entry.expiresAtNanos() < 0 && current.test(entry.value())) {
+            return entry.value();
+        }
+        long before = generation.get();
+        V value = loader.apply(key);
+        if (value != null) {
+            if (entries.size() >= maxSize && !entries.containsKey(key)) {
+                entries.clear();
+            }
+            entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+            if (generation.get() != before) {
+                // an eviction raced with the load; the value may predate it
+                entries.remove(key);
+            }
+        }
+        return value;
+    }
+
+    public void evict(String key) {
+        generation.incrementAndGet();
+        entries.remove(key);
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,136 @@
+package com.ems.config;
+
+import com.ems.entity.AuditLog;
+import com.ems.entity.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Measures bulk employee and audit-log writes through JPA, the same path the services use.
+ * Everything runs inside a transaction that is rolled back, so it is safe against a shared database.
+ *
+ * <pre>
+ * # baseline
+ * mvn spring-boot:run -Dspring-boot.run.profiles=benchmark
+ * # tuned
+ * mvn spring-boot:run -Dspring-boot.run.profiles=benchmark,high-throughput
+ * </pre>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Profile("benchmark")
+public class BulkWriteBenchmark implements ApplicationRunner {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${ems.benchmark.rows:5000}")
+    private int rows;
+
+    @Value("${ems.benchmark.rounds:3}")
+    private int rounds;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:0}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int flushEvery = batchSize > 0 ? batchSize : 50;
+        log.info("Bulk write benchmark: rows={}, rounds={}, batch_size={}", rows, rounds, batchSize);
+
+        // first round warms up the statement caches and the JIT; it is reported but not averaged
+        long employeeTotal = 0;
+        long updateTotal = 0;
+        long auditTotal = 0;
+        for (int round = 0; round <= rounds; round++) {
+            long[] timings = runRound(round, flushEvery);
+            log.info("round {}{}: employee inserts {} ms, employee updates {} ms, audit inserts {} ms",
+                    round, round == 0 ? " (warm-up)" : "", timings[0], timings[1], timings[2]);
+            if (round > 0) {
+                employeeTotal += timings[0];
+                updateTotal += timings[1];
+                auditTotal += timings[2];
+            }
+        }
+        if (rounds > 0) {
+            log.info("average over {} rounds: employee inserts {} rows/s, employee updates {} rows/s, audit inserts {} rows/s",
+                    rounds, throughput(employeeTotal), throughput(updateTotal), throughput(auditTotal));
+        }
+    }
+
+    private long[] runRound(int round, int flushEvery) {
+        long[] timings = new long[3];
+        transactionTemplate.executeWithoutResult(status -> {
+            Employee[] employees = new Employee[rows];
+
+            long start = System.nanoTime();
+            for (int i = 0; i < rows; i++) {
+                employees[i] = Employee.builder()
+                        .firstName("Bench")
+                        .lastName("Employee" + i)
+                        .email("bench-" + round + "-" + i + "@benchmark.local")
+                        .dateOfJoining(LocalDate.now())
+                        .salary(BigDecimal.valueOf(50000 + i))
+                        .build();
+                entityManager.persist(employees[i]);
+                if ((i + 1) % flushEvery == 0) {
+                    entityManager.flush();
+                }
+            }
+            entityManager.flush();
+            timings[0] = elapsedMillis(start);
+
+            start = System.nanoTime();
+            for (Employee employee : employees) {
+                employee.setSalary(employee.getSalary().add(BigDecimal.ONE));
+            }
+            // one flush: Hibernate groups the dirty rows into JDBC batches of batch_size
+            entityManager.flush();
+            entityManager.clear();
+            timings[1] = elapsedMillis(start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < rows; i++) {
+                entityManager.persist(AuditLog.builder()
+                        .action("BENCHMARK")
+                        .entityType("EMPLOYEE")
+                        .entityId((long) i)
+                        .performedBy("benchmark")
+                        .details("Benchmark row " + i)
+                        .build());
+                if ((i + 1) % flushEvery == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+            timings[2] = elapsedMillis(start);
+
+            status.setRollbackOnly();
+        });
+        return timings;
+    }
+
+    private long throughput(long totalMillis) {
+        return totalMillis == 0 ? 0 : (long) rows * rounds * 1000 / totalMillis;
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
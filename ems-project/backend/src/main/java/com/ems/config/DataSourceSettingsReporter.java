@@ -0,0 +1,83 @@
+package com.ems.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Logs the effective connection pool and JDBC batching configuration once the application is up,
+ * and fails fast on values that can only be typos. Suboptimal but legal combinations are logged as warnings.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ems.datasource.self-check.enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceSettingsReporter {
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final List<DataSource> dataSources;
+    private final Environment environment;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        int batchSize = environment.getProperty("spring.jpa.properties.hibernate.jdbc.batch_size", Integer.class, 0);
+        boolean orderInserts = environment.getProperty("spring.jpa.properties.hibernate.order_inserts", Boolean.class, false);
+        boolean orderUpdates = environment.getProperty("spring.jpa.properties.hibernate.order_updates", Boolean.class, false);
+
+        if (batchSize < 0 || batchSize > MAX_BATCH_SIZE) {
+            throw new IllegalStateException("hibernate.jdbc.batch_size must be between 0 and " + MAX_BATCH_SIZE
+                    + " but was " + batchSize);
+        }
+
+        log.info("JDBC batching: batch_size={}, order_inserts={}, order_updates={}", batchSize, orderInserts, orderUpdates);
+        if (batchSize > 1 && !(orderInserts && orderUpdates)) {
+            log.warn("JDBC batching is enabled but order_inserts/order_updates are off; mixed-entity flushes "
+                    + "will break batches early");
+        }
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof HikariDataSource hikari) {
+                reportPool(hikari, batchSize);
+            }
+        }
+    }
+
+    private void reportPool(HikariDataSource hikari, int batchSize) {
+        if (hikari.getMaximumPoolSize() < 1) {
+            throw new IllegalStateException("Hikari maximum-pool-size must be at least 1");
+        }
+
+        Properties props = hikari.getDataSourceProperties();
+        boolean rewriteBatched = Boolean.parseBoolean(props.getProperty("rewriteBatchedStatements", "false"));
+        boolean cachePrepStmts = Boolean.parseBoolean(props.getProperty("cachePrepStmts", "false"));
+        boolean serverPrepStmts = Boolean.parseBoolean(props.getProperty("useServerPrepStmts", "false"));
+
+        log.info("DataSource pool '{}': maxPoolSize={}, minIdle={}, connectionTimeout={}ms, maxLifetime={}ms",
+                hikari.getPoolName(), hikari.getMaximumPoolSize(), hikari.getMinimumIdle(),
+                hikari.getConnectionTimeout(), hikari.getMaxLifetime());
+        log.info("Driver options for '{}': rewriteBatchedStatements={}, cachePrepStmts={}, useServerPrepStmts={}, "
+                        + "prepStmtCacheSize={}", hikari.getPoolName(), rewriteBatched, cachePrepStmts, serverPrepStmts,
+                props.getProperty("prepStmtCacheSize", "-"));
+
+        if (batchSize > 1 && !rewriteBatched) {
+            log.warn("hibernate.jdbc.batch_size={} without rewriteBatchedStatements=true: MySQL will still "
+                    + "receive one round trip per statement", batchSize);
+        }
+        if (hikari.getMinimumIdle() > hikari.getMaximumPoolSize()) {
+            log.warn("Hikari minimum-idle ({}) exceeds maximum-pool-size ({}); the pool will be capped at {}",
+                    hikari.getMinimumIdle(), hikari.getMaximumPoolSize(), hikari.getMaximumPoolSize());
+        }
+        if (serverPrepStmts && !cachePrepStmts) {
+            log.warn("useServerPrepStmts=true without cachePrepStmts=true re-prepares every statement on the server");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.ems.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson tuning for the shared {@code ObjectMapper}. Spring Boot registers every {@link Module} bean with it,
+ * so the MVC message converters, the outbox and the rate-limit filter all pick this up.
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Replaces reflective getter and constructor calls with generated lambdas. {@link SerializationBenchmark}
+     * times the application mapper against the same settings without it.
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
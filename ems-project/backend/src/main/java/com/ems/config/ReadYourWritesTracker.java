@@ -0,0 +1,46 @@
+package com.ems.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users wrote recently so their reads can be pinned to the primary
+ * until the replica has had time to catch up.
+ */
+public class ReadYourWritesTracker {
+
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final long windowMillis;
+    private final Map<String, Long> lastWriteAt = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    public void recordWrite(String username) {
+        if (username == null || windowMillis <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        lastWriteAt.put(username, now);
+        if (lastWriteAt.size() > PRUNE_THRESHOLD) {
+            lastWriteAt.values().removeIf(at -> now - at > windowMillis);
+        }
+    }
+
+    public boolean wroteRecently(String username) {
+        if (username == null) {
+            return false;
+        }
+        Long at = lastWriteAt.get(username);
+        if (at == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - at > windowMillis) {
+            lastWriteAt.remove(username, at);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,89 @@
+package com.ems.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured DataSource with a primary/replica pair when
+ * {@code ems.datasource.replica.enabled=true}. {@code @Transactional(readOnly = true)} work goes to the replica
+ * unless it is lagging or the current user wrote within the read-your-writes window.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ems.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Value("${ems.datasource.replica.url}")
+    private String replicaUrl;
+
+    @Value("${ems.datasource.replica.driver-class-name:${spring.datasource.driver-class-name}}")
+    private String replicaDriverClassName;
+
+    @Value("${ems.datasource.replica.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${ems.datasource.replica.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${ems.datasource.replica.lag-query:SHOW REPLICA STATUS}")
+    private String lagQuery;
+
+    @Value("${ems.datasource.replica.lag-column:Seconds_Behind_Source}")
+    private String lagColumn;
+
+    @Value("${ems.datasource.replica.max-lag-seconds:5}")
+    private long maxLagSeconds;
+
+    @Value("${ems.datasource.replica.lag-check-interval-ms:2000}")
+    private long lagCheckIntervalMillis;
+
+    @Value("${ems.datasource.replica.read-your-writes-window-ms:5000}")
+    private long readYourWritesWindowMillis;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("ems-primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("ems.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("ems-replica");
+        dataSource.setDriverClassName(replicaDriverClassName);
+        dataSource.setJdbcUrl(replicaUrl);
+        dataSource.setUsername(replicaUsername);
+        dataSource.setPassword(replicaPassword);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(
+                replica, lagQuery, lagColumn, maxLagSeconds, lagCheckIntervalMillis);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                lagMonitor, new ReadYourWritesTracker(readYourWritesWindowMillis));
+        routing.setTargetDataSources(Map.<Object, Object>of(
+                ReplicaRoutingDataSource.Target.PRIMARY, primary,
+                ReplicaRoutingDataSource.Target.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,79 @@
+package com.ems.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tracks whether the replica is close enough to the primary to serve reads.
+ * The lag query runs at most once per check interval, by whichever thread notices the cached value is stale;
+ * every other caller reads the cached verdict without blocking.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final String lagColumn;
+    private final long maxLagSeconds;
+    private final long checkIntervalMillis;
+
+    private final AtomicBoolean checking = new AtomicBoolean(false);
+    private volatile long lastCheckedAt;
+    private volatile boolean healthy = true;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, String lagColumn,
+                             long maxLagSeconds, long checkIntervalMillis) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+        this.maxLagSeconds = maxLagSeconds;
+        this.checkIntervalMillis = checkIntervalMillis;
+    }
+
+    public boolean isReplicaUsable() {
+        if (!StringUtils.hasText(lagQuery)) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (now - lastCheckedAt >= checkIntervalMillis && checking.compareAndSet(false, true)) {
+            try {
+                healthy = checkLag();
+            } finally {
+                lastCheckedAt = now;
+                checking.set(false);
+            }
+        }
+        return healthy;
+    }
+
+    private boolean checkLag() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            if (!rs.next()) {
+                // not configured as a replica (e.g. a local embedded database): nothing to lag behind
+                return true;
+            }
+            long lag = rs.getLong(lagColumn);
+            if (rs.wasNull()) {
+                log.warn("Replica reports no lag value (replication stopped?); routing reads to primary");
+                return false;
+            }
+            if (lag > maxLagSeconds) {
+                log.warn("Replica lag {}s exceeds {}s; routing reads to primary", lag, maxLagSeconds);
+                return false;
+            }
+            return true;
+        } catch (SQLException e) {
+            log.warn("Replica lag check failed, routing reads to primary: {}", e.getMessage());
+            return false;
+        }
+    }
+}
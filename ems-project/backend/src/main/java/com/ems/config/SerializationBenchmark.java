@@ -0,0 +1,167 @@
+package com.ems.config;
+
+import com.ems.dto.response.ApiResponse;
+import com.ems.dto.response.EmployeeResponse;
+import com.ems.entity.Department;
+import com.ems.entity.Designation;
+import com.ems.entity.Employee;
+import com.ems.service.EmployeeFieldProjection;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares payload size and serialisation time of the employee list response: the plain Jackson defaults
+ * (nulls included, reflection), nulls left out with reflection, the application's {@code ObjectMapper} (nulls left
+ * out, Blackbird), and a {@code ?fields=id,firstName,departmentName} projection. Each variant is written
+ * {@code ems.benchmark.serialization-warmup} times before {@code ems.benchmark.serialization-iterations} timed
+ * writes, and the average per write is reported. The database is not touched.
+ *
+ * <pre>
+ * mvn spring-boot:run -Dspring-boot.run.profiles=benchmark -Dems.benchmark.serialization-rows=10000
+ * </pre>
+ */
+@Slf4j
+@Component
+@Profile("benchmark")
+@RequiredArgsConstructor
+public class SerializationBenchmark implements ApplicationRunner {
+
+    private static final int DEPARTMENTS = 40;
+    private static final int DESIGNATIONS = 120;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${ems.benchmark.serialization-rows:10000}")
+    private int rows;
+
+    @Value("${ems.benchmark.serialization-warmup:200}")
+    private int warmup;
+
+    @Value("${ems.benchmark.serialization-iterations:200}")
+    private int iterations;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        List<Employee> employees = employees(rows);
+        ApiResponse<List<EmployeeResponse>> full = ApiResponse.success("Employees fetched successfully",
+                employees.stream().map(SerializationBenchmark::toResponse).toList());
+        EmployeeFieldProjection projection = EmployeeFieldProjection.parse("id,firstName,departmentName");
+
+        ObjectMapper defaults = reflectionMapper(JsonInclude.Include.ALWAYS);
+        ObjectMapper nonNull = reflectionMapper(JsonInclude.Include.NON_NULL);
+
+        log.info("Serialization benchmark: rows={}, warmup={}, iterations={}", rows, warmup, iterations);
+        measure("jackson defaults", () -> defaults.writeValueAsBytes(full));
+        measure("non_null, reflection", () -> nonNull.writeValueAsBytes(full));
+        measure("application mapper", () -> objectMapper.writeValueAsBytes(full));
+        measure("fields projection", () -> objectMapper.writeValueAsBytes(
+                ApiResponse.success("Employees fetched successfully", projection.project(employees))));
+    }
+
+    private static ObjectMapper reflectionMapper(JsonInclude.Include inclusion) {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .setSerializationInclusion(inclusion);
+    }
+
+    private void measure(String name, Body body) throws IOException {
+        byte[] bytes = body.write();
+        for (int i = 0; i < warmup; i++) {
+            bytes = body.write();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            bytes = body.write();
+        }
+        long micros = (System.nanoTime() - start) / 1_000;
+        log.info("{}: {} bytes, {} bytes gzipped, average {} us", name, bytes.length, gzipped(bytes),
+                iterations > 0 ? micros / iterations : 0);
+    }
+
+    private static int gzipped(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+
+    private static List<Employee> employees(int count) {
+        Random random = new Random(42);
+        List<Department> departments = new ArrayList<>();
+        for (long id = 1; id <= DEPARTMENTS; id++) {
+            departments.add(Department.builder().id(id).name("Department " + id).build());
+        }
+        List<Designation> designations = new ArrayList<>();
+        for (long id = 1; id <= DESIGNATIONS; id++) {
+            designations.add(Designation.builder().id(id).title("Designation " + id).build());
+        }
+        List<Employee> employees = new ArrayList<>(count);
+        LocalDate firstJoining = LocalDate.of(2000, 1, 1);
+        for (long id = 1; id <= count; id++) {
+            employees.add(Employee.builder()
+                    .id(id)
+                    .firstName("First" + id)
+                    .lastName("Last" + id)
+                    .email("employee" + id + "@example.com")
+                    .phone(random.nextInt(3) == 0 ? null : "+1-555-" + (1_000_000 + random.nextInt(9_000_000)))
+                    .dateOfJoining(firstJoining.plusDays(random.nextInt(9000)))
+                    .salary(BigDecimal.valueOf(30_000_00L + random.nextInt(200_000_00), 2))
+                    .department(departments.get(random.nextInt(DEPARTMENTS)))
+                    .designation(designations.get(random.nextInt(DESIGNATIONS)))
+                    .reportingManager(id > 1 && random.nextBoolean() ? employees.get(random.nextInt((int) id - 1)) : null)
+                    .version(0L)
+                    .createdAt(LocalDateTime.of(2024, 1, 1, 9, 0).plusMinutes(id))
+                    .build());
+        }
+        return employees;
+    }
+
+    private static EmployeeResponse toResponse(Employee emp) {
+        return EmployeeResponse.builder()
+                .id(emp.getId())
+                .firstName(emp.getFirstName())
+                .lastName(emp.getLastName())
+                .email(emp.getEmail())
+                .phone(emp.getPhone())
+                .dateOfJoining(emp.getDateOfJoining())
+                .salary(emp.getSalary())
+                .departmentId(emp.getDepartment().getId())
+                .departmentName(emp.getDepartment().getName())
+                .designationId(emp.getDesignation().getId())
+                .designationTitle(emp.getDesignation().getTitle())
+                .reportingManagerId(emp.getReportingManager() != null ? emp.getReportingManager().getId() : null)
+                .reportingManagerName(emp.getReportingManager() != null
+                        ? emp.getReportingManager().getFirstName() + " " + emp.getReportingManager().getLastName() : null)
+                .isActive(emp.getIsActive())
+                .employmentStatus(emp.getEmploymentStatus().name())
+                .version(emp.getVersion())
+                .createdAt(emp.getCreatedAt())
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface Body {
+        byte[] write() throws IOException;
+    }
+}
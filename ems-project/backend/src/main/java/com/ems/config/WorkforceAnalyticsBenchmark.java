@@ -0,0 +1,88 @@
+package com.ems.config;
+
+import com.ems.analytics.Dimension;
+import com.ems.analytics.WorkforceQuery;
+import com.ems.analytics.WorkforceQueryEngine;
+import com.ems.analytics.WorkforceSnapshot;
+import com.ems.entity.Employee;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Times workforce analytics queries over a synthetic in-memory snapshot; the database is not touched.
+ *
+ * <pre>
+ * mvn spring-boot:run -Dspring-boot.run.profiles=benchmark -Dems.benchmark.analytics-rows=1000000
+ * </pre>
+ */
+@Slf4j
+@Component
+@Profile("benchmark")
+public class WorkforceAnalyticsBenchmark implements ApplicationRunner {
+
+    private static final int DEPARTMENTS = 40;
+    private static final int DESIGNATIONS = 120;
+    private static final Employee.EmploymentStatus[] STATUSES = Employee.EmploymentStatus.values();
+
+    @Value("${ems.benchmark.analytics-rows:1000000}")
+    private int rows;
+
+    @Value("${ems.benchmark.rounds:3}")
+    private int rounds;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Random random = new Random(42);
+        LocalDate firstJoining = LocalDate.of(2000, 1, 1);
+        WorkforceSnapshot.Builder builder = WorkforceSnapshot.builder();
+        for (int i = 0; i < rows; i++) {
+            long department = 1 + random.nextInt(DEPARTMENTS);
+            long designation = 1 + random.nextInt(DESIGNATIONS);
+            builder.add(i + 1, department, "Department " + department, designation, "Designation " + designation,
+                    STATUSES[random.nextInt(STATUSES.length)], firstJoining.plusDays(random.nextInt(9000)),
+                    BigDecimal.valueOf(30_000_00L + random.nextInt(200_000_00), 2));
+        }
+        WorkforceSnapshot snapshot = builder.build();
+
+        List<WorkforceQuery> queries = List.of(
+                query(List.of(), null, null),
+                query(List.of(Dimension.DEPARTMENT), null, null),
+                query(List.of(Dimension.DEPARTMENT, Dimension.STATUS, Dimension.JOINING_YEAR), null, null),
+                query(List.of(Dimension.DESIGNATION, Dimension.SALARY_BAND), null, null),
+                query(List.of(Dimension.JOINING_YEAR), Set.of(Employee.EmploymentStatus.ACTIVE), LocalDate.of(2015, 1, 1)));
+
+        log.info("Workforce analytics benchmark: rows={}, rounds={}", rows, rounds);
+        // round 0 warms up the JIT and the common pool; it is reported but not averaged
+        long[] totals = new long[queries.size()];
+        for (int round = 0; round <= rounds; round++) {
+            for (int q = 0; q < queries.size(); q++) {
+                long start = System.nanoTime();
+                int groups = WorkforceQueryEngine.execute(snapshot, queries.get(q)).size();
+                long micros = (System.nanoTime() - start) / 1_000;
+                if (round > 0) {
+                    totals[q] += micros;
+                }
+                log.info("round {}{}: query {} {} -> {} groups in {} us", round, round == 0 ? " (warm-up)" : "",
+                        q, queries.get(q).groupBy(), groups, micros);
+            }
+        }
+        for (int q = 0; q < queries.size() && rounds > 0; q++) {
+            log.info("query {} {}: average {} us", q, queries.get(q).groupBy(), totals[q] / rounds);
+        }
+    }
+
+    private static WorkforceQuery query(List<Dimension> groupBy, Set<Employee.EmploymentStatus> statuses,
+                                        LocalDate joinedFrom) {
+        return new WorkforceQuery(groupBy, null, null, statuses, joinedFrom, null, null, null, 10_000_00L);
+    }
+}
@@ -0,0 +1,85 @@
+package com.ems.controller;
+
+import com.ems.analytics.WorkforceSnapshot;
+import com.ems.dto.request.WorkforceQueryRequest;
+import com.ems.dto.response.ApiResponse;
+import com.ems.dto.response.HeadcountSeriesResponse;
+import com.ems.dto.response.SalaryStatisticsResponse;
+import com.ems.dto.response.WorkforceQueryResponse;
+import com.ems.service.HeadcountService;
+import com.ems.service.SalaryStatisticsService;
+import com.ems.service.WorkforceAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Analytics", description = "Workforce analytics endpoints")
+public class AnalyticsController {
+
+    private final WorkforceAnalyticsService workforceAnalyticsService;
+    private final SalaryStatisticsService salaryStatisticsService;
+    private final HeadcountService headcountService;
+
+    @PostMapping("/workforce/query")
+    @PreAuthorize("isAdmin()")
+    @Operation(summary = "Group, filter and aggregate the workforce snapshot (admin only)")
+    public ResponseEntity<ApiResponse<WorkforceQueryResponse>> query(@RequestBody WorkforceQueryRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("Query executed successfully",
+                workforceAnalyticsService.query(request)));
+    }
+
+    @GetMapping("/salaries")
+    @PreAuthorize("isAdmin()")
+    @Operation(summary = "Salary count/min/max/mean/p10/p50/p90 per DEPARTMENT or DESIGNATION, mode EXACT or STREAMING (admin only)")
+    public ResponseEntity<ApiResponse<SalaryStatisticsResponse>> salaryStatistics(
+            @RequestParam(defaultValue = "DEPARTMENT") String groupBy,
+            @RequestParam(defaultValue = "STREAMING") String mode) {
+        return ResponseEntity.ok(ApiResponse.success("Salary statistics fetched successfully",
+                salaryStatisticsService.getStatistics(groupBy, mode)));
+    }
+
+    @PostMapping("/workforce/refresh")
+    @PreAuthorize("isAdmin()")
+    @Operation(summary = "Rebuild the workforce snapshot now (admin only)")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> refresh() {
+        WorkforceSnapshot snapshot = workforceAnalyticsService.rebuild();
+        return ResponseEntity.ok(ApiResponse.success("Snapshot rebuilt",
+                Map.of("rows", snapshot.size(), "builtAt", snapshot.builtAt())));
+    }
+
+    @GetMapping("/headcount")
+    @PreAuthorize("isAdmin()")
+    @Operation(summary = "Daily headcount per department and in total, downsampled to DAY, WEEK or MONTH (admin only)")
+    public ResponseEntity<ApiResponse<HeadcountSeriesResponse>> headcount(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") String interval,
+            @RequestParam(required = false) Long departmentId) {
+        return ResponseEntity.ok(ApiResponse.success("Headcount fetched successfully",
+                headcountService.getHeadcount(from, to, interval, departmentId)));
+    }
+
+    @PostMapping("/headcount/backfill")
+    @PreAuthorize("isAdmin()")
+    @Operation(summary = "Reconstruct daily headcount for a date range from employee dates (admin only)")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> backfillHeadcount(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now().minusDays(1);
+        int days = headcountService.backfill(from, end);
+        return ResponseEntity.ok(ApiResponse.success("Headcount backfilled",
+                Map.of("from", from, "to", end, "days", days)));
+    }
+}
@@ -33,7 +33,7 @@ public class AnnouncementController {
     }
 
     @PostMapping
-    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PreAuthorize("isAdmin()")
     @Operation(summary = "Create announcement (admin only)")
     public ResponseEntity<ApiResponse<AnnouncementResponse>> create(
             @Valid @RequestBody AnnouncementRequest request,
@@ -43,7 +43,7 @@ public class AnnouncementController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PreAuthorize("isAdmin()")
     @Operation(summary = "Delete (deactivate) announcement (admin only)")
     public ResponseEntity<ApiResponse<Void>> delete(@PathVariable Long id) {
         announcementService.delete(id);
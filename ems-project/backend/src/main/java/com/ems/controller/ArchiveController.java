@@ -0,0 +1,33 @@
+package com.ems.controller;
+
+import com.ems.dto.response.ApiResponse;
+import com.ems.service.ArchiveService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/archive")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Archive", description = "Restoring archived soft-deleted rows")
+public class ArchiveController {
+
+    private final ArchiveService archiveService;
+
+    @PostMapping("/{table}/{id}/restore")
+    @PreAuthorize("isAdmin()")
+    @Operation(summary = "Restore an archived employee, department, designation or user as an active row "
+            + "(table: employees, departments, designations or users)")
+    public ResponseEntity<ApiResponse<Void>> restore(@PathVariable String table, @PathVariable Long id,
+                                                     @AuthenticationPrincipal UserDetails userDetails) {
+        archiveService.restore(table, id, userDetails.getUsername());
+        return ResponseEntity.ok(ApiResponse.success("Restored successfully"));
+    }
+}
@@ -23,7 +23,7 @@ public class AuditLogController {
     private final AuditLogService auditLogService;
 
     @GetMapping
-    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PreAuthorize("isAdmin()")
     @Operation(summary = "Get audit logs (admin only)")
     public ResponseEntity<ApiResponse<List<AuditLogResponse>>> getLogs(
             @RequestParam(defaultValue = "0") int page,
@@ -31,4 +31,18 @@ public class AuditLogController {
         return ResponseEntity.ok(ApiResponse.success("Audit logs fetched successfully",
                 auditLogService.getRecentLogs(page, size)));
     }
+
+    @GetMapping("/{entityType}/{entityId}")
+    @PreAuthorize("isAdmin()")
+    @Operation(summary = "Who changed a field of one entity and when, newest first (admin only), "
+            + "e.g. /api/audit-logs/employee/42?field=salary")
+    public ResponseEntity<ApiResponse<List<AuditLogResponse>>> getFieldChanges(
+            @PathVariable String entityType,
+            @PathVariable Long entityId,
+            @RequestParam String field,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(ApiResponse.success("Audit logs fetched successfully",
+                auditLogService.getFieldChanges(entityType, entityId, field, page, size)));
+    }
 }
@@ -0,0 +1,37 @@
+package com.ems.controller;
+
+import com.ems.dto.response.ApiResponse;
+import com.ems.dto.response.DashboardResponse;
+import com.ems.security.SystemRole;
+import com.ems.security.UserPrincipal;
+import com.ems.service.DashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Dashboard", description = "Post-login dashboard in a single call")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    @GetMapping
+    @Operation(summary = "Own profile, tasks, announcements and (managers) notes in one response; "
+            + "sections that fail or time out are listed under errors")
+    public ResponseEntity<ApiResponse<DashboardResponse>> getDashboard(@AuthenticationPrincipal UserPrincipal principal) {
+        boolean canReadNotes = principal.hasAny(SystemRole.ADMIN, SystemRole.MANAGER);
+        DashboardResponse dashboard = dashboardService.getDashboard(principal.getUsername(), canReadNotes);
+        String message = dashboard.getErrors() == null ? "Dashboard fetched successfully"
+                : "Dashboard fetched with " + dashboard.getErrors().size() + " section(s) unavailable";
+        return ResponseEntity.ok(ApiResponse.success(message, dashboard));
+    }
+}
@@ -1,20 +1,28 @@
 package com.ems.controller;
 
+import com.ems.dto.request.BatchGetRequest;
+import com.ems.dto.request.DepartmentReorgRequest;
 import com.ems.dto.request.DepartmentRequest;
 import com.ems.dto.response.ApiResponse;
+import com.ems.dto.response.BatchGetResponse;
+import com.ems.dto.response.ChangeFeedResponse;
+import com.ems.dto.response.DepartmentReorgResponse;
 import com.ems.dto.response.DepartmentResponse;
+import com.ems.dto.response.JsonFragments;
+import com.ems.service.DepartmentReorgService;
 import com.ems.service.DepartmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/departments")
 @RequiredArgsConstructor
@@ -23,39 +31,78 @@ import java.util.List;
 public class DepartmentController {
 
     private final DepartmentService departmentService;
+    private final DepartmentReorgService departmentReorgService;
 
     @GetMapping
     @Operation(summary = "Get all departments")
-    public ResponseEntity<ApiResponse<List<DepartmentResponse>>> getAllDepartments() {
+    public ResponseEntity<ApiResponse<JsonFragments>> getAllDepartments() {
         return ResponseEntity.ok(ApiResponse.success("Departments fetched successfully", departmentService.getAllDepartments()));
     }
 
+    @GetMapping("/changes")
+    @Operation(summary = "Departments created, updated or deleted since a change token (omit 'since' to start over)")
+    public ResponseEntity<ApiResponse<ChangeFeedResponse<DepartmentResponse>>> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(ApiResponse.success("Changes fetched successfully",
+                departmentService.getChanges(since, limit)));
+    }
+
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get up to " + BatchGetRequest.MAX_IDS + " departments by ID in one call, in request order")
+    public ResponseEntity<ApiResponse<BatchGetResponse<DepartmentResponse>>> batchGet(
+            @Valid @RequestBody BatchGetRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("Departments fetched successfully",
+                departmentService.getDepartmentsByIds(request.getIds())));
+    }
+
     @GetMapping("/{id}")
-    @Operation(summary = "Get department by ID")
+    @Operation(summary = "Get department by ID (supports If-None-Match)")
     public ResponseEntity<ApiResponse<DepartmentResponse>> getDepartmentById(@PathVariable Long id) {
-        return ResponseEntity.ok(ApiResponse.success("Department fetched successfully", departmentService.getDepartmentById(id)));
+        DepartmentResponse department = departmentService.getDepartmentById(id);
+        return ResponseEntity.ok().eTag(EntityTags.of(department))
+                .body(ApiResponse.success("Department fetched successfully", department));
     }
 
     @PostMapping
-    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_MANAGER')")
+    @PreAuthorize("isAdminOrManager()")
     @Operation(summary = "Create department")
-    public ResponseEntity<ApiResponse<DepartmentResponse>> createDepartment(@Valid @RequestBody DepartmentRequest request) {
-        return ResponseEntity.status(201).body(ApiResponse.created("Department created successfully", departmentService.createDepartment(request)));
+    public ResponseEntity<ApiResponse<DepartmentResponse>> createDepartment(
+            @Valid @RequestBody DepartmentRequest request, @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.status(201).body(ApiResponse.created("Department created successfully",
+                departmentService.createDepartment(request, userDetails.getUsername())));
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_MANAGER')")
-    @Operation(summary = "Update department")
+    @PreAuthorize("isAdminOrManager()")
+    @Operation(summary = "Update department (If-Match: 412 when the department changed meanwhile)")
     public ResponseEntity<ApiResponse<DepartmentResponse>> updateDepartment(
-            @PathVariable Long id, @Valid @RequestBody DepartmentRequest request) {
-        return ResponseEntity.ok(ApiResponse.success("Department updated successfully", departmentService.updateDepartment(id, request)));
+            @PathVariable Long id, @Valid @RequestBody DepartmentRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        DepartmentResponse updated = departmentService.updateDepartment(
+                id, request, userDetails.getUsername(), EntityTags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(updated))
+                .body(ApiResponse.success("Department updated successfully", updated));
+    }
+
+    @PostMapping("/{id}/reorg")
+    @PreAuthorize("isAdmin()")
+    @Operation(summary = "Move all or some employees to another department in one transaction; optionally re-point "
+            + "reporting lines, reassign open tasks, set the target manager and delete this department")
+    public ResponseEntity<ApiResponse<DepartmentReorgResponse>> reorganize(
+            @PathVariable Long id, @Valid @RequestBody DepartmentReorgRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(ApiResponse.success("Department reorganised successfully",
+                departmentReorgService.reorganize(id, request, userDetails.getUsername())));
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PreAuthorize("isAdmin()")
     @Operation(summary = "Delete department")
-    public ResponseEntity<ApiResponse<Void>> deleteDepartment(@PathVariable Long id) {
-        departmentService.deleteDepartment(id);
+    public ResponseEntity<ApiResponse<Void>> deleteDepartment(
+            @PathVariable Long id, @AuthenticationPrincipal UserDetails userDetails) {
+        departmentService.deleteDepartment(id, userDetails.getUsername());
         return ResponseEntity.ok(ApiResponse.success("Department deleted successfully"));
     }
 }
@@ -3,6 +3,7 @@ package com.ems.controller;
 import com.ems.dto.request.DesignationRequest;
 import com.ems.dto.response.ApiResponse;
 import com.ems.dto.response.DesignationResponse;
+import com.ems.dto.response.JsonFragments;
 import com.ems.service.DesignationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -13,8 +14,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/designations")
 @RequiredArgsConstructor
@@ -26,7 +25,7 @@ public class DesignationController {
 
     @GetMapping
     @Operation(summary = "Get all designations")
-    public ResponseEntity<ApiResponse<List<DesignationResponse>>> getAllDesignations() {
+    public ResponseEntity<ApiResponse<JsonFragments>> getAllDesignations() {
         return ResponseEntity.ok(ApiResponse.success("Designations fetched successfully", designationService.getAllDesignations()));
     }
 
@@ -37,14 +36,14 @@ public class DesignationController {
     }
 
     @PostMapping
-    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_MANAGER')")
+    @PreAuthorize("isAdminOrManager()")
     @Operation(summary = "Create designation")
     public ResponseEntity<ApiResponse<DesignationResponse>> createDesignation(@Valid @RequestBody DesignationRequest request) {
         return ResponseEntity.status(201).body(ApiResponse.created("Designation created successfully", designationService.createDesignation(request)));
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_MANAGER')")
+    @PreAuthorize("isAdminOrManager()")
     @Operation(summary = "Update designation")
     public ResponseEntity<ApiResponse<DesignationResponse>> updateDesignation(
             @PathVariable Long id, @Valid @RequestBody DesignationRequest request) {
@@ -52,7 +51,7 @@ public class DesignationController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PreAuthorize("isAdmin()")
     @Operation(summary = "Delete designation")
     public ResponseEntity<ApiResponse<Void>> deleteDesignation(@PathVariable Long id) {
         designationService.deleteDesignation(id);
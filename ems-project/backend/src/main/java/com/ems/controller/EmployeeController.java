@@ -1,22 +1,34 @@
 package com.ems.controller;
 
+import com.ems.dto.request.BatchGetRequest;
 import com.ems.dto.request.EmployeeRequest;
 import com.ems.dto.request.ResignRequest;
 import com.ems.dto.request.UpdateProfileRequest;
 import com.ems.dto.response.ApiResponse;
+import com.ems.dto.response.BatchGetResponse;
+import com.ems.dto.response.ChangeFeedResponse;
+import com.ems.dto.response.EmployeeAsOfResponse;
 import com.ems.dto.response.EmployeeResponse;
+import com.ems.dto.response.EmployeeSearchResult;
+import com.ems.dto.response.EmployeeSuggestion;
+import com.ems.security.UserPrincipal;
+import com.ems.service.EmployeeHistoryService;
+import com.ems.service.EmployeeSearchService;
 import com.ems.service.EmployeeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -27,39 +39,94 @@ import java.util.List;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final EmployeeSearchService employeeSearchService;
+    private final EmployeeHistoryService employeeHistoryService;
 
     @GetMapping
-    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_MANAGER')")
-    @Operation(summary = "Get employees (admin: all, manager: own department only)")
-    public ResponseEntity<ApiResponse<List<EmployeeResponse>>> getAllEmployees(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        List<EmployeeResponse> employees;
-        boolean isAdmin = userDetails.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-        if (isAdmin) {
-            employees = employeeService.getAllEmployees();
-        } else {
-            employees = employeeService.getEmployeesForManager(userDetails.getUsername());
+    @PreAuthorize("isAdminOrManager()")
+    @Operation(summary = "Get employees (admin: all, manager: own department only); "
+            + "?fields=id,firstName,departmentName returns only the named properties")
+    public ResponseEntity<ApiResponse<?>> getAllEmployees(@RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(ApiResponse.success("Employees fetched successfully",
+                    employeeService.getEmployeeFields(fields)));
         }
-        return ResponseEntity.ok(ApiResponse.success("Employees fetched successfully", employees));
+        return ResponseEntity.ok(ApiResponse.success("Employees fetched successfully",
+                employeeService.getAllEmployees()));
+    }
+
+    @GetMapping("/changes")
+    @PreAuthorize("isAdmin()")
+    @Operation(summary = "Employees created, updated or deleted since a change token (omit 'since' to start over)")
+    public ResponseEntity<ApiResponse<ChangeFeedResponse<EmployeeResponse>>> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(ApiResponse.success("Changes fetched successfully",
+                employeeService.getChanges(since, limit)));
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("isAdminOrManager()")
+    @Operation(summary = "Search employees by name, email, phone, department or designation (typo tolerant)")
+    public ResponseEntity<ApiResponse<List<EmployeeSearchResult>>> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(ApiResponse.success("Search completed",
+                employeeSearchService.search(q, limit, principal.getUsername(), principal.isAdmin())));
+    }
+
+    @GetMapping("/suggest")
+    @PreAuthorize("isAdminOrManager()")
+    @Operation(summary = "Typeahead by name or email prefix for employee pickers (manager: own department only)")
+    public ResponseEntity<ApiResponse<List<EmployeeSuggestion>>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(ApiResponse.success("Suggestions fetched successfully",
+                employeeSearchService.suggest(prefix, limit, principal.getUsername(), principal.isAdmin())));
+    }
+
+    @PostMapping("/batch-get")
+    @PreAuthorize("isAdminOrManager()")
+    @Operation(summary = "Get up to " + BatchGetRequest.MAX_IDS + " employees by ID in one call, in request order "
+            + "(manager: own department only)")
+    public ResponseEntity<ApiResponse<BatchGetResponse<EmployeeResponse>>> batchGet(
+            @Valid @RequestBody BatchGetRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("Employees fetched successfully",
+                employeeService.getEmployeesByIds(request.getIds())));
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_MANAGER')")
-    @Operation(summary = "Get employee by ID")
+    @PreAuthorize("isAdminOrManager()")
+    @Operation(summary = "Get employee by ID (manager: own department only; supports If-None-Match)")
     public ResponseEntity<ApiResponse<EmployeeResponse>> getEmployeeById(@PathVariable Long id) {
-        return ResponseEntity.ok(ApiResponse.success("Employee fetched successfully", employeeService.getEmployeeById(id)));
+        EmployeeResponse employee = employeeService.getEmployeeById(id);
+        return ResponseEntity.ok().eTag(EntityTags.of(employee))
+                .body(ApiResponse.success("Employee fetched successfully", employee));
+    }
+
+    @GetMapping("/{id}/as-of")
+    @PreAuthorize("isAdmin()")
+    @Operation(summary = "Department, designation, reporting manager, salary and status of an employee as they "
+            + "stood at the given time (admin only; includes deleted and archived employees)")
+    public ResponseEntity<ApiResponse<EmployeeAsOfResponse>> getAsOf(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return ResponseEntity.ok(ApiResponse.success("Employee state fetched successfully",
+                employeeHistoryService.getAsOf(id, at)));
     }
 
     @GetMapping("/me")
-    @Operation(summary = "Get own employee profile")
+    @Operation(summary = "Get own employee profile (supports If-None-Match)")
     public ResponseEntity<ApiResponse<EmployeeResponse>> getMyProfile(@AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(ApiResponse.success("Profile fetched successfully",
-                employeeService.getEmployeeByUsername(userDetails.getUsername())));
+        EmployeeResponse profile = employeeService.getEmployeeByUsername(userDetails.getUsername());
+        return ResponseEntity.ok().eTag(EntityTags.of(profile))
+                .body(ApiResponse.success("Profile fetched successfully", profile));
     }
 
     @PostMapping
-    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_MANAGER')")
+    @PreAuthorize("isAdminOrManager()")
     @Operation(summary = "Create employee")
     public ResponseEntity<ApiResponse<EmployeeResponse>> createEmployee(
             @Valid @RequestBody EmployeeRequest request,
@@ -69,23 +136,29 @@ public class EmployeeController {
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_MANAGER')")
-    @Operation(summary = "Update employee")
+    @PreAuthorize("isAdminOrManager()")
+    @Operation(summary = "Update employee (manager: own department only; If-Match: 412 when the employee changed meanwhile)")
     public ResponseEntity<ApiResponse<EmployeeResponse>> updateEmployee(
             @PathVariable Long id,
             @Valid @RequestBody EmployeeRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(ApiResponse.success("Employee updated successfully",
-                employeeService.updateEmployee(id, request, userDetails.getUsername())));
+        EmployeeResponse updated = employeeService.updateEmployee(
+                id, request, userDetails.getUsername(), EntityTags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(updated))
+                .body(ApiResponse.success("Employee updated successfully", updated));
     }
 
     @PatchMapping("/me")
-    @Operation(summary = "Update own profile")
+    @Operation(summary = "Update own profile (If-Match: 412 when the profile changed meanwhile)")
     public ResponseEntity<ApiResponse<EmployeeResponse>> updateMyProfile(
             @AuthenticationPrincipal UserDetails userDetails,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateProfileRequest request) {
-        return ResponseEntity.ok(ApiResponse.success("Profile updated successfully",
-                employeeService.updateOwnProfile(userDetails.getUsername(), request)));
+        EmployeeResponse updated = employeeService.updateOwnProfile(
+                userDetails.getUsername(), request, EntityTags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(updated))
+                .body(ApiResponse.success("Profile updated successfully", updated));
     }
 
     @PostMapping("/me/resign")
@@ -98,7 +171,7 @@ public class EmployeeController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PreAuthorize("isAdmin()")
     @Operation(summary = "Delete employee")
     public ResponseEntity<ApiResponse<Void>> deleteEmployee(
             @PathVariable Long id,
@@ -0,0 +1,61 @@
+package com.ems.controller;
+
+import com.ems.dto.response.DepartmentResponse;
+import com.ems.dto.response.EmployeeResponse;
+import com.ems.exception.BadRequestException;
+
+/**
+ * Maps entity versions to HTTP entity tags and back. A tag is the quoted version of the entity, followed by the
+ * versions of the rows whose names the response embeds ({@code -} for none), e.g. {@code "3.7.2.-"} for an employee
+ * at version 3 in department version 7 with designation version 2 and no manager. A rename of any of them changes
+ * the tag, so {@code If-None-Match} never confirms a response with stale names. {@code If-Match} only compares the
+ * entity's own version, since an update only writes that row.
+ */
+final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    static String of(Long version, Long... embeddedVersions) {
+        StringBuilder tag = new StringBuilder("\"").append(version != null ? version : 0L);
+        for (Long embedded : embeddedVersions) {
+            tag.append('.').append(embedded != null ? embedded.toString() : "-");
+        }
+        return tag.append('"').toString();
+    }
+
+    static String of(EmployeeResponse employee) {
+        return of(employee.getVersion(), employee.getDepartmentVersion(), employee.getDesignationVersion(),
+                employee.getReportingManagerVersion());
+    }
+
+    static String of(DepartmentResponse department) {
+        return of(department.getVersion(), department.getManagerVersion());
+    }
+
+    /**
+     * Returns the entity version an {@code If-Match} header asks for, or {@code null} when the header is absent or
+     * {@code *}.
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        int embedded = tag.indexOf('.');
+        if (embedded >= 0) {
+            tag = tag.substring(0, embedded);
+        }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Malformed If-Match header: " + ifMatch);
+        }
+    }
+}
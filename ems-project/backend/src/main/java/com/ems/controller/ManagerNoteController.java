@@ -27,7 +27,7 @@ public class ManagerNoteController {
     private final ManagerNoteService managerNoteService;
 
     @GetMapping("/my-notes")
-    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_MANAGER')")
+    @PreAuthorize("isAdminOrManager()")
     @Operation(summary = "Get all notes written by the current manager")
     public ResponseEntity<ApiResponse<List<ManagerNoteResponse>>> getMyNotes(
             @AuthenticationPrincipal UserDetails userDetails) {
@@ -36,7 +36,7 @@ public class ManagerNoteController {
     }
 
     @GetMapping("/employee/{employeeId}")
-    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_MANAGER')")
+    @PreAuthorize("isAdminOrManager()")
     @Operation(summary = "Get all notes for a specific employee")
     public ResponseEntity<ApiResponse<List<ManagerNoteResponse>>> getNotesForEmployee(@PathVariable Long employeeId) {
         return ResponseEntity.ok(ApiResponse.success("Notes fetched",
@@ -44,7 +44,7 @@ public class ManagerNoteController {
     }
 
     @PostMapping
-    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_MANAGER')")
+    @PreAuthorize("isAdminOrManager()")
     @Operation(summary = "Add a note for an employee")
     public ResponseEntity<ApiResponse<ManagerNoteResponse>> addNote(
             @Valid @RequestBody ManagerNoteRequest request,
@@ -54,7 +54,7 @@ public class ManagerNoteController {
     }
 
     @DeleteMapping("/{noteId}")
-    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_MANAGER')")
+    @PreAuthorize("isAdminOrManager()")
     @Operation(summary = "Delete a note")
     public ResponseEntity<ApiResponse<Void>> deleteNote(
             @PathVariable Long noteId,
@@ -1,7 +1,9 @@
 package com.ems.controller;
 
+import com.ems.dto.request.BatchGetRequest;
 import com.ems.dto.request.TaskRequest;
 import com.ems.dto.response.ApiResponse;
+import com.ems.dto.response.BatchGetResponse;
 import com.ems.dto.response.TaskResponse;
 import com.ems.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,6 +11,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -28,7 +31,7 @@ public class TaskController {
     private final TaskService taskService;
 
     @PostMapping
-    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_MANAGER')")
+    @PreAuthorize("isAdminOrManager()")
     @Operation(summary = "Create and assign a task to an employee")
     public ResponseEntity<ApiResponse<TaskResponse>> createTask(
             @Valid @RequestBody TaskRequest request,
@@ -47,7 +50,7 @@ public class TaskController {
     }
 
     @GetMapping("/assigned-by-me")
-    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_MANAGER')")
+    @PreAuthorize("isAdminOrManager()")
     @Operation(summary = "Get tasks assigned by me (manager view)")
     public ResponseEntity<ApiResponse<List<TaskResponse>>> getTasksAssignedByMe(
             @AuthenticationPrincipal UserDetails userDetails) {
@@ -55,19 +58,31 @@ public class TaskController {
                 taskService.getTasksAssignedByMe(userDetails.getUsername())));
     }
 
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get up to " + BatchGetRequest.MAX_IDS + " tasks by ID in one call, in request order "
+            + "(non-admins: only tasks assigned to or by them)")
+    public ResponseEntity<ApiResponse<BatchGetResponse<TaskResponse>>> batchGet(
+            @Valid @RequestBody BatchGetRequest request, @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(ApiResponse.success("Tasks fetched successfully",
+                taskService.getTasksByIds(request.getIds(), userDetails.getUsername())));
+    }
+
     @PatchMapping("/{id}/status")
-    @Operation(summary = "Update task status (PENDING, IN_PROGRESS, COMPLETED)")
+    @Operation(summary = "Update task status (PENDING, IN_PROGRESS, COMPLETED); honours If-Match")
     public ResponseEntity<ApiResponse<TaskResponse>> updateTaskStatus(
             @PathVariable Long id,
             @RequestBody Map<String, String> body,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @AuthenticationPrincipal UserDetails userDetails) {
         String status = body.get("status");
-        return ResponseEntity.ok(ApiResponse.success("Task status updated",
-                taskService.updateTaskStatus(id, status, userDetails.getUsername())));
+        TaskResponse updated = taskService.updateTaskStatus(
+                id, status, userDetails.getUsername(), EntityTags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(updated.getVersion()))
+                .body(ApiResponse.success("Task status updated", updated));
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_MANAGER')")
+    @PreAuthorize("isAdminOrManager()")
     @Operation(summary = "Delete a task")
     public ResponseEntity<ApiResponse<Void>> deleteTask(
             @PathVariable Long id,
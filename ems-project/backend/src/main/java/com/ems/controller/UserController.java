@@ -11,6 +11,8 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -25,21 +27,21 @@ public class UserController {
     private final UserService userService;
 
     @GetMapping
-    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_MANAGER')")
+    @PreAuthorize("isAdminOrManager()")
     @Operation(summary = "Get all users")
     public ResponseEntity<ApiResponse<List<UserResponse>>> getAllUsers() {
         return ResponseEntity.ok(ApiResponse.success("Users fetched successfully", userService.getAllUsers()));
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_MANAGER')")
+    @PreAuthorize("isAdminOrManager()")
     @Operation(summary = "Get user by ID")
     public ResponseEntity<ApiResponse<UserResponse>> getUserById(@PathVariable Long id) {
         return ResponseEntity.ok(ApiResponse.success("User fetched successfully", userService.getUserById(id)));
     }
 
     @PostMapping("/{id}/assign-role")
-    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PreAuthorize("isAdmin()")
     @Operation(summary = "Assign role to user")
     public ResponseEntity<ApiResponse<UserResponse>> assignRole(
             @PathVariable Long id, @Valid @RequestBody AssignRoleRequest request) {
@@ -47,7 +49,7 @@ public class UserController {
     }
 
     @DeleteMapping("/{id}/remove-role")
-    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PreAuthorize("isAdmin()")
     @Operation(summary = "Remove role from user")
     public ResponseEntity<ApiResponse<UserResponse>> removeRole(
             @PathVariable Long id, @Valid @RequestBody AssignRoleRequest request) {
@@ -55,21 +57,25 @@ public class UserController {
     }
 
     @PatchMapping("/{id}/lock")
-    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PreAuthorize("isAdmin()")
     @Operation(summary = "Lock user account")
-    public ResponseEntity<ApiResponse<UserResponse>> lockUser(@PathVariable Long id) {
-        return ResponseEntity.ok(ApiResponse.success("User locked successfully", userService.lockUser(id)));
+    public ResponseEntity<ApiResponse<UserResponse>> lockUser(
+            @PathVariable Long id, @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(ApiResponse.success("User locked successfully",
+                userService.lockUser(id, userDetails.getUsername())));
     }
 
     @PatchMapping("/{id}/unlock")
-    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PreAuthorize("isAdmin()")
     @Operation(summary = "Unlock user account")
-    public ResponseEntity<ApiResponse<UserResponse>> unlockUser(@PathVariable Long id) {
-        return ResponseEntity.ok(ApiResponse.success("User unlocked successfully", userService.unlockUser(id)));
+    public ResponseEntity<ApiResponse<UserResponse>> unlockUser(
+            @PathVariable Long id, @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(ApiResponse.success("User unlocked successfully",
+                userService.unlockUser(id, userDetails.getUsername())));
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PreAuthorize("isAdmin()")
     @Operation(summary = "Delete user")
     public ResponseEntity<ApiResponse<Void>> deleteUser(@PathVariable Long id) {
         userService.deleteUser(id);
@@ -0,0 +1,20 @@
+package com.ems.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetRequest {
+    public static final int MAX_IDS = 500;
+
+    @NotEmpty(message = "ids must not be empty")
+    @Size(max = MAX_IDS, message = "At most " + MAX_IDS + " ids per request")
+    private List<@NotNull(message = "ids must not contain null") Long> ids;
+}
@@ -0,0 +1,37 @@
+package com.ems.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentReorgRequest {
+    public static final int MAX_EMPLOYEE_IDS = 10_000;
+
+    @NotNull(message = "Target department is required")
+    private Long targetDepartmentId;
+
+    /** Only these employees of the source department; all of them when omitted. */
+    @Size(max = MAX_EMPLOYEE_IDS, message = "At most " + MAX_EMPLOYEE_IDS + " employee ids per request")
+    private List<@NotNull(message = "employeeIds must not contain null") Long> employeeIds;
+
+    /** Only employees with this designation. */
+    private Long designationId;
+
+    /** Moved employees report to this employee afterwards. */
+    private Long reportingManagerId;
+
+    /** Makes this employee, who must be in the target department after the move, its manager. */
+    private Long targetManagerId;
+
+    /** Open tasks of moved employees are reassigned to the target department's manager. */
+    private boolean reassignOpenTasks;
+
+    /** Soft-deletes the source department; every active employee must be moved. */
+    private boolean deleteSource;
+}
@@ -0,0 +1,32 @@
+package com.ems.dto.request;
+
+import com.ems.analytics.Dimension;
+import com.ems.entity.Employee;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Data
+public class WorkforceQueryRequest {
+    private List<Dimension> groupBy = new ArrayList<>(); // DEPARTMENT, DESIGNATION, STATUS, JOINING_YEAR, SALARY_BAND
+
+    private Set<Long> departmentIds;
+
+    private Set<Long> designationIds;
+
+    private Set<Employee.EmploymentStatus> statuses;
+
+    private LocalDate joinedFrom;
+
+    private LocalDate joinedTo;
+
+    private BigDecimal minSalary;
+
+    private BigDecimal maxSalary;
+
+    private BigDecimal salaryBand; // width of SALARY_BAND groups, defaults to ems.analytics.default-salary-band
+}
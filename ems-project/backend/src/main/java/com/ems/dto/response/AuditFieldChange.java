@@ -0,0 +1,14 @@
+package com.ems.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditFieldChange {
+    private String field;
+    private String oldValue;
+    private String newValue;
+}
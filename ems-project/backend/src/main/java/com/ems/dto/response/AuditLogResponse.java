@@ -2,6 +2,7 @@ package com.ems.dto.response;
 
 import lombok.*;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Getter
 @Setter
@@ -15,5 +16,6 @@ public class AuditLogResponse {
     private Long entityId;
     private String performedBy;
     private String details;
+    private List<AuditFieldChange> changes;
     private LocalDateTime createdAt;
 }
@@ -0,0 +1,47 @@
+package com.ems.dto.response;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Result of a batch-get: one entry per requested id, in request order (repeated ids repeat their entry).
+ * Ids that do not exist, are deleted or are not visible to the caller come back with {@code found = false}
+ * and no {@code data}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchGetResponse<T> {
+    private int requested;
+    private int found;
+    private List<Item<T>> items;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item<T> {
+        private Long id;
+        private boolean found;
+        private T data;
+    }
+
+    public static <E, T> BatchGetResponse<T> of(List<Long> ids, Map<Long, E> byId, Function<E, T> mapper) {
+        List<Item<T>> items = new ArrayList<>(ids.size());
+        int found = 0;
+        for (Long id : ids) {
+            E entity = byId.get(id);
+            if (entity != null) {
+                found++;
+            }
+            items.add(new Item<>(id, entity != null, entity != null ? mapper.apply(entity) : null));
+        }
+        return new BatchGetResponse<>(ids.size(), found, items);
+    }
+}
@@ -0,0 +1,16 @@
+package com.ems.dto.response;
+
+import lombok.*;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeFeedResponse<T> {
+    private List<T> upserts;
+    private List<Long> deletedIds;
+    private String nextToken;
+    private boolean hasMore;
+}
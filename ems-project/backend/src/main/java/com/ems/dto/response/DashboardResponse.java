@@ -0,0 +1,22 @@
+package com.ems.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the dashboard shows after login. A section that failed or timed out is left out and named in
+ * {@code errors} with the reason; sections that do not apply to the caller (notes for employees) are left out too.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardResponse {
+    private EmployeeResponse profile;
+    private List<TaskResponse> tasks;
+    private List<AnnouncementResponse> announcements;
+    private List<ManagerNoteResponse> notes;
+    private Map<String, String> errors;
+}
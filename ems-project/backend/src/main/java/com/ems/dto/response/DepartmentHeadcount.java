@@ -0,0 +1,15 @@
+package com.ems.dto.response;
+
+import lombok.*;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DepartmentHeadcount {
+    private Long departmentId;
+    private String departmentName;
+    private List<HeadcountPoint> points;
+}
@@ -0,0 +1,18 @@
+package com.ems.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DepartmentReorgResponse {
+    private Long sourceDepartmentId;
+    private Long targetDepartmentId;
+    private int employeesMoved;
+    private int reportingLinesChanged;
+    private int tasksReassigned;
+    private Long targetManagerId;
+    private boolean sourceDeleted;
+}
@@ -1,5 +1,6 @@
 package com.ems.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import java.time.LocalDateTime;
 
@@ -15,5 +16,10 @@ public class DepartmentResponse {
     private Long managerId;
     private String managerName;
     private Boolean isActive;
+    private Long version;
     private LocalDateTime createdAt;
+
+    // version of the manager row, part of the ETag only
+    @JsonIgnore
+    private Long managerVersion;
 }
@@ -0,0 +1,24 @@
+package com.ems.dto.response;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeAsOfResponse {
+    private Long employeeId;
+    private LocalDateTime asOf;
+    private Long departmentId;
+    private String departmentName;
+    private Long designationId;
+    private String designationTitle;
+    private Long reportingManagerId;
+    private String reportingManagerName;
+    private BigDecimal salary;
+    private String employmentStatus;
+}
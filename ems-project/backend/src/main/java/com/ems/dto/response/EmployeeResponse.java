@@ -1,5 +1,6 @@
 package com.ems.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -30,5 +31,14 @@ public class EmployeeResponse {
     private String employmentStatus;
     private LocalDate resignationDate;
     private LocalDate noticePeriodEndDate;
+    private Long version;
     private LocalDateTime createdAt;
+
+    // versions of the embedded rows, part of the ETag only
+    @JsonIgnore
+    private Long departmentVersion;
+    @JsonIgnore
+    private Long designationVersion;
+    @JsonIgnore
+    private Long reportingManagerVersion;
 }
@@ -0,0 +1,20 @@
+package com.ems.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeSearchResult {
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phone;
+    private Long departmentId;
+    private String departmentName;
+    private String designationTitle;
+    private int score;
+}
@@ -0,0 +1,16 @@
+package com.ems.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeSuggestion {
+    private Long id;
+    private String displayName;
+    private String email;
+    private String departmentName;
+    private String designationTitle;
+}
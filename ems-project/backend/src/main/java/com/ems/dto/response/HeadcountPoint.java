@@ -0,0 +1,16 @@
+package com.ems.dto.response;
+
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HeadcountPoint {
+    private LocalDate periodStart;
+    private Integer headcount;      // on the last recorded day of the period
+    private BigDecimal average;     // over the recorded days of the period
+}
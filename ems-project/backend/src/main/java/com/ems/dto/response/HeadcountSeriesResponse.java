@@ -0,0 +1,18 @@
+package com.ems.dto.response;
+
+import lombok.*;
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HeadcountSeriesResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private String interval;
+    private List<HeadcountPoint> total;
+    private List<DepartmentHeadcount> departments;
+}
@@ -0,0 +1,29 @@
+package com.ems.dto.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A list response whose entries are already serialised JSON objects. They are written into the output as they
+ * are, so the response costs one array copy per entry instead of a DTO and a serialisation pass.
+ */
+@JsonSerialize(using = JsonFragments.Serializer.class)
+public record JsonFragments(List<SerializableString> items) {
+
+    static final class Serializer extends JsonSerializer<JsonFragments> {
+        @Override
+        public void serialize(JsonFragments value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartArray(value, value.items().size());
+            for (SerializableString item : value.items()) {
+                gen.writeRawValue(item);
+            }
+            gen.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.ems.dto.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Rows of a {@code ?fields=} projection: the selected property names once, and one value array per row in the
+ * same order. Serialised as a JSON array of objects with null values left out, so a compact list response needs
+ * one {@code Object[]} per row instead of a full DTO.
+ */
+@JsonSerialize(using = ProjectedRows.Serializer.class)
+public record ProjectedRows(String[] fields, List<Object[]> rows) {
+
+    static final class Serializer extends JsonSerializer<ProjectedRows> {
+        @Override
+        public void serialize(ProjectedRows value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            String[] fields = value.fields();
+            gen.writeStartArray(value, value.rows().size());
+            for (Object[] row : value.rows()) {
+                gen.writeStartObject();
+                for (int i = 0; i < fields.length; i++) {
+                    if (row[i] != null) {
+                        provider.defaultSerializeField(fields[i], row[i], gen);
+                    }
+                }
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.ems.dto.response;
+
+import lombok.*;
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalaryGroupStatistics {
+    private Long id;
+    private String name;
+    private long count;
+    private BigDecimal min;
+    private BigDecimal max;
+    private BigDecimal mean;
+    private BigDecimal p10;
+    private BigDecimal p50;
+    private BigDecimal p90;
+}
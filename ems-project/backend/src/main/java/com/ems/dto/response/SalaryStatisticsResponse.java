@@ -0,0 +1,17 @@
+package com.ems.dto.response;
+
+import lombok.*;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalaryStatisticsResponse {
+    private String groupBy;
+    private String mode;
+    private LocalDateTime asOf;
+    private List<SalaryGroupStatistics> groups;
+}
@@ -20,6 +20,7 @@ public class TaskResponse {
     private String status;
     private String priority;
     private LocalDateTime completedAt;
+    private Long version;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private boolean overdue;
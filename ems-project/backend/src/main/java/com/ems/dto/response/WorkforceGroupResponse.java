@@ -0,0 +1,20 @@
+package com.ems.dto.response;
+
+import lombok.*;
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WorkforceGroupResponse {
+    private Map<String, String> group;
+    private long count;
+    private long salaryCount;
+    private BigDecimal totalSalary;
+    private BigDecimal minSalary;
+    private BigDecimal maxSalary;
+    private BigDecimal averageSalary;
+}
@@ -0,0 +1,17 @@
+package com.ems.dto.response;
+
+import lombok.*;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WorkforceQueryResponse {
+    private LocalDateTime snapshotBuiltAt;
+    private int rowsScanned;
+    private long elapsedMicros;
+    private List<WorkforceGroupResponse> groups;
+}
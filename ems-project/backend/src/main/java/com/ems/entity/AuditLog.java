@@ -29,9 +29,17 @@ public class AuditLog {
     @Column(name = "performed_by", nullable = false, length = 100)
     private String performedBy;
 
-    @Column(columnDefinition = "TEXT")
+    @Column(columnDefinition = "MEDIUMTEXT")
     private String details;
 
+    /** Changed fields as minified {@code [[code, old, new], ...]}, see FieldChanges; null when none were recorded. */
+    @Column(columnDefinition = "TEXT")
+    private String changes;
+
+    /** One bit per changed field, see AuditField; null when none were recorded. */
+    @Column(name = "changed_fields")
+    private Long changedFields;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -31,6 +31,10 @@ public class Department {
     @Builder.Default
     private Boolean isActive = true;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -75,6 +75,10 @@ public class Employee {
     @Column(name = "notice_period_end_date")
     private LocalDate noticePeriodEndDate;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -0,0 +1,42 @@
+package com.ems.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * One department's headcount for one calendar year: 366 big-endian ints, one per day of the year,
+ * -1 where nothing has been recorded. Department id 0 holds employees without a department.
+ */
+@Entity
+@Table(name = "headcount_series",
+       uniqueConstraints = @UniqueConstraint(name = "uk_headcount_dept_year", columnNames = {"department_id", "series_year"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HeadcountSeries {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "department_id", nullable = false)
+    private Long departmentId;
+
+    @Column(name = "series_year", nullable = false)
+    private Integer year;
+
+    @Column(name = "daily_counts", nullable = false, columnDefinition = "VARBINARY(1464)")
+    private byte[] dailyCounts;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,51 @@
+package com.ems.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * One execution of a cluster job on one node. Written as RUNNING when the job starts and completed when it ends,
+ * so a row left RUNNING past its lease marks a node that died mid-run.
+ */
+@Entity
+@Table(name = "job_runs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobRun {
+
+    public enum Status {
+        RUNNING, SUCCEEDED, FAILED, LEASE_LOST,
+        /** Another node held the lease; returned to callers but never stored. */
+        SKIPPED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+
+    @Column(nullable = false)
+    private String node;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "items_processed")
+    private Integer itemsProcessed;
+
+    @Column(length = 500)
+    private String error;
+}
@@ -0,0 +1,23 @@
+package com.ems.event;
+
+import com.ems.audit.FieldChanges;
+import com.ems.service.AuditLogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes one audit log entry per domain event, with the field changes the writer put in the event's data.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuditEventListener implements DomainEventListener {
+
+    private final AuditLogService auditLogService;
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        auditLogService.record(event.getType().getAction(), event.getType().getAggregateType(),
+                event.getAggregateId(), event.getPerformedBy(), event.getSummary(),
+                FieldChanges.fromList(event.getData().get(FieldChanges.DATA_KEY)));
+    }
+}
@@ -0,0 +1,25 @@
+package com.ems.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A committed domain change as seen by listeners. {@code id} is the outbox row id: listeners receive events
+ * at least once and in id order per dispatcher batch, so they can use it to ignore redeliveries.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class DomainEvent {
+    private final Long id;
+    private final DomainEventType type;
+    private final Long aggregateId;
+    private final String performedBy;
+    private final String summary;
+    private final Map<String, Object> data;
+    private final LocalDateTime occurredAt;
+}
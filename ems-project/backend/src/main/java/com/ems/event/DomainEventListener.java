@@ -0,0 +1,14 @@
+package com.ems.event;
+
+/**
+ * Receives domain events after they are committed. Delivery is at-least-once, so implementations must tolerate
+ * seeing the same event twice. An exception leaves the event in the outbox to be retried for every listener.
+ */
+public interface DomainEventListener {
+
+    default boolean supports(DomainEventType type) {
+        return true;
+    }
+
+    void onEvent(DomainEvent event);
+}
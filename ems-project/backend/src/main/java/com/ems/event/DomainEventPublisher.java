@@ -0,0 +1,53 @@
+package com.ems.event;
+
+import com.ems.entity.OutboxEvent;
+import com.ems.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records domain events in the outbox table as part of the caller's transaction, so an event exists
+ * if and only if the change it describes was committed. {@link OutboxDispatcher} delivers them afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+public class DomainEventPublisher {
+
+    static final String SUMMARY_KEY = "summary";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(DomainEventType type, Long aggregateId, String performedBy, String summary) {
+        publish(type, aggregateId, performedBy, summary, Map.of());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(DomainEventType type, Long aggregateId, String performedBy, String summary,
+                        Map<String, Object> data) {
+        Map<String, Object> payload = new LinkedHashMap<>(data);
+        payload.put(SUMMARY_KEY, summary);
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(type.name())
+                .aggregateId(aggregateId)
+                .performedBy(performedBy != null ? performedBy : "system")
+                .payload(toJson(payload))
+                .build());
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Event payload is not serialisable", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.ems.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum DomainEventType {
+    EMPLOYEE_CREATED("EMPLOYEE", "CREATE"),
+    EMPLOYEE_UPDATED("EMPLOYEE", "UPDATE"),
+    EMPLOYEE_RESIGNED("EMPLOYEE", "RESIGN"),
+    EMPLOYEE_STATUS_CHANGED("EMPLOYEE", "STATUS_CHANGE"),
+    EMPLOYEE_DELETED("EMPLOYEE", "DELETE"),
+    EMPLOYEE_RESTORED("EMPLOYEE", "RESTORE"),
+    DEPARTMENT_CREATED("DEPARTMENT", "CREATE"),
+    DEPARTMENT_UPDATED("DEPARTMENT", "UPDATE"),
+    DEPARTMENT_DELETED("DEPARTMENT", "DELETE"),
+    DEPARTMENT_REORGANIZED("DEPARTMENT", "REORGANIZE"),
+    DEPARTMENT_RESTORED("DEPARTMENT", "RESTORE"),
+    DESIGNATION_RESTORED("DESIGNATION", "RESTORE"),
+    TASK_CREATED("TASK", "CREATE"),
+    TASK_STATUS_CHANGED("TASK", "STATUS_CHANGE"),
+    TASK_DELETED("TASK", "DELETE"),
+    USER_LOCKED("USER", "LOCK"),
+    USER_UNLOCKED("USER", "UNLOCK"),
+    USER_RESTORED("USER", "RESTORE");
+
+    /** Entity type as recorded in the audit log. */
+    private final String aggregateType;
+
+    /** Audit log action for this event. */
+    private final String action;
+}
@@ -0,0 +1,191 @@
+package com.ems.event;
+
+import com.ems.entity.OutboxEvent;
+import com.ems.job.ClusterJobRunner;
+import com.ems.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox in id order and hands each event to every interested {@link DomainEventListener}.
+ * A batch is claimed with {@code FOR UPDATE SKIP LOCKED}, so any number of nodes can run the dispatcher.
+ * Listeners for one event run in their own transaction: a failing listener leaves that event pending without rolling
+ * back the rest of the batch. It is retried after an exponential backoff ({@code ems.outbox.retry-base-ms} doubled
+ * per failed attempt, at most {@code ems.outbox.retry-max-ms}) up to {@code ems.outbox.max-attempts} times; after that
+ * it stays in the table as a dead letter, counted by the {@code ems.outbox.dead-letters} gauge.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {};
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final String RETENTION_JOB = "outbox-retention";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<DomainEventListener> listeners;
+    private final ObjectMapper objectMapper;
+    private final ClusterJobRunner clusterJobRunner;
+    private final TransactionTemplate batchTransaction;
+    private final TransactionTemplate listenerTransaction;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicLong deadLetters = new AtomicLong();
+    private final Counter dispatchedCounter;
+    private final Counter failedCounter;
+
+    @Value("${ems.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${ems.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${ems.outbox.retry-base-ms:1000}")
+    private long retryBaseMillis;
+
+    @Value("${ems.outbox.retry-max-ms:600000}")
+    private long retryMaxMillis;
+
+    @Value("${ems.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            List<DomainEventListener> listeners,
+                            ObjectMapper objectMapper,
+                            ClusterJobRunner clusterJobRunner,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.listeners = listeners;
+        this.objectMapper = objectMapper;
+        this.clusterJobRunner = clusterJobRunner;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.listenerTransaction = new TransactionTemplate(transactionManager);
+        this.listenerTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.dispatchedCounter = Counter.builder("ems.outbox.dispatched")
+                .description("Outbox events delivered to all listeners").register(meterRegistry);
+        this.failedCounter = Counter.builder("ems.outbox.failed")
+                .description("Outbox delivery attempts that threw").register(meterRegistry);
+        Gauge.builder("ems.outbox.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest undelivered outbox event")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("ems.outbox.dead-letters", deadLetters, AtomicLong::get)
+                .description("Undelivered outbox events that used up ems.outbox.max-attempts")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Claims full batches until one comes back short or delivers nothing, so a run of failing events cannot keep
+     * the loop spinning until the next poll.
+     */
+    @Scheduled(fixedDelayString = "${ems.outbox.poll-interval-ms:500}")
+    public void dispatchPending() {
+        BatchResult result;
+        do {
+            result = batchTransaction.execute(status -> dispatchBatch());
+        } while (result != null && result.claimed() == batchSize && result.delivered() > 0);
+        updateGauges();
+    }
+
+    @Scheduled(fixedDelayString = "${ems.outbox.cleanup-interval-ms:3600000}")
+    public void purgeDispatched() {
+        clusterJobRunner.run(RETENTION_JOB, Duration.ofMinutes(5), context -> {
+            LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+            Integer purged = batchTransaction.execute(status -> outboxEventRepository.deleteDispatchedBefore(cutoff));
+            return purged != null ? purged : 0;
+        });
+    }
+
+    private BatchResult dispatchBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.claimPending(maxAttempts, LocalDateTime.now(), batchSize);
+        int delivered = 0;
+        for (OutboxEvent row : batch) {
+            try {
+                DomainEvent event = toDomainEvent(row);
+                listenerTransaction.executeWithoutResult(status -> deliver(event));
+                row.setDispatchedAt(LocalDateTime.now());
+                row.setNextAttemptAt(null);
+                row.setLastError(null);
+                dispatchedCounter.increment();
+                delivered++;
+            } catch (RuntimeException e) {
+                row.setAttempts(row.getAttempts() + 1);
+                row.setNextAttemptAt(LocalDateTime.now().plus(backoff(row.getAttempts())));
+                row.setLastError(truncate(e.toString()));
+                failedCounter.increment();
+                if (row.getAttempts() >= maxAttempts) {
+                    log.error("Outbox event {} ({}) failed {} times and will not be retried: {}",
+                            row.getId(), row.getEventType(), row.getAttempts(), e.getMessage());
+                } else {
+                    log.warn("Outbox event {} ({}) failed on attempt {}, retrying after {}: {}",
+                            row.getId(), row.getEventType(), row.getAttempts(), row.getNextAttemptAt(),
+                            e.getMessage());
+                }
+            }
+        }
+        return new BatchResult(batch.size(), delivered);
+    }
+
+    /** {@code retry-base-ms * 2^(attempts - 1)}, capped at {@code retry-max-ms}. */
+    private Duration backoff(int attempts) {
+        int doublings = Math.min(Math.max(attempts - 1, 0), 30);
+        return Duration.ofMillis(Math.min(retryBaseMillis << doublings, retryMaxMillis));
+    }
+
+    private void deliver(DomainEvent event) {
+        for (DomainEventListener listener : listeners) {
+            if (listener.supports(event.getType())) {
+                listener.onEvent(event);
+            }
+        }
+    }
+
+    private DomainEvent toDomainEvent(OutboxEvent row) {
+        Map<String, Object> data;
+        try {
+            data = row.getPayload() != null ? objectMapper.readValue(row.getPayload(), PAYLOAD_TYPE) : new HashMap<>();
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable payload for outbox event " + row.getId(), e);
+        }
+        Object summary = data.remove(DomainEventPublisher.SUMMARY_KEY);
+        return DomainEvent.builder()
+                .id(row.getId())
+                .type(DomainEventType.valueOf(row.getEventType()))
+                .aggregateId(row.getAggregateId())
+                .performedBy(row.getPerformedBy())
+                .summary(summary != null ? summary.toString() : null)
+                .data(data)
+                .occurredAt(row.getCreatedAt())
+                .build();
+    }
+
+    private void updateGauges() {
+        LocalDateTime oldest = outboxEventRepository.findOldestPendingCreatedAt(maxAttempts);
+        lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+        deadLetters.set(outboxEventRepository.countDeadLetters(maxAttempts));
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private record BatchResult(int claimed, int delivered) {
+    }
+}
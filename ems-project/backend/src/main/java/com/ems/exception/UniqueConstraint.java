@@ -0,0 +1,58 @@
+package com.ems.exception;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The unique constraints in {@code database_migration.sql} that writers rely on instead of checking for a duplicate
+ * first, and the conflict each one reports. A violation is recognised by the constraint name in the driver message,
+ * which every database we run on includes.
+ */
+enum UniqueConstraint {
+
+    USERS_USERNAME("uk_users_username", "Username already exists", true),
+    USERS_EMAIL("uk_users_email", "Email already exists", true),
+    EMPLOYEES_EMAIL("uk_employees_email", "Email already in use", true),
+    EMPLOYEES_USER("uk_employees_user", "Employee profile already exists for this user", false),
+    DEPARTMENTS_NAME("uk_departments_name", "Department name already in use", true),
+    DESIGNATIONS_TITLE("uk_designations_title", "Designation title already in use", true);
+
+    // MySQL: Duplicate entry 'jane@example.com' for key 'employees.uk_employees_email'
+    private static final Pattern DUPLICATE_VALUE = Pattern.compile("Duplicate entry '(.*)' for key");
+
+    private final String constraintName;
+    private final String message;
+    private final boolean showValue;
+
+    UniqueConstraint(String constraintName, String message, boolean showValue) {
+        this.constraintName = constraintName;
+        this.message = message;
+        this.showValue = showValue;
+    }
+
+    /**
+     * The duplicate the violation stands for, or empty when it is not one of these constraints.
+     */
+    static Optional<DuplicateResourceException> translate(DataIntegrityViolationException ex) {
+        String detail = ex.getMostSpecificCause().getMessage();
+        if (detail == null) {
+            return Optional.empty();
+        }
+        String lower = detail.toLowerCase(Locale.ROOT);
+        for (UniqueConstraint constraint : values()) {
+            if (lower.contains(constraint.constraintName)) {
+                return Optional.of(new DuplicateResourceException(constraint.describe(detail)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private String describe(String detail) {
+        Matcher value = DUPLICATE_VALUE.matcher(detail);
+        return showValue && value.find() ? message + ": " + value.group(1) : message;
+    }
+}
@@ -0,0 +1,14 @@
+package com.ems.job;
+
+/**
+ * Work that must run on one node at a time, executed through {@link ClusterJobRunner}.
+ */
+@FunctionalInterface
+public interface ClusterJob {
+
+    /**
+     * Does one run's work and returns the number of items processed. Long-running jobs should check
+     * {@link JobContext#isLeaseLost()} between batches and stop once it is true.
+     */
+    int execute(JobContext context);
+}
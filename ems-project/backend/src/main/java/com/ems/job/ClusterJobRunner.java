@@ -0,0 +1,215 @@
+package com.ems.job;
+
+import com.ems.entity.JobRun;
+import com.ems.repository.JobRunRepository;
+import com.ems.service.JobLockService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs {@link ClusterJob}s on exactly one node at a time. Callers keep their own {@code @Scheduled} trigger on
+ * every node and hand the work to {@link #run}, which:
+ * <ol>
+ *   <li>waits a random delay of up to {@code ems.jobs.max-jitter-ms}, so nodes firing on the same cron do not
+ *       always race in the same order;</li>
+ *   <li>takes the job's lease through {@link JobLockService}, or returns {@link JobRun.Status#SKIPPED};</li>
+ *   <li>renews the lease every third of its length from a heartbeat thread while the job runs, flagging the
+ *       {@link JobContext} if renewal fails so the job can stop;</li>
+ *   <li>records the run in {@code job_runs} and releases the lease.</li>
+ * </ol>
+ * Metrics per job: {@code ems.job.duration} (timer, tagged by outcome), {@code ems.job.skipped}, and
+ * {@code ems.job.lag}, the time since the job last succeeded on any node.
+ */
+@Slf4j
+@Component
+public class ClusterJobRunner {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final String HISTORY_RETENTION_JOB = "job-history-retention";
+
+    private final JobLockService jobLockService;
+    private final JobRunRepository jobRunRepository;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate historyTransaction;
+    private final ScheduledExecutorService heartbeats;
+    // epoch millis of the latest success seen on any node, per job; 0 when none is known
+    private final Map<String, AtomicLong> lastSuccess = new ConcurrentHashMap<>();
+
+    @Value("${ems.jobs.max-jitter-ms:2000}")
+    private long maxJitterMillis;
+
+    @Value("${ems.jobs.history-retention-days:30}")
+    private long historyRetentionDays;
+
+    public ClusterJobRunner(JobLockService jobLockService,
+                            JobRunRepository jobRunRepository,
+                            MeterRegistry meterRegistry,
+                            PlatformTransactionManager transactionManager) {
+        this.jobLockService = jobLockService;
+        this.jobRunRepository = jobRunRepository;
+        this.meterRegistry = meterRegistry;
+        this.historyTransaction = new TransactionTemplate(transactionManager);
+        this.historyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public JobRun.Status run(String jobName, Duration lease, ClusterJob job) {
+        if (!jitter()) {
+            return JobRun.Status.SKIPPED;
+        }
+        if (!jobLockService.tryAcquire(jobName, lease)) {
+            meterRegistry.counter("ems.job.skipped", "job", jobName).increment();
+            refreshLastSuccess(jobName);
+            log.debug("Job {} is held by another node", jobName);
+            return JobRun.Status.SKIPPED;
+        }
+
+        Long runId;
+        try {
+            runId = historyTransaction.execute(status -> jobRunRepository.save(JobRun.builder()
+                    .jobName(jobName)
+                    .node(jobLockService.owner())
+                    .status(JobRun.Status.RUNNING)
+                    .startedAt(LocalDateTime.now())
+                    .build()).getId());
+        } catch (RuntimeException e) {
+            jobLockService.release(jobName);
+            throw e;
+        }
+
+        JobContext context = new JobContext(jobName);
+        long period = Math.max(1, lease.toMillis() / 3);
+        ScheduledFuture<?> heartbeat = heartbeats.scheduleAtFixedRate(
+                () -> renew(context, lease), period, period, TimeUnit.MILLISECONDS);
+
+        long start = System.nanoTime();
+        JobRun.Status outcome;
+        int items = 0;
+        String error = null;
+        try {
+            items = job.execute(context);
+            outcome = context.isLeaseLost() ? JobRun.Status.LEASE_LOST : JobRun.Status.SUCCEEDED;
+        } catch (RuntimeException e) {
+            outcome = JobRun.Status.FAILED;
+            error = e.toString();
+            log.error("Job {} failed", jobName, e);
+        } finally {
+            heartbeat.cancel(false);
+            jobLockService.release(jobName);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        finish(runId, outcome, items, error);
+        Timer.builder("ems.job.duration")
+                .description("Cluster job run time on the node that held the lease")
+                .tags("job", jobName, "outcome", outcome.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (outcome == JobRun.Status.SUCCEEDED) {
+            lastSuccessOf(jobName).set(System.currentTimeMillis());
+        }
+        log.info("Job {} {} on {}: {} items in {} ms", jobName, outcome, jobLockService.owner(), items,
+                elapsedNanos / 1_000_000);
+        return outcome;
+    }
+
+    @Scheduled(cron = "${ems.jobs.history-cleanup-cron:0 30 3 * * *}")
+    public void purgeHistory() {
+        run(HISTORY_RETENTION_JOB, Duration.ofMinutes(5), context -> {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(historyRetentionDays);
+            Integer purged = historyTransaction.execute(status -> jobRunRepository.deleteStartedBefore(cutoff));
+            return purged != null ? purged : 0;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+    }
+
+    private void renew(JobContext context, Duration lease) {
+        try {
+            if (!jobLockService.tryAcquire(context.jobName(), lease)) {
+                context.markLeaseLost();
+                log.warn("Job {} lost its lease to another node", context.jobName());
+            }
+        } catch (RuntimeException e) {
+            // a transient failure is retried on the next beat; the lease itself decides whether we still hold it
+            log.warn("Heartbeat for job {} failed: {}", context.jobName(), e.getMessage());
+        }
+    }
+
+    private void finish(Long runId, JobRun.Status outcome, int items, String error) {
+        try {
+            historyTransaction.executeWithoutResult(status -> jobRunRepository.findById(runId).ifPresent(run -> {
+                run.setStatus(outcome);
+                run.setFinishedAt(LocalDateTime.now());
+                run.setItemsProcessed(items);
+                run.setError(error == null || error.length() <= MAX_ERROR_LENGTH
+                        ? error : error.substring(0, MAX_ERROR_LENGTH));
+            }));
+        } catch (RuntimeException e) {
+            log.warn("Could not record the end of job run {}: {}", runId, e.getMessage());
+        }
+    }
+
+    private boolean jitter() {
+        if (maxJitterMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxJitterMillis + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void refreshLastSuccess(String jobName) {
+        LocalDateTime finishedAt = jobRunRepository.findLastFinishedAt(jobName, JobRun.Status.SUCCEEDED);
+        if (finishedAt != null) {
+            lastSuccessOf(jobName).accumulateAndGet(
+                    finishedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), Math::max);
+        }
+    }
+
+    private AtomicLong lastSuccessOf(String jobName) {
+        return lastSuccess.computeIfAbsent(jobName, name -> {
+            AtomicLong holder = new AtomicLong();
+            Gauge.builder("ems.job.lag", holder, h -> h.get() == 0 ? Double.NaN : System.currentTimeMillis() - h.get())
+                    .description("Time since the job last succeeded on any node")
+                    .tag("job", name)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            return holder;
+        });
+    }
+}
@@ -0,0 +1,29 @@
+package com.ems.job;
+
+/**
+ * State of one run, shared between the job and the runner's heartbeat.
+ */
+public final class JobContext {
+
+    private final String jobName;
+    private volatile boolean leaseLost;
+
+    JobContext(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public String jobName() {
+        return jobName;
+    }
+
+    /**
+     * True once a heartbeat found another node holding the lease; the job should stop at the next safe point.
+     */
+    public boolean isLeaseLost() {
+        return leaseLost;
+    }
+
+    void markLeaseLost() {
+        leaseLost = true;
+    }
+}
@@ -0,0 +1,39 @@
+package com.ems.ratelimit;
+
+import org.springframework.http.HttpMethod;
+
+import java.util.Locale;
+
+/**
+ * Endpoints that share a rate limit. Expensive groups get their own, smaller budgets so a client cannot spend its
+ * whole allowance on them.
+ */
+public enum EndpointGroup {
+    AUTH,
+    SEARCH,
+    ANALYTICS,
+    EXPORT,
+    WRITE,
+    READ;
+
+    /** The key used in {@code ems.rate-limit.limits.<role>.<group>}. */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static EndpointGroup of(String method, String path) {
+        if (path.startsWith("/api/auth/")) {
+            return AUTH;
+        }
+        if (path.startsWith("/api/employees/search") || path.startsWith("/api/employees/suggest")) {
+            return SEARCH;
+        }
+        if (path.startsWith("/api/analytics/")) {
+            return ANALYTICS;
+        }
+        if (path.startsWith("/api/audit-logs") || path.endsWith("/changes") || path.endsWith("/batch-get")) {
+            return EXPORT;
+        }
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) ? READ : WRITE;
+    }
+}
@@ -0,0 +1,83 @@
+package com.ems.ratelimit;
+
+import com.ems.dto.response.ApiResponse;
+import com.ems.security.UserPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Applies {@link RateLimiter} to every {@code /api} request once the caller is authenticated, keyed by username
+ * (or client address for anonymous calls such as login). Runs before any controller, so a rejected request never
+ * takes a database connection. Rejections get {@code 429 Too Many Requests} with {@code Retry-After}.
+ * <p>
+ * The client address is {@link HttpServletRequest#getRemoteAddr()}. With {@code server.forward-headers-strategy=native}
+ * it is taken from {@code X-Forwarded-For} only for requests arriving from a trusted proxy
+ * ({@code server.tomcat.remoteip.internal-proxies}), so a client that reaches the application directly cannot pick
+ * its own bucket.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Value("${ems.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/") || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean authenticated = authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken);
+        String caller = authenticated ? "user:" + authentication.getName() : "ip:" + request.getRemoteAddr();
+        List<String> roles;
+        if (!authenticated) {
+            roles = List.of();
+        } else if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            // already sorted when the account was loaded
+            roles = principal.getAuthorityNames();
+        } else {
+            roles = authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).sorted().toList();
+        }
+        EndpointGroup group = EndpointGroup.of(request.getMethod(), request.getRequestURI());
+
+        long waitNanos = rateLimiter.tryAcquire(caller, roles, group);
+        if (waitNanos > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(RateLimiter.toRetryAfterSeconds(waitNanos)));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(429,
+                    "Too many " + group.key() + " requests, retry later"));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
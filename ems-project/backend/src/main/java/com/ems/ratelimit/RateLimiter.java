@@ -0,0 +1,139 @@
+package com.ems.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-caller, per-{@link EndpointGroup} {@link TokenBucket}s with limits taken from configuration:
+ * <pre>
+ * ems.rate-limit.limits.&lt;role&gt;.&lt;group&gt;=&lt;requests&gt;/&lt;s|m|h&gt;
+ * </pre>
+ * where role is the authority without {@code ROLE_} in lower case ({@code admin}, {@code manager}, ...) or
+ * {@code anonymous}, and either part may be {@code default}. The most specific entry wins; a user with several
+ * roles gets the most generous of them. Resolved limits are memoised per role set and group.
+ * <p>
+ * Buckets are created on first use and dropped by a sweep once they have refilled, so idle callers cost nothing.
+ * State is per node: with N replicas behind a balancer a caller's effective limit is up to N times the configured one.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    record Limit(long capacity, long periodNanos) {
+    }
+
+    private static final String PREFIX = "ems.rate-limit.limits.";
+    private static final String DEFAULT = "default";
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+
+    public RateLimiter(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Takes a token for {@code caller} in {@code group}; {@code roles} should be in a stable order. Returns 0 if allowed, otherwise the nanoseconds until the
+     * next token. A group with limit {@code 0} or a missing configuration is unlimited.
+     */
+    public long tryAcquire(String caller, Collection<String> roles, EndpointGroup group) {
+        Limit limit = limitFor(roles, group);
+        if (limit == null) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.computeIfAbsent(caller + '|' + group.name(),
+                key -> new TokenBucket(limit.capacity(), limit.periodNanos(), now));
+        long wait = bucket.tryConsume(now);
+        if (wait > 0) {
+            meterRegistry.counter("ems.ratelimit.rejected", "group", group.key()).increment();
+        }
+        return wait;
+    }
+
+    @Scheduled(fixedDelayString = "${ems.rate-limit.sweep-interval-ms:60000}")
+    public void sweepIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    Limit limitFor(Collection<String> roles, EndpointGroup group) {
+        String roleKey = String.join(",", roles);
+        String cacheKey = roleKey + '|' + group.name();
+        Limit cached = limits.get(cacheKey);
+        if (cached != null) {
+            return cached.capacity() > 0 ? cached : null;
+        }
+        Limit best = null;
+        for (String role : roles.isEmpty() ? List.of("anonymous") : roles) {
+            Limit limit = configured(normalise(role), group);
+            if (limit != null && (best == null || rate(limit) > rate(best))) {
+                best = limit;
+            }
+        }
+        // a zero capacity marks "unlimited" in the memo
+        limits.put(cacheKey, best != null ? best : new Limit(0, 0));
+        return best;
+    }
+
+    private Limit configured(String role, EndpointGroup group) {
+        String[] candidates = {
+                PREFIX + role + "." + group.key(),
+                PREFIX + role + "." + DEFAULT,
+                PREFIX + DEFAULT + "." + group.key(),
+                PREFIX + DEFAULT + "." + DEFAULT
+        };
+        for (String property : candidates) {
+            String value = environment.getProperty(property);
+            if (value != null && !value.isBlank()) {
+                return parse(property, value.trim());
+            }
+        }
+        return null;
+    }
+
+    private static Limit parse(String property, String value) {
+        int slash = value.indexOf('/');
+        if (slash < 0) {
+            throw new IllegalStateException(property + " must look like 100/m, got " + value);
+        }
+        long capacity = Long.parseLong(value.substring(0, slash).trim());
+        if (capacity <= 0) {
+            return null;
+        }
+        Duration period = switch (value.substring(slash + 1).trim().toLowerCase(Locale.ROOT)) {
+            case "s" -> Duration.ofSeconds(1);
+            case "m" -> Duration.ofMinutes(1);
+            case "h" -> Duration.ofHours(1);
+            default -> throw new IllegalStateException(property + " period must be s, m or h, got " + value);
+        };
+        return new Limit(capacity, period.toNanos());
+    }
+
+    private static double rate(Limit limit) {
+        return (double) limit.capacity() / limit.periodNanos();
+    }
+
+    private static String normalise(String authority) {
+        String role = authority.startsWith("ROLE_") ? authority.substring(5) : authority;
+        return role.toLowerCase(Locale.ROOT);
+    }
+
+    static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    }
+}
@@ -0,0 +1,58 @@
+package com.ems.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free token bucket holding up to {@code capacity} tokens, refilled at {@code capacity} per
+ * {@code periodNanos}.
+ * <p>
+ * The whole state is one {@code long}: the time at which the bucket would be full again (the "theoretical arrival
+ * time" of the generic cell rate algorithm, which behaves exactly like a token bucket). Taking a token pushes that
+ * time forward by one refill interval; a request is allowed while the push keeps it within one full bucket of now.
+ * A single compare-and-set per request, no lock and no background refill.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(long capacity, long periodNanos, long nowNanos) {
+        this.intervalNanos = Math.max(1, periodNanos / capacity);
+        this.capacityNanos = intervalNanos * capacity;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token. Returns 0 if one was available, otherwise the nanoseconds until one will be.
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long base = current - nowNanos < 0 ? nowNanos : current;
+            long next = base + intervalNanos;
+            long excess = next - nowNanos - capacityNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Tokens left at {@code nowNanos}, for reporting only.
+     */
+    public long available(long nowNanos) {
+        long used = Math.max(0, fullAt.get() - nowNanos);
+        return (capacityNanos - used) / intervalNanos;
+    }
+
+    /**
+     * True once the bucket has refilled completely, so dropping it loses nothing.
+     */
+    public boolean isFull(long nowNanos) {
+        return fullAt.get() - nowNanos <= 0;
+    }
+}
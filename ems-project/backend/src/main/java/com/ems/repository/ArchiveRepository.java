@@ -0,0 +1,115 @@
+package com.ems.repository;
+
+import com.ems.entity.Employee;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves rows between the soft-deleted tables and their {@code _archive} twins with set-based
+ * {@code INSERT ... SELECT} and {@code DELETE}. The archive tables have no foreign keys or unique constraints, so
+ * anything archived can sit there indefinitely; the constraints are checked again when a row is restored.
+ * Callers provide the transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ArchiveRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Up to {@code limit} rows soft-deleted before {@code cutoff} that no live row points at, locked until the
+     * caller's transaction ends so nothing can start referencing them before they are moved.
+     */
+    public List<Long> lockArchivable(ArchivedTable archived, LocalDateTime cutoff, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT t.id FROM ").append(archived.table())
+                .append(" t WHERE t.deleted_at < :cutoff");
+        for (ArchivedTable.ForeignKey key : archived.referencedBy()) {
+            sql.append(" AND NOT EXISTS (SELECT 1 FROM ").append(key.table()).append(" r WHERE r.")
+                    .append(key.column()).append(" = t.id)");
+        }
+        sql.append(" ORDER BY t.id LIMIT :limit FOR UPDATE");
+        return jdbc.queryForList(sql.toString(),
+                new MapSqlParameterSource("cutoff", cutoff).addValue("limit", limit), Long.class);
+    }
+
+    /**
+     * Copies the rows into the archive table and deletes them from the live one. A user's role assignments move
+     * with them and their refresh tokens are dropped.
+     */
+    public int archive(ArchivedTable archived, Collection<Long> ids, LocalDateTime now) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids).addValue("now", now);
+        if (archived == ArchivedTable.USERS) {
+            jdbc.update("INSERT INTO user_roles_archive (user_id, role_id, assigned_at) "
+                    + "SELECT user_id, role_id, assigned_at FROM user_roles WHERE user_id IN (:ids)", params);
+            jdbc.update("DELETE FROM user_roles WHERE user_id IN (:ids)", params);
+            jdbc.update("DELETE FROM refresh_tokens WHERE user_id IN (:ids)", params);
+        }
+        jdbc.update("INSERT INTO " + archived.archiveTable() + " (" + archived.columns() + ", archived_at) "
+                + "SELECT " + archived.columns() + ", :now FROM " + archived.table() + " WHERE id IN (:ids)", params);
+        return jdbc.update("DELETE FROM " + archived.table() + " WHERE id IN (:ids)", params);
+    }
+
+    public boolean isArchived(ArchivedTable archived, Long id) {
+        return !jdbc.queryForList("SELECT id FROM " + archived.archiveTable() + " WHERE id = :id",
+                Map.of("id", id), Long.class).isEmpty();
+    }
+
+    /**
+     * The references of an archived row that point at rows no longer in the live table, as {@code table id}.
+     */
+    public List<String> missingReferences(ArchivedTable archived, Long id) {
+        List<String> missing = new ArrayList<>();
+        for (ArchivedTable.ForeignKey key : archived.references()) {
+            List<Long> targets = jdbc.queryForList("SELECT a." + key.column() + " FROM " + archived.archiveTable()
+                    + " a WHERE a.id = :id AND a." + key.column() + " IS NOT NULL AND NOT EXISTS (SELECT 1 FROM "
+                    + key.table() + " t WHERE t.id = a." + key.column() + ")", Map.of("id", id), Long.class);
+            targets.forEach(target -> missing.add(key.table() + " " + target));
+        }
+        return missing;
+    }
+
+    /**
+     * Moves the row back to the live table as an active row, with its role assignments for a user.
+     */
+    public void restore(ArchivedTable archived, Long id, LocalDateTime now) {
+        MapSqlParameterSource params = new MapSqlParameterSource("id", id).addValue("now", now);
+        jdbc.update("INSERT INTO " + archived.table() + " (" + archived.columns() + ") SELECT " + archived.columns()
+                + " FROM " + archived.archiveTable() + " WHERE id = :id", params);
+        jdbc.update("UPDATE " + archived.table() + " SET deleted_at = NULL"
+                + (archived.hasIsActive() ? ", is_active = TRUE" : "")
+                + (archived.versioned() ? ", version = version + 1, updated_at = :now" : "")
+                + " WHERE id = :id", params);
+        jdbc.update("DELETE FROM " + archived.archiveTable() + " WHERE id = :id", params);
+        if (archived == ArchivedTable.USERS) {
+            jdbc.update("INSERT INTO user_roles (user_id, role_id, assigned_at) "
+                    + "SELECT user_id, role_id, assigned_at FROM user_roles_archive WHERE user_id = :id", params);
+            jdbc.update("DELETE FROM user_roles_archive WHERE user_id = :id", params);
+        }
+    }
+
+    /**
+     * Archived employees as headcount rows, in the shape of EmployeeRepository.findHeadcountRowsAfter.
+     */
+    public List<Object[]> findArchivedHeadcountRowsAfter(long afterId, int limit) {
+        return jdbc.query("SELECT id, department_id, date_of_joining, resignation_date, notice_period_end_date, "
+                        + "employment_status, deleted_at FROM employees_archive WHERE id > :afterId ORDER BY id LIMIT :limit",
+                new MapSqlParameterSource("afterId", afterId).addValue("limit", limit),
+                (rs, rowNum) -> new Object[]{
+                        rs.getLong(1),
+                        rs.getObject(2, Long.class),
+                        rs.getObject(3, LocalDate.class),
+                        rs.getObject(4, LocalDate.class),
+                        rs.getObject(5, LocalDate.class),
+                        rs.getString(6) != null ? Employee.EmploymentStatus.valueOf(rs.getString(6)) : null,
+                        rs.getObject(7, LocalDateTime.class)});
+    }
+}
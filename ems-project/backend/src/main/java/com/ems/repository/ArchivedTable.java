@@ -0,0 +1,112 @@
+package com.ems.repository;
+
+import java.util.List;
+
+/**
+ * A soft-deleted table with a {@code <name>_archive} twin, in the order the archival job visits them: employees
+ * first, since they are what keeps departments, designations and users referenced.
+ */
+public enum ArchivedTable {
+
+    EMPLOYEES("employees", "EMPLOYEE",
+            "id, user_id, first_name, last_name, email, phone, date_of_birth, date_of_joining, salary, "
+                    + "department_id, designation_id, reporting_manager_id, is_active, employment_status, "
+                    + "resignation_date, notice_period_end_date, version, created_at, updated_at, deleted_at",
+            List.of(new ForeignKey("departments", "department_id"), new ForeignKey("designations", "designation_id"),
+                    new ForeignKey("users", "user_id"), new ForeignKey("employees", "reporting_manager_id")),
+            List.of(new ForeignKey("tasks", "assigned_to"), new ForeignKey("tasks", "assigned_by"),
+                    new ForeignKey("manager_notes", "employee_id"), new ForeignKey("manager_notes", "manager_id"),
+                    new ForeignKey("employees", "reporting_manager_id"), new ForeignKey("departments", "manager_id")),
+            true, true),
+    DEPARTMENTS("departments", "DEPARTMENT",
+            "id, name, description, manager_id, is_active, version, created_at, updated_at, deleted_at",
+            List.of(new ForeignKey("employees", "manager_id")),
+            List.of(new ForeignKey("employees", "department_id")),
+            true, true),
+    DESIGNATIONS("designations", "DESIGNATION",
+            "id, title, version, created_at, updated_at, deleted_at",
+            List.of(),
+            List.of(new ForeignKey("employees", "designation_id")),
+            false, true),
+    USERS("users", "USER",
+            "id, username, email, password, is_active, failed_attempts, account_locked, locked_at, created_at, "
+                    + "updated_at, deleted_at",
+            List.of(),
+            List.of(new ForeignKey("employees", "user_id"), new ForeignKey("announcements", "created_by")),
+            true, false);
+
+    /**
+     * {@code column} of {@code table}: for {@link #references()} a column of this table pointing at {@code table},
+     * for {@link #referencedBy()} a column of {@code table} pointing at this table's id.
+     */
+    public record ForeignKey(String table, String column) {
+    }
+
+    private final String table;
+    private final String entityType;
+    private final String columns;
+    private final List<ForeignKey> references;
+    private final List<ForeignKey> referencedBy;
+    private final boolean hasIsActive;
+    private final boolean versioned;
+
+    ArchivedTable(String table, String entityType, String columns, List<ForeignKey> references,
+                  List<ForeignKey> referencedBy, boolean hasIsActive, boolean versioned) {
+        this.table = table;
+        this.entityType = entityType;
+        this.columns = columns;
+        this.references = references;
+        this.referencedBy = referencedBy;
+        this.hasIsActive = hasIsActive;
+        this.versioned = versioned;
+    }
+
+    public String table() {
+        return table;
+    }
+
+    public String archiveTable() {
+        return table + "_archive";
+    }
+
+    /** Entity type as recorded in the audit log. */
+    public String entityType() {
+        return entityType;
+    }
+
+    /** Every column, in the same order in the live and the archive table. */
+    public String columns() {
+        return columns;
+    }
+
+    /** Rows these point at must be in the live table before a row is restored. */
+    public List<ForeignKey> references() {
+        return references;
+    }
+
+    /** A row stays in the live table while any of these still points at it. */
+    public List<ForeignKey> referencedBy() {
+        return referencedBy;
+    }
+
+    public boolean hasIsActive() {
+        return hasIsActive;
+    }
+
+    /** Has {@code version} and {@code updated_at}, which a restore bumps for ETags and the change feeds. */
+    public boolean versioned() {
+        return versioned;
+    }
+
+    /**
+     * The table named in an API path, e.g. {@code employees}; null when there is none.
+     */
+    public static ArchivedTable fromPath(String path) {
+        for (ArchivedTable archived : values()) {
+            if (archived.table.equalsIgnoreCase(path)) {
+                return archived;
+            }
+        }
+        return null;
+    }
+}
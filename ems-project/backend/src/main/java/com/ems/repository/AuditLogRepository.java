@@ -4,7 +4,18 @@ import com.ems.entity.AuditLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     Page<AuditLog> findAllByOrderByCreatedAtDesc(Pageable pageable);
+
+    /**
+     * Entries for one entity whose changes include the field with this bit, newest first, read through the
+     * (entity_type, entity_id, id) index.
+     */
+    @Query(value = "SELECT * FROM audit_logs WHERE entity_type = :entityType AND entity_id = :entityId " +
+                   "AND (changed_fields & :bit) <> 0 ORDER BY id DESC LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<AuditLog> findFieldChanges(String entityType, Long entityId, long bit, int limit, int offset);
 }
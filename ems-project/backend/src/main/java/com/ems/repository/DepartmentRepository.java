@@ -1,17 +1,26 @@
 package com.ems.repository;
 
 import com.ems.entity.Department;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
-    boolean existsByName(String name);
-
-    @Query("SELECT d FROM Department d WHERE d.deletedAt IS NULL")
+    @Query("SELECT d FROM Department d LEFT JOIN FETCH d.manager WHERE d.deletedAt IS NULL")
     List<Department> findAllActive();
 
     @Query("SELECT d FROM Department d WHERE d.id = :id AND d.deletedAt IS NULL")
     Optional<Department> findActiveById(Long id);
+
+    @Query("SELECT d FROM Department d LEFT JOIN FETCH d.manager WHERE d.id IN :ids AND d.deletedAt IS NULL")
+    List<Department> findActiveByIdIn(Collection<Long> ids);
+
+    @Query("SELECT d FROM Department d LEFT JOIN FETCH d.manager " +
+           "WHERE (d.updatedAt > :since OR (d.updatedAt = :since AND d.id > :afterId)) AND d.updatedAt < :until " +
+           "ORDER BY d.updatedAt ASC, d.id ASC")
+    List<Department> findChangedSince(LocalDateTime since, Long afterId, LocalDateTime until, Pageable pageable);
 }
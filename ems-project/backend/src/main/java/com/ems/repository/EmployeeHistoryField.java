@@ -0,0 +1,78 @@
+package com.ems.repository;
+
+import com.ems.entity.Employee;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * An employee field whose history is kept in {@code employee_history}, stored as its one-byte {@link #code()}.
+ * Values are kept as text in the form MySQL gives the column when cast to {@code CHAR}.
+ */
+public enum EmployeeHistoryField {
+
+    DEPARTMENT(1, "department_id", e -> e.getDepartment() != null ? e.getDepartment().getId() : null),
+    DESIGNATION(2, "designation_id", e -> e.getDesignation() != null ? e.getDesignation().getId() : null),
+    REPORTING_MANAGER(3, "reporting_manager_id",
+            e -> e.getReportingManager() != null ? e.getReportingManager().getId() : null),
+    SALARY(4, "salary", e -> e.getSalary() != null ? e.getSalary().setScale(2, RoundingMode.HALF_UP) : null),
+    EMPLOYMENT_STATUS(5, "employment_status", Employee::getEmploymentStatus);
+
+    private final int code;
+    private final String column;
+    private final Function<Employee, Object> value;
+
+    EmployeeHistoryField(int code, String column, Function<Employee, Object> value) {
+        this.code = code;
+        this.column = column;
+        this.value = value;
+    }
+
+    public int code() {
+        return code;
+    }
+
+    /** Column of {@code employees} the field is read from. */
+    public String column() {
+        return column;
+    }
+
+    public static EmployeeHistoryField fromCode(int code) {
+        for (EmployeeHistoryField field : values()) {
+            if (field.code == code) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown employee history field: " + code);
+    }
+
+    /** The tracked values of an employee as text, null for unset ones. */
+    public static Map<EmployeeHistoryField, String> snapshot(Employee employee) {
+        Map<EmployeeHistoryField, String> snapshot = new EnumMap<>(EmployeeHistoryField.class);
+        for (EmployeeHistoryField field : values()) {
+            Object fieldValue = field.value.apply(employee);
+            snapshot.put(field, fieldValue == null ? null
+                    : fieldValue instanceof BigDecimal decimal ? decimal.toPlainString() : fieldValue.toString());
+        }
+        return snapshot;
+    }
+
+    /** The fields whose value differs between two snapshots. */
+    public static Set<EmployeeHistoryField> changed(Map<EmployeeHistoryField, String> before,
+                                                    Map<EmployeeHistoryField, String> after) {
+        Set<EmployeeHistoryField> changed = EnumSet.noneOf(EmployeeHistoryField.class);
+        for (EmployeeHistoryField field : values()) {
+            String old = before.get(field);
+            String now = after.get(field);
+            if (old == null ? now != null : !old.equals(now)) {
+                changed.add(field);
+            }
+        }
+        return changed;
+    }
+}
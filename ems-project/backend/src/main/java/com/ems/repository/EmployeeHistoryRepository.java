@@ -0,0 +1,60 @@
+package com.ems.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Validity intervals of tracked employee fields: one {@code employee_history} row per field value, open
+ * ({@code valid_to} null) while it is current. New values are copied from the {@code employees} row with
+ * {@code INSERT ... SELECT}, so callers flush their changes first. Callers provide the transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmployeeHistoryRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Ends the open intervals of the given fields at {@code at}.
+     */
+    public int close(Collection<Long> employeeIds, Collection<EmployeeHistoryField> fields, LocalDateTime at) {
+        return jdbc.update("UPDATE employee_history SET valid_to = :at "
+                        + "WHERE employee_id IN (:ids) AND field IN (:fields) AND valid_to IS NULL",
+                new MapSqlParameterSource("ids", employeeIds)
+                        .addValue("fields", fields.stream().map(EmployeeHistoryField::code).toList())
+                        .addValue("at", at));
+    }
+
+    /**
+     * Opens an interval from {@code at} with the field's current value in {@code employees}; nothing for a null value.
+     */
+    public int open(Collection<Long> employeeIds, EmployeeHistoryField field, LocalDateTime at) {
+        return jdbc.update("INSERT INTO employee_history (employee_id, field, value, valid_from) "
+                        + "SELECT id, :field, CAST(" + field.column() + " AS CHAR), :at FROM employees "
+                        + "WHERE id IN (:ids) AND " + field.column() + " IS NOT NULL",
+                new MapSqlParameterSource("ids", employeeIds).addValue("field", field.code()).addValue("at", at));
+    }
+
+    /**
+     * The values that were current at {@code at}, read from one range of the (employee_id, valid_from) index.
+     */
+    public Map<EmployeeHistoryField, String> findAsOf(Long employeeId, LocalDateTime at) {
+        Map<EmployeeHistoryField, String> values = new EnumMap<>(EmployeeHistoryField.class);
+        List<Map<String, Object>> rows = jdbc.queryForList("SELECT field, value FROM employee_history "
+                        + "WHERE employee_id = :id AND valid_from <= :at AND (valid_to IS NULL OR valid_to > :at)",
+                new MapSqlParameterSource("id", employeeId).addValue("at", at));
+        for (Map<String, Object> row : rows) {
+            EmployeeHistoryField field = EmployeeHistoryField.fromCode(((Number) row.get("field")).intValue());
+            values.put(field, (String) row.get("value"));
+        }
+        return values;
+    }
+}
@@ -1,22 +1,144 @@
 package com.ems.repository;
 
+import com.ems.entity.Department;
 import com.ems.entity.Employee;
 import com.ems.entity.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     Optional<Employee> findByUser(User user);
-    boolean existsByEmail(String email);
 
-    @Query("SELECT e FROM Employee e WHERE e.deletedAt IS NULL")
+    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.department LEFT JOIN FETCH e.designation " +
+           "LEFT JOIN FETCH e.reportingManager WHERE e.deletedAt IS NULL")
     List<Employee> findAllActive();
 
     @Query("SELECT e FROM Employee e WHERE e.id = :id AND e.deletedAt IS NULL")
     Optional<Employee> findActiveById(Long id);
 
-    @Query("SELECT e FROM Employee e WHERE e.department.id = :deptId AND e.deletedAt IS NULL")
+    /**
+     * Active employee by id within a department; a null {@code departmentId} means any department.
+     */
+    @Query("SELECT e FROM Employee e WHERE e.id = :id AND e.deletedAt IS NULL " +
+           "AND (:departmentId IS NULL OR e.department.id = :departmentId)")
+    Optional<Employee> findActiveByIdInDepartment(Long id, Long departmentId);
+
+    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.department LEFT JOIN FETCH e.designation " +
+           "LEFT JOIN FETCH e.reportingManager WHERE e.id IN :ids AND e.deletedAt IS NULL " +
+           "AND (:departmentId IS NULL OR e.department.id = :departmentId)")
+    List<Employee> findActiveByIdInDepartment(Collection<Long> ids, Long departmentId);
+
+    /** The caller's employee id and department id (null when unassigned); empty without an employee profile. */
+    @Query("SELECT e.id, d.id FROM Employee e LEFT JOIN e.department d WHERE e.user.username = :username")
+    List<Object[]> findIdAndDepartmentIdByUsername(String username);
+
+    /** The employee id of the user's profile; empty without one. */
+    @Query("SELECT e.id FROM Employee e WHERE e.user.username = :username")
+    Optional<Long> findIdByUsername(String username);
+
+    /** The user's own employee profile as a {@link ScopedEmployee}; empty without one. */
+    @Query("SELECT new com.ems.repository.ScopedEmployee(e.id, e.firstName, e.lastName, true) " +
+           "FROM Employee e WHERE e.user.username = :username")
+    Optional<ScopedEmployee> findScopedByUsername(String username);
+
+    /**
+     * The active employee with the id, and whether they share a department with the user's own employee profile;
+     * empty when there is no such employee. One primary key lookup plus an {@code EXISTS} on the user's profile.
+     */
+    @Query("SELECT new com.ems.repository.ScopedEmployee(e.id, e.firstName, e.lastName, CASE WHEN EXISTS (" +
+           "SELECT m.id FROM Employee m WHERE m.user.username = :username AND m.department = e.department) " +
+           "THEN true ELSE false END) FROM Employee e WHERE e.id = :employeeId AND e.deletedAt IS NULL")
+    Optional<ScopedEmployee> findScopedById(Long employeeId, String username);
+
+    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.department LEFT JOIN FETCH e.designation " +
+           "LEFT JOIN FETCH e.reportingManager WHERE e.department.id = :deptId AND e.deletedAt IS NULL")
     List<Employee> findByDepartmentId(Long deptId);
+
+    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.department LEFT JOIN FETCH e.designation " +
+           "LEFT JOIN FETCH e.reportingManager " +
+           "WHERE (e.updatedAt > :since OR (e.updatedAt = :since AND e.id > :afterId)) AND e.updatedAt < :until " +
+           "ORDER BY e.updatedAt ASC, e.id ASC")
+    List<Employee> findChangedSince(LocalDateTime since, Long afterId, LocalDateTime until, Pageable pageable);
+
+    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.department LEFT JOIN FETCH e.designation " +
+           "WHERE e.deletedAt IS NULL AND e.id > :afterId ORDER BY e.id ASC")
+    List<Employee> findActivePageAfter(Long afterId, Pageable pageable);
+
+    /**
+     * Scalar rows for the analytics snapshot: id, department id and name, designation id and title,
+     * employment status, date of joining, salary. No entities are loaded.
+     */
+    @Query("SELECT e.id, d.id, d.name, g.id, g.title, e.employmentStatus, e.dateOfJoining, e.salary " +
+           "FROM Employee e LEFT JOIN e.department d LEFT JOIN e.designation g " +
+           "WHERE e.deletedAt IS NULL AND e.id > :afterId ORDER BY e.id ASC")
+    List<Object[]> findAnalyticsRowsAfter(Long afterId, Pageable pageable);
+
+    /**
+     * Scalar rows for rebuilding headcount history, including soft-deleted employees: id, department id,
+     * date of joining, resignation date, notice period end date, employment status, deleted at.
+     */
+    @Query("SELECT e.id, d.id, e.dateOfJoining, e.resignationDate, e.noticePeriodEndDate, " +
+           "e.employmentStatus, e.deletedAt FROM Employee e LEFT JOIN e.department d " +
+           "WHERE e.id > :afterId ORDER BY e.id ASC")
+    List<Object[]> findHeadcountRowsAfter(Long afterId, Pageable pageable);
+
+    /**
+     * Headcount per department id (null for none) at the end of {@code day}, with the same rules as the
+     * reconstruction in HeadcountService: joined on or before the day, not yet past the last working day,
+     * not deleted before the next day.
+     */
+    @Query("SELECT d.id, COUNT(e) FROM Employee e LEFT JOIN e.department d " +
+           "WHERE e.dateOfJoining <= :day AND (e.deletedAt IS NULL OR e.deletedAt >= :nextDayStart) " +
+           "AND (e.noticePeriodEndDate IS NULL OR e.noticePeriodEndDate >= :day) " +
+           "AND (e.noticePeriodEndDate IS NOT NULL OR e.employmentStatus <> :resigned OR e.resignationDate >= :day) " +
+           "GROUP BY d.id")
+    List<Object[]> countHeadcountByDepartment(LocalDate day, LocalDateTime nextDayStart,
+                                              Employee.EmploymentStatus resigned);
+
+    /**
+     * Employees whose notice period ended before {@code today}: id, user id, notice period end date, username.
+     * Served by idx_emp_status_notice (employment_status, notice_period_end_date); rows stay locked until the
+     * caller's transaction ends so a concurrent edit cannot slip in between the read and the status update.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e.id, u.id, e.noticePeriodEndDate, u.username FROM Employee e LEFT JOIN e.user u " +
+           "WHERE e.employmentStatus = :status AND e.noticePeriodEndDate < :today AND e.deletedAt IS NULL " +
+           "ORDER BY e.noticePeriodEndDate ASC, e.id ASC")
+    List<Object[]> findNoticePeriodsEndedBefore(LocalDate today, Employee.EmploymentStatus status, Pageable pageable);
+
+    // bulk update skips @PreUpdate and @Version, so both are maintained here for the change feed and ETags
+    @Modifying
+    @Query("UPDATE Employee e SET e.employmentStatus = :to, e.updatedAt = :now, e.version = e.version + 1 " +
+           "WHERE e.id IN :ids AND e.employmentStatus = :from")
+    int updateStatus(Collection<Long> ids, Employee.EmploymentStatus from, Employee.EmploymentStatus to,
+                     LocalDateTime now);
+
+    /**
+     * The active employees of a department as scalar rows for a reorganisation: id, reporting manager id, salary,
+     * designation id, designation title. Rows stay locked until the caller's transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e.id, m.id, e.salary, d.id, d.title FROM Employee e " +
+           "LEFT JOIN e.reportingManager m LEFT JOIN e.designation d " +
+           "WHERE e.department.id = :departmentId AND e.deletedAt IS NULL ORDER BY e.id")
+    List<Object[]> findReorgRowsByDepartmentId(Long departmentId);
+
+    @Modifying
+    @Query("UPDATE Employee e SET e.department = :department, e.updatedAt = :now, e.version = e.version + 1 " +
+           "WHERE e.id IN :ids")
+    int moveToDepartment(Collection<Long> ids, Department department, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Employee e SET e.reportingManager = :manager, e.updatedAt = :now, e.version = e.version + 1 " +
+           "WHERE e.id IN :ids")
+    int updateReportingManager(Collection<Long> ids, Employee manager, LocalDateTime now);
 }
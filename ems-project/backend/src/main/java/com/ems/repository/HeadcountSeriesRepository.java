@@ -0,0 +1,15 @@
+package com.ems.repository;
+
+import com.ems.entity.HeadcountSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import java.util.List;
+
+public interface HeadcountSeriesRepository extends JpaRepository<HeadcountSeries, Long> {
+
+    @Query("SELECT h FROM HeadcountSeries h WHERE h.year BETWEEN :fromYear AND :toYear")
+    List<HeadcountSeries> findByYearRange(int fromYear, int toYear);
+
+    @Query("SELECT MAX(h.year) FROM HeadcountSeries h")
+    Integer findLatestYear();
+}
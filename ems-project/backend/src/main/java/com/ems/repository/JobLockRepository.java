@@ -0,0 +1,39 @@
+package com.ems.repository;
+
+import com.ems.entity.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    // lease times are taken from the database clock so nodes with skewed clocks agree on expiry
+    @Query(value = "SELECT LOCALTIMESTAMP(3)", nativeQuery = true)
+    Timestamp databaseTime();
+
+    // fails with a duplicate key if another node created the row first
+    @Modifying
+    @Query(value = "INSERT INTO job_locks (name, locked_by, locked_at, locked_until) VALUES (:name, '', :now, :now)",
+           nativeQuery = true)
+    void create(String name, LocalDateTime now);
+
+    // succeeds only when the lease has run out or is already held by this owner. locked_at is assigned before
+    // locked_by, so it reads the old owner under both MySQL's left-to-right and the standard all-at-once
+    // assignment order.
+    @Modifying
+    @Query(value = "UPDATE job_locks SET " +
+                   "locked_at = CASE WHEN locked_by = :owner THEN locked_at ELSE :now END, " +
+                   "locked_by = :owner, " +
+                   "locked_until = :until " +
+                   "WHERE name = :name AND (locked_until <= :now OR locked_by = :owner)",
+           nativeQuery = true)
+    int acquire(String name, String owner, LocalDateTime now, LocalDateTime until);
+
+    @Modifying
+    @Query(value = "UPDATE job_locks SET locked_until = CURRENT_TIMESTAMP(3) WHERE name = :name AND locked_by = :owner",
+           nativeQuery = true)
+    int release(String name, String owner);
+}
@@ -0,0 +1,22 @@
+package com.ems.repository;
+
+import com.ems.entity.JobRun;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+
+    @Query("SELECT r FROM JobRun r WHERE r.jobName = :jobName ORDER BY r.startedAt DESC")
+    List<JobRun> findRecent(String jobName, Pageable pageable);
+
+    @Query("SELECT MAX(r.finishedAt) FROM JobRun r WHERE r.jobName = :jobName AND r.status = :status")
+    LocalDateTime findLastFinishedAt(String jobName, JobRun.Status status);
+
+    @Modifying
+    @Query("DELETE FROM JobRun r WHERE r.startedAt < :cutoff")
+    int deleteStartedBefore(LocalDateTime cutoff);
+}
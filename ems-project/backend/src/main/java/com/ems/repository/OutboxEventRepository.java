@@ -0,0 +1,28 @@
+package com.ems.repository;
+
+import com.ems.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // SKIP LOCKED lets several nodes drain the outbox concurrently without handing out the same event twice
+    @Query(value = "SELECT * FROM outbox_events WHERE dispatched_at IS NULL AND attempts < :maxAttempts " +
+                   "AND (next_attempt_at IS NULL OR next_attempt_at <= :now) " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> claimPending(int maxAttempts, LocalDateTime now, int limit);
+
+    @Query("SELECT MIN(o.createdAt) FROM OutboxEvent o WHERE o.dispatchedAt IS NULL AND o.attempts < :maxAttempts")
+    LocalDateTime findOldestPendingCreatedAt(int maxAttempts);
+
+    // events that used up their attempts: never claimed again and not purged, kept for inspection
+    @Query("SELECT COUNT(o) FROM OutboxEvent o WHERE o.dispatchedAt IS NULL AND o.attempts >= :maxAttempts")
+    long countDeadLetters(int maxAttempts);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.dispatchedAt < :cutoff")
+    int deleteDispatchedBefore(LocalDateTime cutoff);
+}
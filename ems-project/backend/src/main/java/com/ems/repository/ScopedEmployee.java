@@ -0,0 +1,12 @@
+package com.ems.repository;
+
+/**
+ * An active employee's id and name, read as scalars so a writer can attach the employee by reference and still
+ * name them in its response, plus whether they share a department with the user the query was asked for.
+ */
+public record ScopedEmployee(Long id, String firstName, String lastName, boolean inDepartmentOfUser) {
+
+    public String fullName() {
+        return firstName + " " + lastName;
+    }
+}
@@ -3,13 +3,34 @@ package com.ems.repository;
 import com.ems.entity.Task;
 import com.ems.entity.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByAssignedToOrderByDeadlineAsc(Employee employee);
+    List<Task> findByAssignedTo_IdOrderByDeadlineAsc(Long employeeId);
     List<Task> findByAssignedByOrderByCreatedAtDesc(Employee manager);
     List<Task> findByAssignedTo_Department_IdOrderByDeadlineAsc(Long departmentId);
+
+    /** Tasks by id with both people; a non-null {@code employeeId} keeps only tasks assigned to or by them. */
+    @Query("SELECT t FROM Task t JOIN FETCH t.assignedTo JOIN FETCH t.assignedBy WHERE t.id IN :ids " +
+           "AND (:employeeId IS NULL OR t.assignedTo.id = :employeeId OR t.assignedBy.id = :employeeId)")
+    List<Task> findByIdInWithPeople(Collection<Long> ids, Long employeeId);
+
+    /** Tasks not yet completed that are assigned to any of the employees: task id, assigned-by employee id. */
+    @Query("SELECT t.id, t.assignedBy.id FROM Task t " +
+           "WHERE t.assignedTo.id IN :employeeIds AND t.status <> com.ems.entity.Task.TaskStatus.COMPLETED")
+    List<Object[]> findOpenTaskAssigners(Collection<Long> employeeIds);
+
+    // bulk update skips @PreUpdate and @Version, so both are maintained here
+    @Modifying
+    @Query("UPDATE Task t SET t.assignedBy = :assignedBy, t.updatedAt = :now, t.version = t.version + 1 " +
+           "WHERE t.id IN :ids")
+    int updateAssignedBy(Collection<Long> ids, Employee assignedBy, LocalDateTime now);
 }
@@ -2,16 +2,21 @@ package com.ems.repository;
 
 import com.ems.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
-    boolean existsByUsername(String username);
-    boolean existsByEmail(String email);
 
     @Query("SELECT u FROM User u WHERE u.deletedAt IS NULL")
     List<User> findAllActive();
+
+    @Modifying
+    @Query("UPDATE User u SET u.isActive = false, u.updatedAt = :now WHERE u.id IN :ids AND u.isActive = true")
+    int deactivateAll(Collection<Long> ids, LocalDateTime now);
 }
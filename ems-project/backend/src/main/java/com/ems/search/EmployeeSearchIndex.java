@@ -0,0 +1,249 @@
+package com.ems.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+/**
+ * In-memory inverted index over employees.
+ * <ul>
+ *   <li>a sorted term dictionary ({@code term -> employee ids}) answers exact and prefix lookups with one seek;</li>
+ *   <li>a deletion dictionary ({@code term with one character removed -> terms}) finds every term within one
+ *       edit of a query term without scanning the dictionary (the SymSpell trick).</li>
+ * </ul>
+ * Readers never lock. Writers must be serialised by the caller; {@link #put} may run in parallel for distinct ids.
+ */
+public class EmployeeSearchIndex {
+
+    private static final int EXACT_SCORE = 3;
+    private static final int PREFIX_SCORE = 2;
+    private static final int FUZZY_SCORE = 1;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MAX_PREFIX_TERMS = 512;
+    private static final int MAX_QUERY_TERMS = 6;
+
+    // worst hit first, so a bounded min-heap can evict it; reversed for the final best-first order
+    private static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::score)
+            .thenComparing(h -> h.employee().lastName(), Comparator.nullsLast(Comparator.<String>reverseOrder()))
+            .thenComparing(h -> h.employee().id(), Comparator.<Long>reverseOrder());
+
+    private final ConcurrentHashMap<Long, IndexedEmployee> documents = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, Set<String>> deletions = new ConcurrentHashMap<>();
+
+    public record Hit(IndexedEmployee employee, int score) {
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public IndexedEmployee get(Long id) {
+        return documents.get(id);
+    }
+
+    public Collection<IndexedEmployee> documents() {
+        return documents.values();
+    }
+
+    /**
+     * Indexes or re-indexes an employee and returns the version it replaced, if any.
+     */
+    public IndexedEmployee put(IndexedEmployee employee) {
+        IndexedEmployee previous = documents.put(employee.id(), employee);
+        if (previous != null) {
+            for (String term : previous.terms()) {
+                if (!employee.terms().contains(term)) {
+                    unpost(term, previous.id());
+                }
+            }
+        }
+        for (String term : employee.terms()) {
+            Set<Long> ids = postings.computeIfAbsent(term, t -> {
+                for (String variant : deletionVariants(t)) {
+                    deletions.computeIfAbsent(variant, v -> ConcurrentHashMap.newKeySet()).add(t);
+                }
+                return ConcurrentHashMap.newKeySet();
+            });
+            ids.add(employee.id());
+        }
+        return previous;
+    }
+
+    public IndexedEmployee remove(Long id) {
+        IndexedEmployee previous = documents.remove(id);
+        if (previous != null) {
+            for (String term : previous.terms()) {
+                unpost(term, id);
+            }
+        }
+        return previous;
+    }
+
+    public void clear() {
+        documents.clear();
+        postings.clear();
+        deletions.clear();
+    }
+
+    /**
+     * Every query term must match (exactly, as a prefix, or within one edit); the score is the sum of the best
+     * match kind per term. Returns at most {@code limit} hits, best first.
+     */
+    public List<Hit> search(String query, int limit, Predicate<IndexedEmployee> filter) {
+        List<String> terms = TextAnalyzer.queryTerms(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        if (terms.size() > MAX_QUERY_TERMS) {
+            terms = terms.subList(0, MAX_QUERY_TERMS);
+        }
+
+        Map<Long, Integer> scores = null;
+        for (String term : terms) {
+            Map<Long, Integer> termScores = match(term);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                Map<Long, Integer> merged = new HashMap<>();
+                Map<Long, Integer> smaller = scores.size() <= termScores.size() ? scores : termScores;
+                Map<Long, Integer> larger = smaller == scores ? termScores : scores;
+                smaller.forEach((id, score) -> {
+                    Integer other = larger.get(id);
+                    if (other != null) {
+                        merged.put(id, score + other);
+                    }
+                });
+                scores = merged;
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, RANKING);
+        for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+            IndexedEmployee employee = documents.get(entry.getKey());
+            if (employee == null || !filter.test(employee)) {
+                continue;
+            }
+            top.add(new Hit(employee, entry.getValue()));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(RANKING.reversed());
+        return hits;
+    }
+
+    private Map<Long, Integer> match(String term) {
+        Map<Long, Integer> result = new HashMap<>();
+        if (term.length() >= MIN_FUZZY_LENGTH) {
+            for (String candidate : fuzzyCandidates(term)) {
+                addAll(result, postings.get(candidate), FUZZY_SCORE);
+            }
+        }
+        if (term.length() >= MIN_PREFIX_LENGTH) {
+            NavigableMap<String, Set<Long>> range = postings.subMap(term, false, term + Character.MAX_VALUE, false);
+            int expanded = 0;
+            for (Set<Long> ids : range.values()) {
+                addAll(result, ids, PREFIX_SCORE);
+                if (++expanded >= MAX_PREFIX_TERMS) {
+                    break;
+                }
+            }
+        }
+        addAll(result, postings.get(term), EXACT_SCORE);
+        return result;
+    }
+
+    private List<String> fuzzyCandidates(String term) {
+        List<String> candidates = new ArrayList<>();
+        collectWithinOneEdit(term, deletions.get(term), candidates);
+        for (String variant : deletionVariants(term)) {
+            if (postings.containsKey(variant)) {
+                candidates.add(variant);
+            }
+            collectWithinOneEdit(term, deletions.get(variant), candidates);
+        }
+        return candidates;
+    }
+
+    private static void collectWithinOneEdit(String term, Set<String> terms, List<String> out) {
+        if (terms == null) {
+            return;
+        }
+        for (String candidate : terms) {
+            if (!candidate.equals(term) && withinOneEdit(term, candidate)) {
+                out.add(candidate);
+            }
+        }
+    }
+
+    private static void addAll(Map<Long, Integer> result, Set<Long> ids, int score) {
+        if (ids == null) {
+            return;
+        }
+        for (Long id : ids) {
+            result.merge(id, score, Math::max);
+        }
+    }
+
+    private void unpost(String term, Long id) {
+        postings.computeIfPresent(term, (t, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static List<String> deletionVariants(String term) {
+        List<String> variants = new ArrayList<>(term.length());
+        // typo tolerance is for names; numbers (phone digits and their suffixes) only match exactly or by prefix
+        if (term.length() < MIN_FUZZY_LENGTH || TextAnalyzer.isNumeric(term)) {
+            return variants;
+        }
+        for (int i = 0; i < term.length(); i++) {
+            variants.add(term.substring(0, i) + term.substring(i + 1));
+        }
+        return variants;
+    }
+
+    /**
+     * Optimal string alignment distance &le; 1: one insertion, deletion, substitution or adjacent transposition.
+     */
+    static boolean withinOneEdit(String a, String b) {
+        int la = a.length();
+        int lb = b.length();
+        if (Math.abs(la - lb) > 1) {
+            return false;
+        }
+        int i = 0;
+        while (i < la && i < lb && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (i == la || i == lb) {
+            return true;
+        }
+        if (la == lb) {
+            if (a.regionMatches(i + 1, b, i + 1, la - i - 1)) {
+                return true;
+            }
+            return i + 1 < la && a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i)
+                    && a.regionMatches(i + 2, b, i + 2, la - i - 2);
+        }
+        return la > lb
+                ? a.regionMatches(i + 1, b, i, lb - i)
+                : b.regionMatches(i + 1, a, i, la - i);
+    }
+}
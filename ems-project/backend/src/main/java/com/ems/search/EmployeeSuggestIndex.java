@@ -0,0 +1,122 @@
+package com.ems.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Sorted prefix index for typeahead. Each employee is filed under its display name in both orders
+ * ("ana lopez", "lopez ana") and its email; a lookup is one seek to the prefix followed by an in-order walk
+ * that stops after {@code limit} distinct employees, so its cost does not grow with the number of matches.
+ * <p>
+ * Besides the global index there is one per department, so a manager's lookup never walks other departments'
+ * entries. Keys carry the employee id after a {@code \0} separator so equal names do not collide.
+ * Readers never lock; writers must be serialised by the caller, except that {@link #put} may run in parallel
+ * for distinct ids.
+ */
+public class EmployeeSuggestIndex {
+
+    private static final char ID_SEPARATOR = '\0';
+
+    private final ConcurrentSkipListMap<String, Long> all = new ConcurrentSkipListMap<>();
+    private final Map<Long, ConcurrentSkipListMap<String, Long>> byDepartment = new ConcurrentHashMap<>();
+
+    public void put(IndexedEmployee previous, IndexedEmployee current) {
+        List<String> keys = keysOf(current);
+        ConcurrentSkipListMap<String, Long> department = current.departmentId() == null ? null
+                : byDepartment.computeIfAbsent(current.departmentId(), id -> new ConcurrentSkipListMap<>());
+        for (String key : keys) {
+            all.put(key, current.id());
+            if (department != null) {
+                department.put(key, current.id());
+            }
+        }
+        if (previous != null) {
+            // drop only what no longer applies, so an unchanged employee never drops out of results mid-update
+            boolean movedDepartment = !Objects.equals(previous.departmentId(), current.departmentId());
+            ConcurrentSkipListMap<String, Long> oldDepartment = previous.departmentId() == null ? null
+                    : byDepartment.get(previous.departmentId());
+            for (String key : keysOf(previous)) {
+                boolean stale = !keys.contains(key);
+                if (stale) {
+                    all.remove(key);
+                }
+                if (oldDepartment != null && (stale || movedDepartment)) {
+                    oldDepartment.remove(key);
+                }
+            }
+        }
+    }
+
+    public void remove(IndexedEmployee employee) {
+        List<String> keys = keysOf(employee);
+        ConcurrentSkipListMap<String, Long> department = employee.departmentId() == null ? null
+                : byDepartment.get(employee.departmentId());
+        for (String key : keys) {
+            all.remove(key);
+            if (department != null) {
+                department.remove(key);
+            }
+        }
+    }
+
+    public void clear() {
+        all.clear();
+        byDepartment.clear();
+    }
+
+    /**
+     * Ids of up to {@code limit} employees with a name or email starting with {@code prefix}, in key order.
+     * A non-null {@code departmentId} restricts the walk to that department.
+     */
+    public List<Long> suggest(String prefix, int limit, Long departmentId) {
+        String key = TextAnalyzer.prefixKey(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        ConcurrentSkipListMap<String, Long> source = departmentId == null ? all : byDepartment.get(departmentId);
+        if (source == null) {
+            return List.of();
+        }
+        ConcurrentNavigableMap<String, Long> range = source.subMap(key, true, key + Character.MAX_VALUE, false);
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Long id : range.values()) {
+            ids.add(id);
+            if (ids.size() >= limit) {
+                break;
+            }
+        }
+        return new ArrayList<>(ids);
+    }
+
+    private static List<String> keysOf(IndexedEmployee e) {
+        List<String> keys = new ArrayList<>(3);
+        addKey(keys, join(e.firstName(), e.lastName()), e.id());
+        addKey(keys, join(e.lastName(), e.firstName()), e.id());
+        addKey(keys, e.email(), e.id());
+        return keys;
+    }
+
+    private static void addKey(List<String> keys, String text, Long id) {
+        if (text == null) {
+            return;
+        }
+        String key = String.join(" ", TextAnalyzer.tokenize(text));
+        if (!key.isEmpty()) {
+            String entry = key + ID_SEPARATOR + id;
+            if (!keys.contains(entry)) {
+                keys.add(entry);
+            }
+        }
+    }
+
+    private static String join(String first, String second) {
+        return (first == null ? "" : first) + " " + (second == null ? "" : second);
+    }
+}
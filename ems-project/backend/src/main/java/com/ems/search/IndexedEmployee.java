@@ -0,0 +1,42 @@
+package com.ems.search;
+
+import com.ems.entity.Employee;
+
+import java.util.Set;
+
+/**
+ * The searchable projection of an employee, plus the terms it was indexed under so it can be removed again.
+ * {@code userId} links it to its login so a manager's department can be resolved without a query.
+ */
+public record IndexedEmployee(Long id, Long userId, String firstName, String lastName, String email, String phone,
+                              Long departmentId, String departmentName, Long designationId, String designationTitle,
+                              Set<String> terms) {
+
+    public static IndexedEmployee of(Employee e, String departmentName) {
+        Long designationId = e.getDesignation() != null ? e.getDesignation().getId() : null;
+        String designationTitle = e.getDesignation() != null ? e.getDesignation().getTitle() : null;
+        Long departmentId = e.getDepartment() != null ? e.getDepartment().getId() : null;
+        // reading the id of the lazy user proxy does not load it
+        Long userId = e.getUser() != null ? e.getUser().getId() : null;
+        return create(e.getId(), userId, e.getFirstName(), e.getLastName(), e.getEmail(), e.getPhone(),
+                departmentId, departmentName, designationId, designationTitle);
+    }
+
+    public IndexedEmployee withDepartmentName(String name) {
+        return create(id, userId, firstName, lastName, email, phone, departmentId, name, designationId,
+                designationTitle);
+    }
+
+    public IndexedEmployee withDesignationTitle(String title) {
+        return create(id, userId, firstName, lastName, email, phone, departmentId, departmentName, designationId,
+                title);
+    }
+
+    private static IndexedEmployee create(Long id, Long userId, String firstName, String lastName, String email,
+                                          String phone, Long departmentId, String departmentName, Long designationId,
+                                          String designationTitle) {
+        Set<String> terms = TextAnalyzer.indexTerms(firstName, lastName, email, phone, departmentName, designationTitle);
+        return new IndexedEmployee(id, userId, firstName, lastName, email, phone, departmentId, departmentName,
+                designationId, designationTitle, terms);
+    }
+}
@@ -0,0 +1,104 @@
+package com.ems.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Turns field values and queries into index terms: accent-folded, lower-cased, split on anything that is not
+ * a letter or digit. Phone numbers are indexed as their bare digits, plus every trailing run of at least
+ * {@value #MIN_PHONE_SUFFIX} digits so a number typed without its country or area code still matches.
+ */
+public final class TextAnalyzer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D+");
+    private static final int MIN_PHONE_SUFFIX = 7;
+    private static final Pattern PHONE_LIKE = Pattern.compile("\\+?[\\d\\s().-]{4,}");
+
+    private TextAnalyzer() {
+    }
+
+    public static Set<String> indexTerms(String firstName, String lastName, String email, String phone,
+                                         String departmentName, String designationTitle) {
+        Set<String> terms = new HashSet<>();
+        terms.addAll(tokenize(firstName));
+        terms.addAll(tokenize(lastName));
+        terms.addAll(tokenize(departmentName));
+        terms.addAll(tokenize(designationTitle));
+        terms.addAll(tokenize(email));
+        String digits = digitsOnly(phone);
+        if (digits != null) {
+            terms.add(digits);
+            for (int start = 1; digits.length() - start >= MIN_PHONE_SUFFIX; start++) {
+                terms.add(digits.substring(start));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Query terms. A query that looks like a phone number ("+91 90000-00001") becomes its bare digits.
+     */
+    public static List<String> queryTerms(String query) {
+        if (query != null && PHONE_LIKE.matcher(query.trim()).matches()) {
+            String digits = digitsOnly(query);
+            if (digits != null) {
+                return List.of(digits);
+            }
+        }
+        return tokenize(query);
+    }
+
+    static boolean isNumeric(String term) {
+        for (int i = 0; i < term.length(); i++) {
+            if (!Character.isDigit(term.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String digitsOnly(String text) {
+        if (text == null) {
+            return null;
+        }
+        String digits = NON_DIGITS.matcher(text).replaceAll("");
+        return digits.isEmpty() ? null : digits;
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : SEPARATORS.split(normalize(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * A whole field folded for prefix matching: the tokens joined by single spaces, so "Ana-María  López" and
+     * "ana maria l" line up. A trailing separator is kept so "ana " only matches a finished first word.
+     */
+    public static String prefixKey(String text) {
+        String key = String.join(" ", tokenize(text));
+        if (!key.isEmpty() && SEPARATORS.matcher(text.substring(text.length() - 1)).matches()) {
+            key += " ";
+        }
+        return key;
+    }
+
+    static String normalize(String text) {
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return folded.toLowerCase(Locale.ROOT);
+    }
+}
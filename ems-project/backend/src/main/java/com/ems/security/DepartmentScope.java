@@ -0,0 +1,83 @@
+package com.ems.security;
+
+import com.ems.exception.BadRequestException;
+import com.ems.exception.ResourceNotFoundException;
+import com.ems.repository.EmployeeRepository;
+import com.ems.repository.ScopedEmployee;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Row scoping for the current caller, read from the security context. Admins see every department; managers
+ * and everyone else only their own. Read queries take {@link #departmentFilter()} as a query predicate, and
+ * permission checks on another employee run as a single query with an {@code EXISTS} through {@link #canManage(Long)}
+ * or {@link #requireManageable(Long, String)}.
+ */
+@Component
+@RequiredArgsConstructor
+public class DepartmentScope {
+
+    /** Filter value for a caller without a department; identity ids start at 1, so it matches no row. */
+    public static final Long NO_DEPARTMENT = 0L;
+
+    private final EmployeeRepository employeeRepository;
+
+    public boolean isUnrestricted() {
+        UserPrincipal caller = UserPrincipal.current();
+        return caller != null && caller.isAdmin();
+    }
+
+    /**
+     * The department the caller's queries are restricted to: null for admins, {@link #NO_DEPARTMENT} for a
+     * caller whose employee profile has no department.
+     */
+    public Long departmentFilter() {
+        if (isUnrestricted()) {
+            return null;
+        }
+        String username = currentUsername();
+        List<Object[]> rows = employeeRepository.findIdAndDepartmentIdByUsername(username);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Employee profile not found for manager: " + username);
+        }
+        Long departmentId = (Long) rows.get(0)[1];
+        return departmentId != null ? departmentId : NO_DEPARTMENT;
+    }
+
+    /**
+     * Whether the caller may act on the given active employee: always for admins, otherwise only when both
+     * share a department. One indexed query; no entity is loaded.
+     */
+    public boolean canManage(Long employeeId) {
+        return isUnrestricted() || employeeRepository.findScopedById(employeeId, currentUsername())
+                .map(ScopedEmployee::inDepartmentOfUser)
+                .orElse(false);
+    }
+
+    /**
+     * Fails unless the caller may act on the given active employee: {@link ResourceNotFoundException} when there is
+     * no such employee, {@link BadRequestException} with {@code denial} when a non-admin caller is in another
+     * department. One indexed query answers both and also returns the employee's name, so callers can attach the
+     * employee by reference without loading it.
+     */
+    public ScopedEmployee requireManageable(Long employeeId, String denial) {
+        ScopedEmployee employee = employeeRepository.findScopedById(employeeId, currentUsername())
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + employeeId));
+        if (!employee.inDepartmentOfUser() && !isUnrestricted()) {
+            throw new BadRequestException(denial);
+        }
+        return employee;
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new IllegalStateException("No authenticated caller");
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,73 @@
+package com.ems.security;
+
+import org.springframework.security.access.expression.SecurityExpressionRoot;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.core.Authentication;
+
+import java.util.function.Supplier;
+
+/**
+ * {@code @PreAuthorize} root adding {@code isAdmin()} and {@code isAdminOrManager()}, answered from the
+ * {@link UserPrincipal}'s role mask. The standard expressions ({@code hasAuthority(...)} and friends) remain
+ * available for anything else.
+ */
+public class PrincipalSecurityExpressionRoot extends SecurityExpressionRoot implements MethodSecurityExpressionOperations {
+
+    private Object filterObject;
+    private Object returnObject;
+    private Object target;
+
+    public PrincipalSecurityExpressionRoot(Supplier<Authentication> authentication) {
+        super(authentication);
+    }
+
+    public boolean isAdmin() {
+        return has(SystemRole.ADMIN);
+    }
+
+    public boolean isAdminOrManager() {
+        UserPrincipal principal = principal();
+        return principal != null
+                ? principal.hasAny(SystemRole.ADMIN, SystemRole.MANAGER)
+                : hasAnyAuthority(SystemRole.ADMIN.authority(), SystemRole.MANAGER.authority());
+    }
+
+    private boolean has(SystemRole role) {
+        UserPrincipal principal = principal();
+        // another kind of principal (none is configured today) falls back to the authority lookup
+        return principal != null ? principal.has(role) : hasAuthority(role.authority());
+    }
+
+    private UserPrincipal principal() {
+        return getPrincipal() instanceof UserPrincipal principal ? principal : null;
+    }
+
+    @Override
+    public void setFilterObject(Object filterObject) {
+        this.filterObject = filterObject;
+    }
+
+    @Override
+    public Object getFilterObject() {
+        return filterObject;
+    }
+
+    @Override
+    public void setReturnObject(Object returnObject) {
+        this.returnObject = returnObject;
+    }
+
+    @Override
+    public Object getReturnObject() {
+        return returnObject;
+    }
+
+    void setThis(Object target) {
+        this.target = target;
+    }
+
+    @Override
+    public Object getThis() {
+        return target;
+    }
+}
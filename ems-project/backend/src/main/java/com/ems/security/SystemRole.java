@@ -0,0 +1,44 @@
+package com.ems.security;
+
+/**
+ * The roles the application itself checks, each with one bit in {@link UserPrincipal}'s role mask. Roles created
+ * at runtime through the roles API carry no bit; they still appear among the principal's authorities.
+ */
+public enum SystemRole {
+    ADMIN("ROLE_ADMIN"),
+    MANAGER("ROLE_MANAGER"),
+    EMPLOYEE("ROLE_EMPLOYEE");
+
+    private static final SystemRole[] VALUES = values();
+
+    private final String authority;
+    private final int bit;
+
+    SystemRole(String authority) {
+        this.authority = authority;
+        this.bit = 1 << ordinal();
+    }
+
+    public String authority() {
+        return authority;
+    }
+
+    int bit() {
+        return bit;
+    }
+
+    /**
+     * The mask bits for a set of authority names; unknown names contribute none.
+     */
+    static int maskOf(Iterable<String> authorities) {
+        int mask = 0;
+        for (String authority : authorities) {
+            for (SystemRole role : VALUES) {
+                if (role.authority.equals(authority)) {
+                    mask |= role.bit;
+                }
+            }
+        }
+        return mask;
+    }
+}
@@ -1,38 +1,78 @@
 package com.ems.security;
 
+import com.ems.cache.CacheNames;
+import com.ems.cache.CacheRegistry;
+import com.ems.cache.LocalCache;
+import com.ems.entity.Role;
 import com.ems.entity.User;
-import com.ems.exception.ResourceNotFoundException;
 import com.ems.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.stream.Collectors;
+import java.time.Duration;
+import java.util.List;
 
+/**
+ * Loads users for authentication. Every authenticated request goes through here, so the account state is cached
+ * per username in the {@code users} cache; writers that change roles, passwords or lock state invalidate it
+ * through {@link com.ems.cache.CacheInvalidator}.
+ * <p>
+ * Misses are loaded on the primary: an entry evicted after a lock, password change or deactivation must not be
+ * refilled from a lagging replica and then kept for the whole TTL. Most misses happen in the JWT filter before any
+ * authentication is set, where read-your-writes pinning could not help anyway.
+ */
 @Service
-@RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
 
+    // an immutable snapshot: the UserDetails handed to Spring Security has its password erased after login,
+    // so a fresh one is built per call; the authority lists and role mask are computed here once and shared
+    private record CachedUser(String username, String password, List<String> authorityNames,
+                              List<GrantedAuthority> authorities, int roleMask, boolean locked, boolean enabled) {
+    }
+
     private final UserRepository userRepository;
+    private final LocalCache<CachedUser> cache;
+    private final TransactionTemplate primaryRead;
+
+    public UserDetailsServiceImpl(UserRepository userRepository,
+                                  CacheRegistry cacheRegistry,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${ems.cache.users.max-size:10000}") int maxSize,
+                                  @Value("${ems.cache.users.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = cacheRegistry.create(CacheNames.USERS, maxSize, Duration.ofSeconds(ttlSeconds));
+        // deliberately not read-only, so ReplicaRoutingDataSource keeps it on the primary
+        this.primaryRead = new TransactionTemplate(transactionManager);
+    }
 
     @Override
-    @Transactional(readOnly = true)
-    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
-
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
-                .authorities(user.getRoles().stream()
-                        .map(role -> new SimpleGrantedAuthority(role.getName()))
-                        .collect(Collectors.toList()))
-                .accountLocked(Boolean.TRUE.equals(user.getAccountLocked()))
-                .disabled(!Boolean.TRUE.equals(user.getIsActive()))
-                .build();
+    public UserPrincipal loadUserByUsername(String username) throws UsernameNotFoundException {
+        CachedUser user = cache.get(username, name -> primaryRead.execute(status -> load(name)));
+        if (user == null) {
+            throw new UsernameNotFoundException("User not found: " + username);
+        }
+        return new UserPrincipal(user.username(), user.password(), user.authorityNames(), user.authorities(),
+                user.roleMask(), user.locked(), user.enabled());
+    }
+
+    private CachedUser load(String username) {
+        User user = userRepository.findByUsername(username).orElse(null);
+        if (user == null) {
+            return null;
+        }
+        List<String> authorityNames = user.getRoles().stream().map(Role::getName).sorted().toList();
+        List<GrantedAuthority> authorities = authorityNames.stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        return new CachedUser(user.getUsername(), user.getPassword(), authorityNames, authorities,
+                SystemRole.maskOf(authorityNames),
+                Boolean.TRUE.equals(user.getAccountLocked()),
+                Boolean.TRUE.equals(user.getIsActive()));
     }
 }
@@ -0,0 +1,122 @@
+package com.ems.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The authenticated user. Besides the usual {@link UserDetails} it carries the caller's {@link SystemRole}s as a
+ * bitmask computed once when the account is loaded, so a role check is a single {@code &} instead of a stream
+ * over the authorities with string comparisons.
+ */
+public final class UserPrincipal implements UserDetails, CredentialsContainer {
+
+    private final String username;
+    private String password;
+    private final List<GrantedAuthority> authorities;
+    private final List<String> authorityNames;
+    private final int roleMask;
+    private final boolean locked;
+    private final boolean enabled;
+
+    /**
+     * @param authorityNames sorted; the list is shared, not copied, and must not be modified afterwards
+     * @param authorities    the same names as granted authorities, equally shared
+     */
+    UserPrincipal(String username, String password, List<String> authorityNames, List<GrantedAuthority> authorities,
+                  int roleMask, boolean locked, boolean enabled) {
+        this.username = username;
+        this.password = password;
+        this.authorityNames = authorityNames;
+        this.authorities = authorities;
+        this.roleMask = roleMask;
+        this.locked = locked;
+        this.enabled = enabled;
+    }
+
+    /**
+     * The principal of the current request, or null when the caller is anonymous.
+     */
+    public static UserPrincipal current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                ? principal : null;
+    }
+
+    public boolean has(SystemRole role) {
+        return (roleMask & role.bit()) != 0;
+    }
+
+    public boolean hasAny(SystemRole first, SystemRole second) {
+        return (roleMask & (first.bit() | second.bit())) != 0;
+    }
+
+    public boolean isAdmin() {
+        return has(SystemRole.ADMIN);
+    }
+
+    /** Authority names in sorted order. */
+    public List<String> getAuthorityNames() {
+        return authorityNames;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return !locked;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof UserPrincipal that && username.equals(that.username);
+    }
+
+    @Override
+    public int hashCode() {
+        return username.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "UserPrincipal[" + username + ", " + authorityNames + "]";
+    }
+}
@@ -0,0 +1,185 @@
+package com.ems.service;
+
+import com.ems.analytics.SalaryPoint;
+import com.ems.cache.CacheInvalidator;
+import com.ems.cache.CacheNames;
+import com.ems.entity.AuditLog;
+import com.ems.event.DomainEventPublisher;
+import com.ems.event.DomainEventType;
+import com.ems.exception.BadRequestException;
+import com.ems.exception.ResourceNotFoundException;
+import com.ems.job.ClusterJobRunner;
+import com.ems.job.JobContext;
+import com.ems.repository.ArchiveRepository;
+import com.ems.repository.ArchivedTable;
+import com.ems.repository.AuditLogRepository;
+import com.ems.repository.EmployeeRepository;
+import com.ems.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves rows soft-deleted more than {@code ems.archive.retention-days} ago from employees, departments,
+ * designations and users to their {@code _archive} tables, so the live tables and their indexes only hold rows
+ * the application still reads. A row that a live row still points at, e.g. an employee with tasks or a department
+ * with soft-deleted employees, stays where it is until that reference is gone.
+ * <p>
+ * Batches of {@code ems.archive.batch-size}, one transaction and one audit write per batch and table, on one node
+ * at a time through {@link ClusterJobRunner}; batches stop as soon as the lease is lost. Archived rows can be moved
+ * back with {@link #restore}.
+ */
+@Slf4j
+@Service
+public class ArchiveService {
+
+    static final String JOB_NAME = "soft-delete-archive";
+    private static final String SYSTEM_USER = "system";
+
+    private final ArchiveRepository archiveRepository;
+    private final EmployeeRepository employeeRepository;
+    private final UserRepository userRepository;
+    private final AuditLogRepository auditLogRepository;
+    private final DomainEventPublisher eventPublisher;
+    private final SalaryStatisticsService salaryStatisticsService;
+    private final EmployeeHistoryService employeeHistoryService;
+    private final ClusterJobRunner clusterJobRunner;
+    private final CacheInvalidator cacheInvalidator;
+    private final TransactionTemplate batchTransaction;
+
+    @Value("${ems.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ems.archive.retention-days:90}")
+    private int retentionDays;
+
+    @Value("${ems.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${ems.archive.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    @Value("${ems.archive.lease-seconds:120}")
+    private long leaseSeconds;
+
+    public ArchiveService(ArchiveRepository archiveRepository,
+                          EmployeeRepository employeeRepository,
+                          UserRepository userRepository,
+                          AuditLogRepository auditLogRepository,
+                          DomainEventPublisher eventPublisher,
+                          SalaryStatisticsService salaryStatisticsService,
+                          EmployeeHistoryService employeeHistoryService,
+                          ClusterJobRunner clusterJobRunner,
+                          CacheInvalidator cacheInvalidator,
+                          PlatformTransactionManager transactionManager) {
+        this.archiveRepository = archiveRepository;
+        this.employeeRepository = employeeRepository;
+        this.userRepository = userRepository;
+        this.auditLogRepository = auditLogRepository;
+        this.eventPublisher = eventPublisher;
+        this.salaryStatisticsService = salaryStatisticsService;
+        this.employeeHistoryService = employeeHistoryService;
+        this.clusterJobRunner = clusterJobRunner;
+        this.cacheInvalidator = cacheInvalidator;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${ems.archive.cron:0 30 2 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            clusterJobRunner.run(JOB_NAME, Duration.ofSeconds(leaseSeconds), this::archiveExpired);
+        }
+    }
+
+    /**
+     * Archives table by table until nothing is due, the per-run batch cap is reached or the lease is lost.
+     * Returns the number of rows archived.
+     */
+    int archiveExpired(JobContext context) {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int total = 0;
+        int batches = 0;
+        for (ArchivedTable archived : ArchivedTable.values()) {
+            while (batches < maxBatchesPerRun && !context.isLeaseLost()) {
+                batches++;
+                Integer moved = batchTransaction.execute(status -> archiveBatch(archived, cutoff));
+                total += moved != null ? moved : 0;
+                if (moved == null || moved < batchSize) {
+                    break;
+                }
+            }
+        }
+        return total;
+    }
+
+    private int archiveBatch(ArchivedTable archived, LocalDateTime cutoff) {
+        List<Long> ids = archiveRepository.lockArchivable(archived, cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int moved = archiveRepository.archive(archived, ids, LocalDateTime.now());
+        auditLogRepository.save(AuditLog.builder()
+                .action("ARCHIVE")
+                .entityType(archived.entityType())
+                .performedBy(SYSTEM_USER)
+                .details("Moved " + moved + " rows deleted before " + cutoff.toLocalDate() + " to "
+                        + archived.archiveTable() + ": " + ids)
+                .build());
+        log.info("Archived {} rows of {}", moved, archived.table());
+        return moved;
+    }
+
+    /**
+     * Moves an archived row back to its live table as an active row. Everything it points at must be live again
+     * first; a row that now clashes with a live row on a unique column fails with a conflict.
+     */
+    @Transactional
+    public void restore(String table, Long id, String performedBy) {
+        ArchivedTable archived = ArchivedTable.fromPath(table);
+        if (archived == null) {
+            throw new BadRequestException("Unknown archive: " + table);
+        }
+        if (!archiveRepository.isArchived(archived, id)) {
+            throw new ResourceNotFoundException("No archived row in " + archived.table() + " with id: " + id);
+        }
+        List<String> missing = archiveRepository.missingReferences(archived, id);
+        if (!missing.isEmpty()) {
+            throw new BadRequestException("Restore " + String.join(", ", missing) + " first");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        archiveRepository.restore(archived, id, now);
+
+        switch (archived) {
+            case EMPLOYEES -> {
+                employeeHistoryService.recordAll(List.of(id), now);
+                employeeRepository.findActiveById(id)
+                        .ifPresent(employee -> salaryStatisticsService.recordChange(
+                                employee.getId(), null, SalaryPoint.of(employee)));
+            }
+            case USERS -> userRepository.findById(id)
+                    .ifPresent(user -> cacheInvalidator.invalidate(CacheNames.USERS, user.getUsername()));
+            default -> {
+            }
+        }
+        eventPublisher.publish(restoredEvent(archived), id, performedBy,
+                "Restored from " + archived.archiveTable());
+        log.info("{} {} restored from the archive by {}", archived.entityType(), id, performedBy);
+    }
+
+    private static DomainEventType restoredEvent(ArchivedTable archived) {
+        return switch (archived) {
+            case EMPLOYEES -> DomainEventType.EMPLOYEE_RESTORED;
+            case DEPARTMENTS -> DomainEventType.DEPARTMENT_RESTORED;
+            case DESIGNATIONS -> DomainEventType.DESIGNATION_RESTORED;
+            case USERS -> DomainEventType.USER_RESTORED;
+        };
+    }
+}
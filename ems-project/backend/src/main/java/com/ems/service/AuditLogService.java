@@ -1,40 +1,77 @@
 package com.ems.service;
 
+import com.ems.audit.AuditField;
+import com.ems.audit.FieldChanges;
+import com.ems.dto.response.AuditFieldChange;
 import com.ems.dto.response.AuditLogResponse;
 import com.ems.entity.AuditLog;
+import com.ems.exception.BadRequestException;
 import com.ems.repository.AuditLogRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class AuditLogService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final AuditLogRepository auditLogRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional
+    public void record(String action, String entityType, Long entityId, String performedBy, String details) {
+        record(action, entityType, entityId, performedBy, details, null);
+    }
 
-    @Async
-    public void log(String action, String entityType, Long entityId, String performedBy, String details) {
-        AuditLog log = AuditLog.builder()
+    @Transactional
+    public void record(String action, String entityType, Long entityId, String performedBy, String details,
+                       FieldChanges changes) {
+        boolean hasChanges = changes != null && !changes.isEmpty();
+        auditLogRepository.save(AuditLog.builder()
                 .action(action)
                 .entityType(entityType)
                 .entityId(entityId)
                 .performedBy(performedBy)
                 .details(details)
-                .build();
-        auditLogRepository.save(log);
+                .changes(hasChanges ? toJson(changes) : null)
+                .changedFields(hasChanges ? changes.mask() : null)
+                .build());
     }
 
     public List<AuditLogResponse> getRecentLogs(int page, int size) {
+        validatePage(page, size);
         Page<AuditLog> logs = auditLogRepository.findAllByOrderByCreatedAtDesc(PageRequest.of(page, size));
         return logs.stream().map(this::mapToResponse).collect(Collectors.toList());
     }
 
+    /**
+     * Who changed {@code field} of one entity and when, newest first. Only entries written with field changes are
+     * found; older entries carry their summary alone.
+     */
+    @Transactional(readOnly = true)
+    public List<AuditLogResponse> getFieldChanges(String entityType, Long entityId, String field, int page, int size) {
+        validatePage(page, size);
+        AuditField auditField = AuditField.fromName(field);
+        if (auditField == null) {
+            throw new BadRequestException("Unknown field: " + field);
+        }
+        String type = entityType.toUpperCase(Locale.ROOT);
+        return auditLogRepository.findFieldChanges(type, entityId, auditField.bit(), size, page * size).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
     private AuditLogResponse mapToResponse(AuditLog log) {
         return AuditLogResponse.builder()
                 .id(log.getId())
@@ -43,7 +80,44 @@ public class AuditLogService {
                 .entityId(log.getEntityId())
                 .performedBy(log.getPerformedBy())
                 .details(log.getDetails())
+                .changes(readChanges(log.getChanges()))
                 .createdAt(log.getCreatedAt())
                 .build();
     }
+
+    private String toJson(FieldChanges changes) {
+        try {
+            return objectMapper.writeValueAsString(changes.toList());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Field changes are not serialisable", e);
+        }
+    }
+
+    private List<AuditFieldChange> readChanges(String json) {
+        if (json == null) {
+            return null;
+        }
+        FieldChanges changes;
+        try {
+            changes = FieldChanges.fromList(objectMapper.readValue(json, List.class));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable field changes: " + json, e);
+        }
+        List<AuditFieldChange> result = new ArrayList<>();
+        changes.asMap().forEach((field, values) -> result.add(AuditFieldChange.builder()
+                .field(field.fieldName())
+                .oldValue(values[0])
+                .newValue(values[1])
+                .build()));
+        return result;
+    }
+
+    private static void validatePage(int page, int size) {
+        if (page < 0) {
+            throw new BadRequestException("page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package com.ems.service;
 
+import com.ems.cache.CacheInvalidator;
+import com.ems.cache.CacheNames;
 import com.ems.dto.request.*;
 import com.ems.dto.response.AuthResponse;
 import com.ems.dto.response.UserResponse;
@@ -7,7 +9,6 @@ import com.ems.entity.RefreshToken;
 import com.ems.entity.Role;
 import com.ems.entity.User;
 import com.ems.exception.BadRequestException;
-import com.ems.exception.DuplicateResourceException;
 import com.ems.exception.ResourceNotFoundException;
 import com.ems.repository.RoleRepository;
 import com.ems.repository.UserRepository;
@@ -39,16 +40,10 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
     private final RefreshTokenService refreshTokenService;
+    private final CacheInvalidator cacheInvalidator;
 
     @Transactional
     public UserResponse register(RegisterRequest request) {
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new DuplicateResourceException("Username already exists: " + request.getUsername());
-        }
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new DuplicateResourceException("Email already exists: " + request.getEmail());
-        }
-
         Role employeeRole = roleRepository.findByName("ROLE_EMPLOYEE")
                 .orElseThrow(() -> new ResourceNotFoundException("Default role not found"));
 
@@ -140,6 +135,7 @@ public class AuthService {
 
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        cacheInvalidator.invalidate(CacheNames.USERS, username);
         refreshTokenService.revokeAllUserTokens(user);
         log.info("Password changed for user: {}", username);
     }
@@ -0,0 +1,35 @@
+package com.ems.service;
+
+import com.ems.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for change feeds: the {@code (updated_at, id)} of the last row a client has seen.
+ * Rows are read in that order, so resuming strictly after it never skips or repeats a row.
+ */
+public record ChangeFeedToken(LocalDateTime updatedAt, Long id) {
+
+    public static final ChangeFeedToken START = new ChangeFeedToken(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+    public static ChangeFeedToken decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new ChangeFeedToken(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid change token");
+        }
+    }
+
+    public String encode() {
+        String raw = updatedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
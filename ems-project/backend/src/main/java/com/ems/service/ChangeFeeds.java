@@ -0,0 +1,67 @@
+package com.ems.service;
+
+import com.ems.dto.response.ChangeFeedResponse;
+import com.ems.exception.BadRequestException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Reads one page of a change feed: decodes the client's {@link ChangeFeedToken}, fetches one row more than asked for
+ * to learn whether more follow, splits the page into upserts and deleted ids and encodes the token to resume from.
+ * Rows younger than the settle window are held back so a transaction that commits late with an earlier
+ * {@code updated_at} is not skipped.
+ */
+final class ChangeFeeds {
+
+    static final int MAX_PAGE = 1000;
+
+    /**
+     * Rows with {@code (updated_at, id)} after {@code (since, afterId)} and {@code updated_at} before
+     * {@code until}, in that order.
+     */
+    @FunctionalInterface
+    interface Query<E> {
+        List<E> findChangedSince(LocalDateTime since, Long afterId, LocalDateTime until, Pageable pageable);
+    }
+
+    private ChangeFeeds() {
+    }
+
+    static <E, R> ChangeFeedResponse<R> read(String since, int limit, long settleSeconds, Query<E> query,
+                                             Function<E, ChangeFeedToken> position, Predicate<E> deleted,
+                                             Function<E, Long> id, Function<E, R> toResponse) {
+        if (limit < 1 || limit > MAX_PAGE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE);
+        }
+        ChangeFeedToken from = ChangeFeedToken.decode(since);
+        LocalDateTime until = LocalDateTime.now().minusSeconds(settleSeconds);
+        List<E> rows = query.findChangedSince(from.updatedAt(), from.id(), until, PageRequest.of(0, limit + 1));
+
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+        List<R> upserts = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        for (E row : rows) {
+            if (deleted.test(row)) {
+                deletedIds.add(id.apply(row));
+            } else {
+                upserts.add(toResponse.apply(row));
+            }
+        }
+        ChangeFeedToken next = rows.isEmpty() ? from : position.apply(rows.get(rows.size() - 1));
+        return ChangeFeedResponse.<R>builder()
+                .upserts(upserts)
+                .deletedIds(deletedIds)
+                .nextToken(next.encode())
+                .hasMore(hasMore)
+                .build();
+    }
+}
@@ -0,0 +1,176 @@
+package com.ems.service;
+
+import com.ems.dto.response.AnnouncementResponse;
+import com.ems.dto.response.DashboardResponse;
+import com.ems.dto.response.EmployeeResponse;
+import com.ems.dto.response.ManagerNoteResponse;
+import com.ems.dto.response.TaskResponse;
+import com.ems.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Builds the post-login dashboard in one request. The caller's employee profile is resolved once; tasks,
+ * announcements and (for managers) notes are then read concurrently on a small bounded pool, each in its own
+ * read-only transaction and under the caller's security context, so replica routing and read-your-writes
+ * pinning behave as they do for the individual endpoints.
+ * <p>
+ * All sections share one deadline. A section that fails, times out or finds the pool full is reported in
+ * {@link DashboardResponse#getErrors()} and the rest are still returned.
+ * Metrics: {@code ems.dashboard.section} (timer, tagged by section and outcome).
+ */
+@Slf4j
+@Service
+public class DashboardService {
+
+    private static final String PROFILE = "profile";
+    private static final String TASKS = "tasks";
+    private static final String ANNOUNCEMENTS = "announcements";
+    private static final String NOTES = "notes";
+
+    private final EmployeeService employeeService;
+    private final TaskService taskService;
+    private final AnnouncementService announcementService;
+    private final ManagerNoteService managerNoteService;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate readOnly;
+    private final ThreadPoolExecutor pool;
+
+    @Value("${ems.dashboard.timeout-ms:2000}")
+    private long timeoutMillis;
+
+    public DashboardService(EmployeeService employeeService,
+                            TaskService taskService,
+                            AnnouncementService announcementService,
+                            ManagerNoteService managerNoteService,
+                            MeterRegistry meterRegistry,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${ems.dashboard.threads:8}") int threads,
+                            @Value("${ems.dashboard.queue-capacity:64}") int queueCapacity) {
+        this.employeeService = employeeService;
+        this.taskService = taskService;
+        this.announcementService = announcementService;
+        this.managerNoteService = managerNoteService;
+        this.meterRegistry = meterRegistry;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        AtomicInteger threadNumber = new AtomicInteger();
+        // a full queue rejects instead of queueing without bound; the section is then reported as unavailable
+        this.pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.pool.allowCoreThreadTimeOut(true);
+    }
+
+    public DashboardResponse getDashboard(String username, boolean canReadNotes) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        Map<String, String> errors = new LinkedHashMap<>();
+        // wraps each task with the caller's SecurityContext, which replica routing reads
+        ExecutorService executor = new DelegatingSecurityContextExecutorService(pool);
+
+        Future<List<AnnouncementResponse>> announcements = submit(executor, ANNOUNCEMENTS, announcementService::getAllActive, errors);
+        EmployeeResponse profile = section(PROFILE, () -> employeeService.getEmployeeByUsername(username), errors);
+
+        Future<List<TaskResponse>> tasks = null;
+        Future<List<ManagerNoteResponse>> notes = null;
+        if (profile != null) {
+            Long employeeId = profile.getId();
+            tasks = submit(executor, TASKS, () -> taskService.getTasksAssignedTo(employeeId), errors);
+            if (canReadNotes) {
+                notes = submit(executor, NOTES, () -> managerNoteService.getNotesByManagerId(employeeId), errors);
+            }
+        } else {
+            errors.put(TASKS, "unavailable without an employee profile");
+        }
+
+        return DashboardResponse.builder()
+                .profile(profile)
+                .announcements(await(ANNOUNCEMENTS, announcements, deadline, errors))
+                .tasks(await(TASKS, tasks, deadline, errors))
+                .notes(await(NOTES, notes, deadline, errors))
+                .errors(errors.isEmpty() ? null : errors)
+                .build();
+    }
+
+    private <T> Future<T> submit(ExecutorService executor, String name, Supplier<T> read, Map<String, String> errors) {
+        try {
+            return executor.submit(() -> timed(name, () -> readOnly.execute(status -> read.get())));
+        } catch (RejectedExecutionException e) {
+            errors.put(name, "busy, try again shortly");
+            return null;
+        }
+    }
+
+    private <T> T section(String name, Supplier<T> read, Map<String, String> errors) {
+        try {
+            return timed(name, read);
+        } catch (ResourceNotFoundException e) {
+            errors.put(name, e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Dashboard section {} failed", name, e);
+            errors.put(name, "failed");
+        }
+        return null;
+    }
+
+    private <T> T await(String name, Future<T> future, long deadline, Map<String, String> errors) {
+        if (future == null) {
+            return null;
+        }
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            errors.put(name, "timed out");
+        } catch (ExecutionException e) {
+            log.warn("Dashboard section {} failed", name, e.getCause());
+            errors.put(name, "failed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            errors.put(name, "interrupted");
+        }
+        return null;
+    }
+
+    private <T> T timed(String name, Supplier<T> read) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            T result = read.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(meterRegistry.timer("ems.dashboard.section", "section", name, "outcome", outcome));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,258 @@
+package com.ems.service;
+
+import com.ems.analytics.SalaryPoint;
+import com.ems.dto.request.DepartmentReorgRequest;
+import com.ems.dto.response.DepartmentReorgResponse;
+import com.ems.entity.Department;
+import com.ems.entity.Employee;
+import com.ems.event.DomainEventPublisher;
+import com.ems.event.DomainEventType;
+import com.ems.exception.BadRequestException;
+import com.ems.exception.ResourceNotFoundException;
+import com.ems.repository.DepartmentRepository;
+import com.ems.repository.EmployeeHistoryField;
+import com.ems.repository.EmployeeRepository;
+import com.ems.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Moves all or some of a department's employees to another department in one transaction: set-based updates for
+ * the employees, their reporting lines and their open tasks, then the department managers, instead of one
+ * {@code PUT /api/employees/{id}} per person.
+ * <p>
+ * The audit trail is one summarised {@link DomainEventType#DEPARTMENT_REORGANIZED} event plus one
+ * {@code REORGANIZE_DETAIL} audit entry listing every moved employee and reassigned task with the values they had
+ * before, grouped so the entry stays compact.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DepartmentReorgService {
+
+    static final String DETAIL_ACTION = "REORGANIZE_DETAIL";
+
+    // keeps IN lists well inside what the driver and the query planner handle comfortably
+    private static final int CHUNK_SIZE = 1_000;
+    private static final int MAX_LISTED_IDS = 20;
+    private static final String NONE = "none";
+
+    private final DepartmentRepository departmentRepository;
+    private final EmployeeRepository employeeRepository;
+    private final TaskRepository taskRepository;
+    private final DomainEventPublisher eventPublisher;
+    private final AuditLogService auditLogService;
+    private final SalaryStatisticsService salaryStatisticsService;
+    private final EmployeeHistoryService employeeHistoryService;
+    private final ObjectMapper objectMapper;
+
+    @Transactional
+    public DepartmentReorgResponse reorganize(Long sourceId, DepartmentReorgRequest request, String performedBy) {
+        Long targetId = request.getTargetDepartmentId();
+        if (sourceId.equals(targetId)) {
+            throw new BadRequestException("Source and target department must differ");
+        }
+        Department source = departmentRepository.findActiveById(sourceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + sourceId));
+        Department target = departmentRepository.findActiveById(targetId)
+                .orElseThrow(() -> new ResourceNotFoundException("Target department not found with id: " + targetId));
+
+        List<Object[]> rows = employeeRepository.findReorgRowsByDepartmentId(sourceId);
+        List<Object[]> moving = select(rows, request, source);
+        if (request.isDeleteSource() && moving.size() < rows.size()) {
+            throw new BadRequestException("Department " + source.getName() + " would keep "
+                    + (rows.size() - moving.size()) + " active employees; move all of them to delete it");
+        }
+        if (moving.isEmpty() && !request.isDeleteSource()) {
+            throw new BadRequestException("No active employees of department " + source.getName() + " match");
+        }
+        Set<Long> movingIds = new HashSet<>();
+        List<Long> employeeIds = new ArrayList<>(moving.size());
+        for (Object[] row : moving) {
+            movingIds.add((Long) row[0]);
+            employeeIds.add((Long) row[0]);
+        }
+
+        Employee reportingManager = request.getReportingManagerId() != null
+                ? activeEmployee(request.getReportingManagerId(), "Reporting manager") : null;
+        Employee targetManager = null;
+        if (request.getTargetManagerId() != null) {
+            targetManager = activeEmployee(request.getTargetManagerId(), "Manager");
+            boolean inTarget = targetManager.getDepartment() != null
+                    && targetId.equals(targetManager.getDepartment().getId());
+            if (!inTarget && !movingIds.contains(targetManager.getId())) {
+                throw new BadRequestException("The new manager must be in the target department after the move");
+            }
+        }
+        Employee taskOwner = targetManager != null ? targetManager : target.getManager();
+        if (request.isReassignOpenTasks() && taskOwner == null) {
+            throw new BadRequestException("Department " + target.getName()
+                    + " has no manager to reassign open tasks to");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (List<Long> chunk : chunks(employeeIds)) {
+            employeeRepository.moveToDepartment(chunk, target, now);
+            employeeHistoryService.record(chunk, EnumSet.of(EmployeeHistoryField.DEPARTMENT), now);
+        }
+
+        Map<String, List<Long>> previousManagers = new TreeMap<>();
+        if (reportingManager != null) {
+            Long managerId = reportingManager.getId();
+            List<Long> repointed = new ArrayList<>();
+            for (Object[] row : moving) {
+                Long employeeId = (Long) row[0];
+                if (!employeeId.equals(managerId) && !managerId.equals(row[1])) {
+                    repointed.add(employeeId);
+                    previousManagers.computeIfAbsent(key(row[1]), k -> new ArrayList<>()).add(employeeId);
+                }
+            }
+            for (List<Long> chunk : chunks(repointed)) {
+                employeeRepository.updateReportingManager(chunk, reportingManager, now);
+                employeeHistoryService.record(chunk, EnumSet.of(EmployeeHistoryField.REPORTING_MANAGER), now);
+            }
+        }
+
+        Map<String, List<Long>> previousAssigners = new TreeMap<>();
+        int tasksReassigned = 0;
+        if (request.isReassignOpenTasks()) {
+            List<Long> taskIds = new ArrayList<>();
+            for (List<Long> chunk : chunks(employeeIds)) {
+                for (Object[] task : taskRepository.findOpenTaskAssigners(chunk)) {
+                    if (!taskOwner.getId().equals(task[1])) {
+                        taskIds.add((Long) task[0]);
+                        previousAssigners.computeIfAbsent(key(task[1]), k -> new ArrayList<>()).add((Long) task[0]);
+                    }
+                }
+            }
+            for (List<Long> chunk : chunks(taskIds)) {
+                taskRepository.updateAssignedBy(chunk, taskOwner, now);
+            }
+            tasksReassigned = taskIds.size();
+        }
+
+        Long sourceManagerId = source.getManager() != null ? source.getManager().getId() : null;
+        if (sourceManagerId != null && movingIds.contains(sourceManagerId)) {
+            source.setManager(null);
+        }
+        if (targetManager != null) {
+            target.setManager(targetManager);
+        }
+        if (request.isDeleteSource()) {
+            source.setDeletedAt(now);
+            source.setIsActive(false);
+        }
+
+        for (Object[] row : moving) {
+            recordSalaryMove(row, source, target);
+        }
+
+        int reportingLinesChanged = previousManagers.values().stream().mapToInt(List::size).sum();
+        String summary = "Moved " + moving.size() + " employees from " + source.getName() + " to " + target.getName()
+                + (reportingLinesChanged > 0 ? "; " + reportingLinesChanged + " reporting lines changed" : "")
+                + (tasksReassigned > 0 ? "; " + tasksReassigned + " open tasks reassigned" : "")
+                + (targetManager != null ? "; new manager of " + target.getName() + ": "
+                        + targetManager.getFirstName() + " " + targetManager.getLastName() : "")
+                + (request.isDeleteSource() ? "; " + source.getName() + " deleted" : "");
+        eventPublisher.publish(DomainEventType.DEPARTMENT_REORGANIZED, sourceId, performedBy, summary,
+                Map.of("targetDepartmentId", targetId,
+                        "employeesMoved", moving.size(),
+                        "tasksReassigned", tasksReassigned,
+                        "sourceDeleted", request.isDeleteSource()));
+
+        Map<String, Object> detail = new LinkedHashMap<>();
+        detail.put("targetDepartmentId", targetId);
+        detail.put("employeeIds", employeeIds);
+        detail.put("previousReportingManagers", previousManagers);
+        detail.put("previousTaskAssigners", previousAssigners);
+        detail.put("previousSourceManagerId", sourceManagerId);
+        auditLogService.record(DETAIL_ACTION, DomainEventType.DEPARTMENT_REORGANIZED.getAggregateType(), sourceId,
+                performedBy, toJson(detail));
+        log.info("Department reorganisation by {}: {}", performedBy, summary);
+
+        return DepartmentReorgResponse.builder()
+                .sourceDepartmentId(sourceId)
+                .targetDepartmentId(targetId)
+                .employeesMoved(moving.size())
+                .reportingLinesChanged(reportingLinesChanged)
+                .tasksReassigned(tasksReassigned)
+                .targetManagerId(target.getManager() != null ? target.getManager().getId() : null)
+                .sourceDeleted(request.isDeleteSource())
+                .build();
+    }
+
+    private List<Object[]> select(List<Object[]> rows, DepartmentReorgRequest request, Department source) {
+        Set<Long> requested = request.getEmployeeIds() != null ? new HashSet<>(request.getEmployeeIds()) : null;
+        List<Object[]> selected = new ArrayList<>(rows.size());
+        Set<Long> found = new HashSet<>();
+        for (Object[] row : rows) {
+            Long employeeId = (Long) row[0];
+            if (requested != null && !requested.contains(employeeId)) {
+                continue;
+            }
+            found.add(employeeId);
+            if (request.getDesignationId() == null || request.getDesignationId().equals(row[3])) {
+                selected.add(row);
+            }
+        }
+        if (requested != null && found.size() < requested.size()) {
+            List<Long> missing = requested.stream().filter(id -> !found.contains(id)).sorted()
+                    .limit(MAX_LISTED_IDS).toList();
+            throw new BadRequestException("Not active employees of department " + source.getName() + ": " + missing
+                    + (requested.size() - found.size() > MAX_LISTED_IDS ? " and more" : ""));
+        }
+        return selected;
+    }
+
+    private Employee activeEmployee(Long id, String role) {
+        return employeeRepository.findActiveById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(role + " not found with id: " + id));
+    }
+
+    private void recordSalaryMove(Object[] row, Department source, Department target) {
+        if (row[2] == null) {
+            return;
+        }
+        long cents = ((BigDecimal) row[2]).movePointRight(2).longValue();
+        Long designationId = (Long) row[3];
+        String designationTitle = (String) row[4];
+        salaryStatisticsService.recordChange((Long) row[0],
+                new SalaryPoint(source.getId(), source.getName(), designationId, designationTitle, cents),
+                new SalaryPoint(target.getId(), target.getName(), designationId, designationTitle, cents));
+    }
+
+    private static String key(Object id) {
+        return id != null ? id.toString() : NONE;
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(ids.size(), from + CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+
+    private String toJson(Map<String, Object> detail) {
+        try {
+            return objectMapper.writeValueAsString(detail);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Reorganisation detail is not serialisable", e);
+        }
+    }
+}
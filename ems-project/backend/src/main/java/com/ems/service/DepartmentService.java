@@ -1,20 +1,33 @@
 package com.ems.service;
 
+import com.ems.audit.AuditField;
+import com.ems.audit.FieldChanges;
+import com.ems.cache.CacheNames;
+import com.ems.cache.JsonFragmentCache;
 import com.ems.dto.request.DepartmentRequest;
+import com.ems.dto.response.BatchGetResponse;
+import com.ems.dto.response.ChangeFeedResponse;
 import com.ems.dto.response.DepartmentResponse;
+import com.ems.dto.response.JsonFragments;
 import com.ems.entity.Department;
 import com.ems.entity.Employee;
-import com.ems.exception.DuplicateResourceException;
+import com.ems.event.DomainEventPublisher;
+import com.ems.event.DomainEventType;
+import com.ems.exception.PreconditionFailedException;
 import com.ems.exception.ResourceNotFoundException;
 import com.ems.repository.DepartmentRepository;
 import com.ems.repository.EmployeeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -24,12 +37,23 @@ public class DepartmentService {
 
     private final DepartmentRepository departmentRepository;
     private final EmployeeRepository employeeRepository;
+    private final DomainEventPublisher eventPublisher;
+    private final JsonFragmentCache jsonFragmentCache;
+
+    @Value("${ems.changes.settle-seconds:2}")
+    private long changeFeedSettleSeconds;
 
     @Transactional(readOnly = true)
-    public List<DepartmentResponse> getAllDepartments() {
-        return departmentRepository.findAllActive().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public JsonFragments getAllDepartments() {
+        return jsonFragmentCache.fragments(CacheNames.DEPARTMENT_JSON, departmentRepository.findAllActive(),
+                Department::getId, DepartmentService::fragmentVersion, this::mapToResponse);
+    }
+
+    /** Changes whenever the department or its manager does, since the response embeds the manager's name. */
+    private static String fragmentVersion(Department dept) {
+        Employee manager = dept.getManager();
+        return dept.getVersion()
+                + ":" + (manager != null ? manager.getId() + "@" + manager.getVersion() : "-");
     }
 
     @Transactional(readOnly = true)
@@ -39,11 +63,25 @@ public class DepartmentService {
         return mapToResponse(dept);
     }
 
+    @Transactional(readOnly = true)
+    public BatchGetResponse<DepartmentResponse> getDepartmentsByIds(List<Long> ids) {
+        Map<Long, Department> byId = departmentRepository.findActiveByIdIn(new LinkedHashSet<>(ids)).stream()
+                .collect(Collectors.toMap(Department::getId, Function.identity()));
+        return BatchGetResponse.of(ids, byId, this::mapToResponse);
+    }
+
+    /**
+     * Departments created, updated or soft-deleted after the given token, oldest first; see {@link ChangeFeeds}.
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeedResponse<DepartmentResponse> getChanges(String since, int limit) {
+        return ChangeFeeds.read(since, limit, changeFeedSettleSeconds, departmentRepository::findChangedSince,
+                dept -> new ChangeFeedToken(dept.getUpdatedAt(), dept.getId()), dept -> dept.getDeletedAt() != null,
+                Department::getId, this::mapToResponse);
+    }
+
     @Transactional
-    public DepartmentResponse createDepartment(DepartmentRequest request) {
-        if (departmentRepository.existsByName(request.getName())) {
-            throw new DuplicateResourceException("Department already exists: " + request.getName());
-        }
+    public DepartmentResponse createDepartment(DepartmentRequest request, String performedBy) {
         Department dept = Department.builder()
                 .name(request.getName())
                 .description(request.getDescription())
@@ -57,19 +95,26 @@ public class DepartmentService {
         }
 
         Department saved = departmentRepository.save(dept);
+        eventPublisher.publish(DomainEventType.DEPARTMENT_CREATED, saved.getId(), performedBy,
+                "Created department: " + saved.getName());
         log.info("Department created: {}", saved.getName());
         return mapToResponse(saved);
     }
 
     @Transactional
-    public DepartmentResponse updateDepartment(Long id, DepartmentRequest request) {
+    public DepartmentResponse updateDepartment(Long id, DepartmentRequest request, String performedBy,
+                                               Long expectedVersion) {
         Department dept = departmentRepository.findActiveById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
-
-        if (!dept.getName().equals(request.getName()) && departmentRepository.existsByName(request.getName())) {
-            throw new DuplicateResourceException("Department name already in use: " + request.getName());
+        if (expectedVersion != null && !expectedVersion.equals(dept.getVersion())) {
+            throw new PreconditionFailedException("Department " + id + " has changed since version " + expectedVersion);
         }
 
+        Long managerBefore = dept.getManager() != null ? dept.getManager().getId() : null;
+        FieldChanges changes = new FieldChanges()
+                .add(AuditField.NAME, dept.getName(), request.getName())
+                .add(AuditField.DESCRIPTION, dept.getDescription(), request.getDescription())
+                .add(AuditField.MANAGER_ID, managerBefore, request.getManagerId());
         dept.setName(request.getName());
         dept.setDescription(request.getDescription());
 
@@ -81,16 +126,21 @@ public class DepartmentService {
             dept.setManager(null);
         }
 
-        return mapToResponse(departmentRepository.save(dept));
+        Department saved = departmentRepository.saveAndFlush(dept);
+        eventPublisher.publish(DomainEventType.DEPARTMENT_UPDATED, saved.getId(), performedBy,
+                "Updated department: " + saved.getName(), Map.of(FieldChanges.DATA_KEY, changes.toList()));
+        return mapToResponse(saved);
     }
 
     @Transactional
-    public void deleteDepartment(Long id) {
+    public void deleteDepartment(Long id, String performedBy) {
         Department dept = departmentRepository.findActiveById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
         dept.setDeletedAt(LocalDateTime.now());
         dept.setIsActive(false);
         departmentRepository.save(dept);
+        eventPublisher.publish(DomainEventType.DEPARTMENT_DELETED, id, performedBy,
+                "Deleted department: " + dept.getName());
         log.info("Department soft deleted: {}", dept.getName());
     }
 
@@ -103,7 +153,9 @@ public class DepartmentService {
                 .managerName(dept.getManager() != null
                         ? dept.getManager().getFirstName() + " " + dept.getManager().getLastName() : null)
                 .isActive(dept.getIsActive())
+                .version(dept.getVersion())
                 .createdAt(dept.getCreatedAt())
+                .managerVersion(dept.getManager() != null ? dept.getManager().getVersion() : null)
                 .build();
     }
 }
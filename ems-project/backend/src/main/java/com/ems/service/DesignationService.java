@@ -1,9 +1,11 @@
 package com.ems.service;
 
+import com.ems.cache.CacheNames;
+import com.ems.cache.JsonFragmentCache;
 import com.ems.dto.request.DesignationRequest;
 import com.ems.dto.response.DesignationResponse;
+import com.ems.dto.response.JsonFragments;
 import com.ems.entity.Designation;
-import com.ems.exception.DuplicateResourceException;
 import com.ems.exception.ResourceNotFoundException;
 import com.ems.repository.DesignationRepository;
 import lombok.RequiredArgsConstructor;
@@ -12,8 +14,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -21,12 +21,12 @@ import java.util.stream.Collectors;
 public class DesignationService {
 
     private final DesignationRepository designationRepository;
+    private final JsonFragmentCache jsonFragmentCache;
 
     @Transactional(readOnly = true)
-    public List<DesignationResponse> getAllDesignations() {
-        return designationRepository.findAllActive().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public JsonFragments getAllDesignations() {
+        return jsonFragmentCache.fragments(CacheNames.DESIGNATION_JSON, designationRepository.findAllActive(),
+                Designation::getId, d -> String.valueOf(d.getVersion()), this::mapToResponse);
     }
 
     @Transactional(readOnly = true)
@@ -38,9 +38,6 @@ public class DesignationService {
 
     @Transactional
     public DesignationResponse createDesignation(DesignationRequest request) {
-        if (designationRepository.existsByTitle(request.getTitle())) {
-            throw new DuplicateResourceException("Designation already exists: " + request.getTitle());
-        }
         Designation d = Designation.builder().title(request.getTitle()).build();
         Designation saved = designationRepository.save(d);
         log.info("Designation created: {}", saved.getTitle());
@@ -52,12 +49,10 @@ public class DesignationService {
         Designation d = designationRepository.findActiveById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Designation not found with id: " + id));
 
-        if (!d.getTitle().equals(request.getTitle()) && designationRepository.existsByTitle(request.getTitle())) {
-            throw new DuplicateResourceException("Designation title already in use: " + request.getTitle());
-        }
-
+        // the version bump retires the cached designation and employee list entries that embed the old title
         d.setTitle(request.getTitle());
-        return mapToResponse(designationRepository.save(d));
+        Designation saved = designationRepository.saveAndFlush(d);
+        return mapToResponse(saved);
     }
 
     @Transactional
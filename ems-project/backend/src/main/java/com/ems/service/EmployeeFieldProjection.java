@@ -0,0 +1,92 @@
+package com.ems.service;
+
+import com.ems.dto.response.ProjectedRows;
+import com.ems.entity.Employee;
+import com.ems.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The properties a {@code ?fields=} list request may select, named as in {@code EmployeeResponse}. Each one reads
+ * straight from the entity, so a projection copies only the requested values.
+ */
+public final class EmployeeFieldProjection {
+
+    private static final int MAX_FIELDS_LENGTH = 1_000;
+
+    private static final Map<String, Function<Employee, Object>> FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put("id", Employee::getId);
+        FIELDS.put("userId", e -> e.getUser() != null ? e.getUser().getId() : null);
+        FIELDS.put("firstName", Employee::getFirstName);
+        FIELDS.put("lastName", Employee::getLastName);
+        FIELDS.put("email", Employee::getEmail);
+        FIELDS.put("phone", Employee::getPhone);
+        FIELDS.put("dateOfBirth", Employee::getDateOfBirth);
+        FIELDS.put("dateOfJoining", Employee::getDateOfJoining);
+        FIELDS.put("salary", Employee::getSalary);
+        FIELDS.put("departmentId", e -> e.getDepartment() != null ? e.getDepartment().getId() : null);
+        FIELDS.put("departmentName", e -> e.getDepartment() != null ? e.getDepartment().getName() : null);
+        FIELDS.put("designationId", e -> e.getDesignation() != null ? e.getDesignation().getId() : null);
+        FIELDS.put("designationTitle", e -> e.getDesignation() != null ? e.getDesignation().getTitle() : null);
+        FIELDS.put("reportingManagerId", e -> e.getReportingManager() != null ? e.getReportingManager().getId() : null);
+        FIELDS.put("reportingManagerName", e -> e.getReportingManager() != null
+                ? e.getReportingManager().getFirstName() + " " + e.getReportingManager().getLastName() : null);
+        FIELDS.put("isActive", Employee::getIsActive);
+        FIELDS.put("employmentStatus", e -> e.getEmploymentStatus() != null ? e.getEmploymentStatus().name() : "ACTIVE");
+        FIELDS.put("resignationDate", Employee::getResignationDate);
+        FIELDS.put("noticePeriodEndDate", Employee::getNoticePeriodEndDate);
+        FIELDS.put("version", Employee::getVersion);
+        FIELDS.put("createdAt", Employee::getCreatedAt);
+    }
+
+    private final String[] names;
+    private final Function<Employee, Object>[] accessors;
+
+    @SuppressWarnings("unchecked")
+    private EmployeeFieldProjection(List<String> names) {
+        this.names = names.toArray(String[]::new);
+        this.accessors = names.stream().map(FIELDS::get).toArray(Function[]::new);
+    }
+
+    /**
+     * Parses a comma-separated field list; duplicates are dropped and the request order is kept.
+     */
+    public static EmployeeFieldProjection parse(String fields) {
+        if (fields.length() > MAX_FIELDS_LENGTH) {
+            throw new BadRequestException("fields must be at most " + MAX_FIELDS_LENGTH + " characters");
+        }
+        List<String> names = new ArrayList<>();
+        for (String raw : fields.split(",")) {
+            String name = raw.trim();
+            if (name.isEmpty() || names.contains(name)) {
+                continue;
+            }
+            if (!FIELDS.containsKey(name)) {
+                throw new BadRequestException("Unknown field '" + name + "'; allowed: " + String.join(",", FIELDS.keySet()));
+            }
+            names.add(name);
+        }
+        if (names.isEmpty()) {
+            throw new BadRequestException("fields must name at least one property");
+        }
+        return new EmployeeFieldProjection(names);
+    }
+
+    public ProjectedRows project(List<Employee> employees) {
+        List<Object[]> rows = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            Object[] row = new Object[accessors.length];
+            for (int i = 0; i < accessors.length; i++) {
+                row[i] = accessors[i].apply(employee);
+            }
+            rows.add(row);
+        }
+        return new ProjectedRows(names, rows);
+    }
+}
@@ -0,0 +1,101 @@
+package com.ems.service;
+
+import com.ems.dto.response.EmployeeAsOfResponse;
+import com.ems.entity.Department;
+import com.ems.entity.Designation;
+import com.ems.exception.ResourceNotFoundException;
+import com.ems.repository.DepartmentRepository;
+import com.ems.repository.DesignationRepository;
+import com.ems.repository.EmployeeHistoryField;
+import com.ems.repository.EmployeeHistoryRepository;
+import com.ems.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the validity intervals of an employee's department, designation, reporting manager, salary and employment
+ * status in {@code employee_history}, written in the transaction of the change, and answers what they were at a
+ * given moment.
+ * <p>
+ * Every writer of those columns records the fields it changed after its update has reached the database: the
+ * employee CRUD in EmployeeService, the department reorganisation, the lifecycle job and archive restores.
+ * Deleting an employee closes all of their intervals.
+ */
+@Service
+@RequiredArgsConstructor
+public class EmployeeHistoryService {
+
+    private final EmployeeHistoryRepository employeeHistoryRepository;
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final DesignationRepository designationRepository;
+
+    /**
+     * Closes the current intervals of {@code fields} and opens new ones with the employees' values as of now.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Collection<Long> employeeIds, Set<EmployeeHistoryField> fields, LocalDateTime at) {
+        if (employeeIds.isEmpty() || fields.isEmpty()) {
+            return;
+        }
+        employeeHistoryRepository.close(employeeIds, fields, at);
+        for (EmployeeHistoryField field : fields) {
+            employeeHistoryRepository.open(employeeIds, field, at);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(Collection<Long> employeeIds, LocalDateTime at) {
+        record(employeeIds, EnumSet.allOf(EmployeeHistoryField.class), at);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void closeAll(Collection<Long> employeeIds, LocalDateTime at) {
+        employeeHistoryRepository.close(employeeIds, EnumSet.allOf(EmployeeHistoryField.class), at);
+    }
+
+    /**
+     * The employee's tracked fields as they stood at {@code at}. Names are today's names of the department,
+     * designation and manager, null once those rows have been archived.
+     */
+    @Transactional(readOnly = true)
+    public EmployeeAsOfResponse getAsOf(Long employeeId, LocalDateTime at) {
+        Map<EmployeeHistoryField, String> values = employeeHistoryRepository.findAsOf(employeeId, at);
+        // the employment status is never null, so no row at all means the employee did not exist yet or any more
+        if (values.isEmpty()) {
+            throw new ResourceNotFoundException("No recorded state for employee " + employeeId + " at " + at);
+        }
+        Long departmentId = id(values.get(EmployeeHistoryField.DEPARTMENT));
+        Long designationId = id(values.get(EmployeeHistoryField.DESIGNATION));
+        Long managerId = id(values.get(EmployeeHistoryField.REPORTING_MANAGER));
+        String salary = values.get(EmployeeHistoryField.SALARY);
+        return EmployeeAsOfResponse.builder()
+                .employeeId(employeeId)
+                .asOf(at)
+                .departmentId(departmentId)
+                .departmentName(departmentId != null
+                        ? departmentRepository.findById(departmentId).map(Department::getName).orElse(null) : null)
+                .designationId(designationId)
+                .designationTitle(designationId != null
+                        ? designationRepository.findById(designationId).map(Designation::getTitle).orElse(null) : null)
+                .reportingManagerId(managerId)
+                .reportingManagerName(managerId != null ? employeeRepository.findById(managerId)
+                        .map(manager -> manager.getFirstName() + " " + manager.getLastName()).orElse(null) : null)
+                .salary(salary != null ? new BigDecimal(salary) : null)
+                .employmentStatus(values.get(EmployeeHistoryField.EMPLOYMENT_STATUS))
+                .build();
+    }
+
+    private static Long id(String value) {
+        return value != null ? Long.valueOf(value) : null;
+    }
+}
@@ -0,0 +1,146 @@
+package com.ems.service;
+
+import com.ems.audit.AuditField;
+import com.ems.audit.FieldChanges;
+import com.ems.cache.CacheInvalidator;
+import com.ems.cache.CacheNames;
+import com.ems.entity.Employee;
+import com.ems.event.DomainEventPublisher;
+import com.ems.event.DomainEventType;
+import com.ems.job.ClusterJobRunner;
+import com.ems.job.JobContext;
+import com.ems.repository.EmployeeHistoryField;
+import com.ems.repository.EmployeeRepository;
+import com.ems.repository.RefreshTokenRepository;
+import com.ems.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Completes resignations: once an employee's notice period has ended they become {@code RESIGNED}, their login is
+ * deactivated and their refresh tokens are revoked.
+ * <p>
+ * Due employees are found through the (employment_status, notice_period_end_date) index and handled in batches of
+ * {@code ems.lifecycle.batch-size}, one transaction per batch, with set-based updates and one
+ * {@link DomainEventType#EMPLOYEE_STATUS_CHANGED} event per employee in the outbox. {@link ClusterJobRunner} keeps the job to one node at a time; batches stop as soon as the lease is lost,
+ * so a node that stalls past the lease does not overlap with the next holder.
+ */
+@Service
+public class EmployeeLifecycleService {
+
+    static final String JOB_NAME = "employee-lifecycle";
+    private static final String SYSTEM_USER = "system";
+
+    private final EmployeeRepository employeeRepository;
+    private final UserRepository userRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final DomainEventPublisher eventPublisher;
+    private final ClusterJobRunner clusterJobRunner;
+    private final CacheInvalidator cacheInvalidator;
+    private final EmployeeHistoryService employeeHistoryService;
+    private final TransactionTemplate batchTransaction;
+
+    @Value("${ems.lifecycle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ems.lifecycle.batch-size:500}")
+    private int batchSize;
+
+    @Value("${ems.lifecycle.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    @Value("${ems.lifecycle.lease-seconds:120}")
+    private long leaseSeconds;
+
+    public EmployeeLifecycleService(EmployeeRepository employeeRepository,
+                                    UserRepository userRepository,
+                                    RefreshTokenRepository refreshTokenRepository,
+                                    DomainEventPublisher eventPublisher,
+                                    ClusterJobRunner clusterJobRunner,
+                                    CacheInvalidator cacheInvalidator,
+                                    EmployeeHistoryService employeeHistoryService,
+                                    PlatformTransactionManager transactionManager) {
+        this.employeeRepository = employeeRepository;
+        this.userRepository = userRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.eventPublisher = eventPublisher;
+        this.clusterJobRunner = clusterJobRunner;
+        this.cacheInvalidator = cacheInvalidator;
+        this.employeeHistoryService = employeeHistoryService;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${ems.lifecycle.cron:0 10 * * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            clusterJobRunner.run(JOB_NAME, Duration.ofSeconds(leaseSeconds), this::completeEndedNoticePeriods);
+        }
+    }
+
+    /**
+     * Runs until no due employees remain, the per-run batch cap is reached or the lease is lost.
+     * Returns the number of employees moved to {@code RESIGNED}.
+     */
+    int completeEndedNoticePeriods(JobContext context) {
+        LocalDate today = LocalDate.now();
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun && !context.isLeaseLost(); batch++) {
+            Integer completed = batchTransaction.execute(status -> completeBatch(today));
+            total += completed != null ? completed : 0;
+            if (completed == null || completed < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int completeBatch(LocalDate today) {
+        List<Object[]> due = employeeRepository.findNoticePeriodsEndedBefore(today,
+                Employee.EmploymentStatus.NOTICE_PERIOD, PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+        List<Long> employeeIds = new ArrayList<>(due.size());
+        List<Long> userIds = new ArrayList<>(due.size());
+        List<String> usernames = new ArrayList<>(due.size());
+        for (Object[] row : due) {
+            employeeIds.add((Long) row[0]);
+            if (row[1] != null) {
+                userIds.add((Long) row[1]);
+                usernames.add((String) row[3]);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        employeeRepository.updateStatus(employeeIds, Employee.EmploymentStatus.NOTICE_PERIOD,
+                Employee.EmploymentStatus.RESIGNED, now);
+        employeeHistoryService.record(employeeIds, EnumSet.of(EmployeeHistoryField.EMPLOYMENT_STATUS), now);
+        if (!userIds.isEmpty()) {
+            userRepository.deactivateAll(userIds, now);
+            refreshTokenRepository.revokeAllForUsers(userIds);
+            usernames.forEach(username -> cacheInvalidator.invalidate(CacheNames.USERS, username));
+        }
+        Map<String, Object> data = Map.of(FieldChanges.DATA_KEY, new FieldChanges()
+                .add(AuditField.EMPLOYMENT_STATUS, Employee.EmploymentStatus.NOTICE_PERIOD,
+                        Employee.EmploymentStatus.RESIGNED)
+                .toList());
+        for (Object[] row : due) {
+            eventPublisher.publish(DomainEventType.EMPLOYEE_STATUS_CHANGED, (Long) row[0], SYSTEM_USER,
+                    "Notice period ended on " + row[2] + ": status RESIGNED"
+                            + (row[1] != null ? ", login deactivated" : ""), data);
+        }
+        return due.size();
+    }
+}
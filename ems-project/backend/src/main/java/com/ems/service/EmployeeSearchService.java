@@ -0,0 +1,326 @@
+package com.ems.service;
+
+import com.ems.dto.response.EmployeeSearchResult;
+import com.ems.dto.response.EmployeeSuggestion;
+import com.ems.entity.Department;
+import com.ems.entity.Designation;
+import com.ems.entity.Employee;
+import com.ems.entity.User;
+import com.ems.exception.BadRequestException;
+import com.ems.exception.ResourceNotFoundException;
+import com.ems.exception.ServiceUnavailableException;
+import com.ems.repository.DepartmentRepository;
+import com.ems.repository.DesignationRepository;
+import com.ems.repository.EmployeeRepository;
+import com.ems.repository.UserRepository;
+import com.ems.search.EmployeeSearchIndex;
+import com.ems.search.EmployeeSuggestIndex;
+import com.ems.search.IndexedEmployee;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Serves employee search from an in-memory {@link EmployeeSearchIndex} and typeahead from an
+ * {@link EmployeeSuggestIndex}. Both hold active employees only; those serving notice or resigned drop out as soon as
+ * the status change comes through the feed. Every live employee is still kept to resolve a manager's department.
+ * <p>
+ * The index is bulk-loaded once at startup and then kept current by tailing the employee, department and designation
+ * change feeds ({@code updated_at, id} keysets); a renamed department or designation re-indexes its employees. Every node tails the tables itself, so writes made on any node show up
+ * everywhere within one refresh interval. Rows inside the settle window are applied but the watermark is not moved
+ * past them, so a transaction that commits late with an earlier {@code updated_at} is still picked up.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmployeeSearchService {
+
+    private static final int MAX_LIMIT = 100;
+    private static final int MIN_QUERY_LENGTH = 2;
+
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final DesignationRepository designationRepository;
+    private final UserRepository userRepository;
+
+    private final EmployeeSearchIndex index = new EmployeeSearchIndex();
+    private final EmployeeSuggestIndex suggestIndex = new EmployeeSuggestIndex();
+    // every employee that is not deleted, searchable or not
+    private final Map<Long, IndexedEmployee> liveEmployees = new ConcurrentHashMap<>();
+    private final Map<Long, Long> employeeIdsByUserId = new ConcurrentHashMap<>();
+    // usernames and user ids never change, so this needs no invalidation
+    private final Map<String, Long> userIdsByUsername = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+
+    private volatile boolean loaded;
+    private ChangeFeedToken employeeWatermark;
+    private ChangeFeedToken departmentWatermark;
+    private ChangeFeedToken designationWatermark;
+
+    @Value("${ems.search.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ems.search.load-page-size:5000}")
+    private int loadPageSize;
+
+    @Value("${ems.search.refresh-page-size:500}")
+    private int refreshPageSize;
+
+    @Value("${ems.changes.settle-seconds:2}")
+    private long settleSeconds;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        synchronized (writeLock) {
+            // start the feeds from before the load so nothing written while it runs is missed
+            LocalDateTime from = LocalDateTime.now().minusSeconds(settleSeconds);
+            employeeWatermark = new ChangeFeedToken(from, 0L);
+            departmentWatermark = new ChangeFeedToken(from, 0L);
+            designationWatermark = new ChangeFeedToken(from, 0L);
+            index.clear();
+            suggestIndex.clear();
+            liveEmployees.clear();
+            employeeIdsByUserId.clear();
+
+            long afterId = 0;
+            List<Employee> page;
+            do {
+                page = employeeRepository.findActivePageAfter(afterId, PageRequest.of(0, loadPageSize));
+                page.parallelStream().forEach(emp -> apply(toIndexed(emp), isSearchable(emp)));
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == loadPageSize);
+            loaded = true;
+        }
+        log.info("Employee search index loaded: {} active of {} employees in {} ms",
+                index.size(), liveEmployees.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Scheduled(fixedDelayString = "${ems.search.refresh-interval-ms:1000}")
+    public void refresh() {
+        if (!loaded) {
+            return;
+        }
+        synchronized (writeLock) {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime settled = now.minusSeconds(settleSeconds);
+            employeeWatermark = refreshEmployees(employeeWatermark, now, settled);
+            departmentWatermark = refreshDepartments(departmentWatermark, now, settled);
+            designationWatermark = refreshDesignations(designationWatermark, now, settled);
+        }
+    }
+
+    public List<EmployeeSearchResult> search(String query, int limit, String username, boolean isAdmin) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (query == null || query.trim().length() < MIN_QUERY_LENGTH) {
+            throw new BadRequestException("q must be at least " + MIN_QUERY_LENGTH + " characters");
+        }
+        ensureLoaded();
+        Predicate<IndexedEmployee> scope = e -> true;
+        if (!isAdmin) {
+            Long departmentId = managerDepartmentId(username);
+            if (departmentId == null) {
+                return List.of();
+            }
+            scope = e -> departmentId.equals(e.departmentId());
+        }
+        return index.search(query, limit, scope).stream()
+                .map(hit -> EmployeeSearchResult.builder()
+                        .id(hit.employee().id())
+                        .firstName(hit.employee().firstName())
+                        .lastName(hit.employee().lastName())
+                        .email(hit.employee().email())
+                        .phone(hit.employee().phone())
+                        .departmentId(hit.employee().departmentId())
+                        .departmentName(hit.employee().departmentName())
+                        .designationTitle(hit.employee().designationTitle())
+                        .score(hit.score())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Typeahead over display names ("first last" and "last first") and emails, answered entirely from memory.
+     */
+    public List<EmployeeSuggestion> suggest(String prefix, int limit, String username, boolean isAdmin) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        ensureLoaded();
+        Long departmentId = null;
+        if (!isAdmin) {
+            departmentId = managerDepartmentId(username);
+            if (departmentId == null) {
+                return List.of();
+            }
+        }
+        List<EmployeeSuggestion> suggestions = new ArrayList<>();
+        for (Long id : suggestIndex.suggest(prefix, limit, departmentId)) {
+            IndexedEmployee e = index.get(id);
+            if (e != null) {
+                suggestions.add(EmployeeSuggestion.builder()
+                        .id(e.id())
+                        .displayName(e.firstName() + " " + e.lastName())
+                        .email(e.email())
+                        .departmentName(e.departmentName())
+                        .designationTitle(e.designationTitle())
+                        .build());
+            }
+        }
+        return suggestions;
+    }
+
+    private ChangeFeedToken refreshEmployees(ChangeFeedToken watermark, LocalDateTime now, LocalDateTime settled) {
+        ChangeFeedToken cursor = watermark;
+        List<Employee> rows;
+        do {
+            rows = employeeRepository.findChangedSince(
+                    cursor.updatedAt(), cursor.id(), now, PageRequest.of(0, refreshPageSize));
+            for (Employee emp : rows) {
+                if (emp.getDeletedAt() != null) {
+                    evict(emp.getId());
+                } else {
+                    apply(toIndexed(emp), isSearchable(emp));
+                }
+                cursor = new ChangeFeedToken(emp.getUpdatedAt(), emp.getId());
+                if (emp.getUpdatedAt().isBefore(settled)) {
+                    watermark = cursor;
+                }
+            }
+        } while (rows.size() == refreshPageSize);
+        return watermark;
+    }
+
+    private ChangeFeedToken refreshDepartments(ChangeFeedToken watermark, LocalDateTime now, LocalDateTime settled) {
+        ChangeFeedToken cursor = watermark;
+        List<Department> rows;
+        do {
+            rows = departmentRepository.findChangedSince(
+                    cursor.updatedAt(), cursor.id(), now, PageRequest.of(0, refreshPageSize));
+            for (Department dept : rows) {
+                for (IndexedEmployee doc : liveEmployees.values()) {
+                    if (dept.getId().equals(doc.departmentId()) && !Objects.equals(dept.getName(), doc.departmentName())) {
+                        apply(doc.withDepartmentName(dept.getName()), index.get(doc.id()) != null);
+                    }
+                }
+                cursor = new ChangeFeedToken(dept.getUpdatedAt(), dept.getId());
+                if (dept.getUpdatedAt().isBefore(settled)) {
+                    watermark = cursor;
+                }
+            }
+        } while (rows.size() == refreshPageSize);
+        return watermark;
+    }
+
+    private ChangeFeedToken refreshDesignations(ChangeFeedToken watermark, LocalDateTime now, LocalDateTime settled) {
+        ChangeFeedToken cursor = watermark;
+        List<Designation> rows;
+        do {
+            rows = designationRepository.findChangedSince(
+                    cursor.updatedAt(), cursor.id(), now, PageRequest.of(0, refreshPageSize));
+            for (Designation desig : rows) {
+                for (IndexedEmployee doc : liveEmployees.values()) {
+                    if (desig.getId().equals(doc.designationId())
+                            && !Objects.equals(desig.getTitle(), doc.designationTitle())) {
+                        apply(doc.withDesignationTitle(desig.getTitle()), index.get(doc.id()) != null);
+                    }
+                }
+                cursor = new ChangeFeedToken(desig.getUpdatedAt(), desig.getId());
+                if (desig.getUpdatedAt().isBefore(settled)) {
+                    watermark = cursor;
+                }
+            }
+        } while (rows.size() == refreshPageSize);
+        return watermark;
+    }
+
+    /**
+     * Records the employee's current state; only a {@code searchable} one is (re)indexed, any other is taken out of
+     * the search and suggest indexes.
+     */
+    private void apply(IndexedEmployee doc, boolean searchable) {
+        IndexedEmployee previousLive = liveEmployees.put(doc.id(), doc);
+        if (previousLive != null && previousLive.userId() != null && !previousLive.userId().equals(doc.userId())) {
+            employeeIdsByUserId.remove(previousLive.userId(), doc.id());
+        }
+        if (doc.userId() != null) {
+            employeeIdsByUserId.put(doc.userId(), doc.id());
+        }
+        if (searchable) {
+            IndexedEmployee previous = index.put(doc);
+            suggestIndex.put(previous, doc);
+        } else {
+            unindex(doc.id());
+        }
+    }
+
+    private void evict(Long employeeId) {
+        IndexedEmployee previousLive = liveEmployees.remove(employeeId);
+        if (previousLive != null && previousLive.userId() != null) {
+            employeeIdsByUserId.remove(previousLive.userId(), employeeId);
+        }
+        unindex(employeeId);
+    }
+
+    private void unindex(Long employeeId) {
+        IndexedEmployee previous = index.remove(employeeId);
+        if (previous != null) {
+            suggestIndex.remove(previous);
+        }
+    }
+
+    private static boolean isSearchable(Employee emp) {
+        return !Boolean.FALSE.equals(emp.getIsActive())
+                && (emp.getEmploymentStatus() == null || emp.getEmploymentStatus() == Employee.EmploymentStatus.ACTIVE);
+    }
+
+    private IndexedEmployee toIndexed(Employee emp) {
+        return IndexedEmployee.of(emp, emp.getDepartment() != null ? emp.getDepartment().getName() : null);
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            throw new ServiceUnavailableException("Search index is still loading, try again shortly");
+        }
+    }
+
+    private Long managerDepartmentId(String username) {
+        Long userId = userIdsByUsername.get(username);
+        if (userId == null) {
+            userId = userRepository.findByUsername(username).map(User::getId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
+            userIdsByUsername.put(username, userId);
+        }
+        Long employeeId = employeeIdsByUserId.get(userId);
+        IndexedEmployee manager = employeeId != null ? liveEmployees.get(employeeId) : null;
+        if (manager == null) {
+            throw new ResourceNotFoundException("Employee profile not found for manager: " + username);
+        }
+        return manager.departmentId();
+    }
+}
@@ -1,22 +1,40 @@
 package com.ems.service;
 
+import com.ems.analytics.SalaryPoint;
+import com.ems.audit.AuditField;
+import com.ems.audit.FieldChanges;
+import com.ems.cache.CacheNames;
+import com.ems.cache.JsonFragmentCache;
 import com.ems.dto.request.EmployeeRequest;
 import com.ems.dto.request.ResignRequest;
 import com.ems.dto.request.UpdateProfileRequest;
+import com.ems.dto.response.BatchGetResponse;
+import com.ems.dto.response.ChangeFeedResponse;
 import com.ems.dto.response.EmployeeResponse;
+import com.ems.dto.response.JsonFragments;
+import com.ems.dto.response.ProjectedRows;
 import com.ems.entity.*;
+import com.ems.event.DomainEventPublisher;
+import com.ems.event.DomainEventType;
 import com.ems.exception.BadRequestException;
-import com.ems.exception.DuplicateResourceException;
+import com.ems.exception.PreconditionFailedException;
 import com.ems.exception.ResourceNotFoundException;
 import com.ems.repository.*;
+import com.ems.security.DepartmentScope;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -28,36 +46,77 @@ public class EmployeeService {
     private final UserRepository userRepository;
     private final DepartmentRepository departmentRepository;
     private final DesignationRepository designationRepository;
-    private final AuditLogService auditLogService;
-
+    private final DomainEventPublisher eventPublisher;
+    private final SalaryStatisticsService salaryStatisticsService;
+    private final DepartmentScope departmentScope;
+    private final JsonFragmentCache jsonFragmentCache;
+    private final EmployeeHistoryService employeeHistoryService;
+
+    @Value("${ems.changes.settle-seconds:2}")
+    private long changeFeedSettleSeconds;
+
+    /**
+     * Active employees in the caller's {@link DepartmentScope}: all of them for admins, the own department otherwise.
+     */
     @Transactional(readOnly = true)
-    public List<EmployeeResponse> getAllEmployees() {
-        return employeeRepository.findAllActive().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public JsonFragments getAllEmployees() {
+        return jsonFragmentCache.fragments(CacheNames.EMPLOYEE_JSON, findEmployeesInScope(),
+                Employee::getId, EmployeeService::fragmentVersion, this::mapToResponse);
+    }
+
+    /**
+     * Changes whenever the employee row, its department, designation or reporting manager does, since the response
+     * embeds their names.
+     */
+    private static String fragmentVersion(Employee emp) {
+        Department dept = emp.getDepartment();
+        Designation designation = emp.getDesignation();
+        Employee manager = emp.getReportingManager();
+        return emp.getVersion()
+                + ":" + (dept != null ? dept.getId() + "@" + dept.getVersion() : "-")
+                + ":" + (designation != null ? designation.getId() + "@" + designation.getVersion() : "-")
+                + ":" + (manager != null ? manager.getId() + "@" + manager.getVersion() : "-");
     }
 
+    /**
+     * The {@code ?fields=} variant of {@link #getAllEmployees()}: only the named properties, read straight from
+     * the entities.
+     */
     @Transactional(readOnly = true)
-    public List<EmployeeResponse> getEmployeesForManager(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
-        Employee manager = employeeRepository.findByUser(user)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee profile not found for manager: " + username));
-        if (manager.getDepartment() == null) {
-            return List.of();
+    public ProjectedRows getEmployeeFields(String fields) {
+        EmployeeFieldProjection projection = EmployeeFieldProjection.parse(fields);
+        return projection.project(findEmployeesInScope());
+    }
+
+    private List<Employee> findEmployeesInScope() {
+        Long departmentId = departmentScope.departmentFilter();
+        if (departmentId == null) {
+            return employeeRepository.findAllActive();
         }
-        return employeeRepository.findByDepartmentId(manager.getDepartment().getId()).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return DepartmentScope.NO_DEPARTMENT.equals(departmentId)
+                ? List.of()
+                : employeeRepository.findByDepartmentId(departmentId);
     }
 
     @Transactional(readOnly = true)
     public EmployeeResponse getEmployeeById(Long id) {
-        Employee emp = employeeRepository.findActiveById(id)
+        Employee emp = employeeRepository.findActiveByIdInDepartment(id, departmentScope.departmentFilter())
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
         return mapToResponse(emp);
     }
 
+    /**
+     * Active employees in the caller's scope for the given ids in one query, in request order, with a
+     * not-found entry for each id that does not resolve.
+     */
+    @Transactional(readOnly = true)
+    public BatchGetResponse<EmployeeResponse> getEmployeesByIds(List<Long> ids) {
+        Map<Long, Employee> byId = employeeRepository
+                .findActiveByIdInDepartment(new LinkedHashSet<>(ids), departmentScope.departmentFilter()).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        return BatchGetResponse.of(ids, byId, this::mapToResponse);
+    }
+
     @Transactional(readOnly = true)
     public EmployeeResponse getEmployeeByUsername(String username) {
         User user = userRepository.findByUsername(username)
@@ -67,21 +126,28 @@ public class EmployeeService {
         return mapToResponse(emp);
     }
 
+    /**
+     * Employees created, updated or soft-deleted after the given token, oldest first; see {@link ChangeFeeds}.
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeedResponse<EmployeeResponse> getChanges(String since, int limit) {
+        return ChangeFeeds.read(since, limit, changeFeedSettleSeconds, employeeRepository::findChangedSince,
+                emp -> new ChangeFeedToken(emp.getUpdatedAt(), emp.getId()), emp -> emp.getDeletedAt() != null,
+                Employee::getId, this::mapToResponse);
+    }
+
     @Transactional
     public EmployeeResponse createEmployee(EmployeeRequest request, String performedBy) {
-        if (employeeRepository.existsByEmail(request.getEmail())) {
-            throw new DuplicateResourceException("Employee email already exists: " + request.getEmail());
-        }
-
+        // duplicate emails and a second profile for the same user are rejected by uk_employees_email / uk_employees_user
         User user = null;
         if (request.getUserId() != null) {
             user = userRepository.findById(request.getUserId())
                     .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + request.getUserId()));
-            if (employeeRepository.findByUser(user).isPresent()) {
-                throw new DuplicateResourceException("Employee profile already exists for this user");
-            }
         }
 
+        Long scope = departmentScope.departmentFilter();
+        requireInScope(scope, request.getDepartmentId());
+
         final User finalUser = user;
         Employee emp = Employee.builder()
                 .user(finalUser)
@@ -109,26 +175,32 @@ public class EmployeeService {
         }
 
         if (request.getReportingManagerId() != null) {
-            Employee manager = employeeRepository.findActiveById(request.getReportingManagerId())
+            Employee manager = employeeRepository.findActiveByIdInDepartment(request.getReportingManagerId(), scope)
                     .orElseThrow(() -> new ResourceNotFoundException("Reporting manager not found"));
             emp.setReportingManager(manager);
         }
 
-        Employee saved = employeeRepository.save(emp);
-        auditLogService.log("CREATE", "EMPLOYEE", saved.getId(), performedBy,
+        Employee saved = employeeRepository.saveAndFlush(emp);
+        employeeHistoryService.recordAll(List.of(saved.getId()), LocalDateTime.now());
+        salaryStatisticsService.recordChange(saved.getId(), null, SalaryPoint.of(saved));
+        eventPublisher.publish(DomainEventType.EMPLOYEE_CREATED, saved.getId(), performedBy,
                 "Created employee: " + saved.getFirstName() + " " + saved.getLastName());
         log.info("Employee created: {} {}", saved.getFirstName(), saved.getLastName());
         return mapToResponse(saved);
     }
 
     @Transactional
-    public EmployeeResponse updateEmployee(Long id, EmployeeRequest request, String performedBy) {
-        Employee emp = employeeRepository.findActiveById(id)
+    public EmployeeResponse updateEmployee(Long id, EmployeeRequest request, String performedBy, Long expectedVersion) {
+        Long scope = departmentScope.departmentFilter();
+        Employee emp = employeeRepository.findActiveByIdInDepartment(id, scope)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
-
-        if (!emp.getEmail().equals(request.getEmail()) && employeeRepository.existsByEmail(request.getEmail())) {
-            throw new DuplicateResourceException("Email already in use: " + request.getEmail());
+        if (expectedVersion != null && !expectedVersion.equals(emp.getVersion())) {
+            throw new PreconditionFailedException("Employee " + id + " has changed since version " + expectedVersion);
         }
+        requireInScope(scope, request.getDepartmentId());
+        SalaryPoint salaryBefore = SalaryPoint.of(emp);
+        Map<EmployeeHistoryField, String> historyBefore = EmployeeHistoryField.snapshot(emp);
+        Map<AuditField, Object> auditBefore = auditState(emp);
 
         emp.setFirstName(request.getFirstName());
         emp.setLastName(request.getLastName());
@@ -158,40 +230,49 @@ public class EmployeeService {
             if (request.getReportingManagerId().equals(id)) {
                 throw new BadRequestException("Employee cannot be their own reporting manager");
             }
-            Employee manager = employeeRepository.findActiveById(request.getReportingManagerId())
+            Employee manager = employeeRepository.findActiveByIdInDepartment(request.getReportingManagerId(), scope)
                     .orElseThrow(() -> new ResourceNotFoundException("Reporting manager not found"));
             emp.setReportingManager(manager);
         } else {
             emp.setReportingManager(null);
         }
 
-        Employee saved = employeeRepository.save(emp);
-        auditLogService.log("UPDATE", "EMPLOYEE", saved.getId(), performedBy,
-                "Updated employee: " + saved.getFirstName() + " " + saved.getLastName());
+        Employee saved = employeeRepository.saveAndFlush(emp);
+        employeeHistoryService.record(List.of(id),
+                EmployeeHistoryField.changed(historyBefore, EmployeeHistoryField.snapshot(saved)), LocalDateTime.now());
+        salaryStatisticsService.recordChange(saved.getId(), salaryBefore, SalaryPoint.of(saved));
+        eventPublisher.publish(DomainEventType.EMPLOYEE_UPDATED, saved.getId(), performedBy,
+                "Updated employee: " + saved.getFirstName() + " " + saved.getLastName(),
+                changeData(auditBefore, saved));
         return mapToResponse(saved);
     }
 
     @Transactional
-    public EmployeeResponse updateOwnProfile(String username, UpdateProfileRequest request) {
+    public EmployeeResponse updateOwnProfile(String username, UpdateProfileRequest request, Long expectedVersion) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         Employee emp = employeeRepository.findByUser(user)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee profile not found"));
+        if (expectedVersion != null && !expectedVersion.equals(emp.getVersion())) {
+            throw new PreconditionFailedException("Your profile has changed since version " + expectedVersion);
+        }
+        Map<AuditField, Object> auditBefore = auditState(emp);
 
         if (request.getFirstName() != null) emp.setFirstName(request.getFirstName());
         if (request.getLastName() != null) emp.setLastName(request.getLastName());
         if (request.getPhone() != null) emp.setPhone(request.getPhone());
 
         if (request.getEmail() != null && !request.getEmail().equals(emp.getEmail())) {
-            if (employeeRepository.existsByEmail(request.getEmail())) {
-                throw new DuplicateResourceException("Email already in use: " + request.getEmail());
-            }
             emp.setEmail(request.getEmail());
             user.setEmail(request.getEmail());
             userRepository.save(user);
         }
 
-        return mapToResponse(employeeRepository.save(emp));
+        Employee saved = employeeRepository.saveAndFlush(emp);
+        eventPublisher.publish(DomainEventType.EMPLOYEE_UPDATED, saved.getId(), username,
+                "Updated own profile: " + saved.getFirstName() + " " + saved.getLastName(),
+                changeData(auditBefore, saved));
+        return mapToResponse(saved);
     }
 
     @Transactional
@@ -213,28 +294,72 @@ public class EmployeeService {
             throw new BadRequestException("Last working day must be in the future");
         }
 
+        Map<AuditField, Object> auditBefore = auditState(emp);
         emp.setEmploymentStatus(Employee.EmploymentStatus.NOTICE_PERIOD);
         emp.setResignationDate(today);
         emp.setNoticePeriodEndDate(request.getLastWorkingDay());
 
-        auditLogService.log("RESIGN", "EMPLOYEE", emp.getId(), username,
-                "Employee submitted resignation. Last working day: " + request.getLastWorkingDay());
+        eventPublisher.publish(DomainEventType.EMPLOYEE_RESIGNED, emp.getId(), username,
+                "Employee submitted resignation. Last working day: " + request.getLastWorkingDay(),
+                changeData(auditBefore, emp));
 
-        return mapToResponse(employeeRepository.save(emp));
+        Employee saved = employeeRepository.saveAndFlush(emp);
+        employeeHistoryService.record(List.of(saved.getId()), EnumSet.of(EmployeeHistoryField.EMPLOYMENT_STATUS),
+                LocalDateTime.now());
+        return mapToResponse(saved);
     }
 
     @Transactional
     public void deleteEmployee(Long id, String performedBy) {
         Employee emp = employeeRepository.findActiveById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
-        emp.setDeletedAt(LocalDateTime.now());
+        salaryStatisticsService.recordChange(emp.getId(), SalaryPoint.of(emp), null);
+        LocalDateTime now = LocalDateTime.now();
+        emp.setDeletedAt(now);
         emp.setIsActive(false);
         employeeRepository.save(emp);
-        auditLogService.log("DELETE", "EMPLOYEE", id, performedBy,
+        employeeHistoryService.closeAll(List.of(id), now);
+        eventPublisher.publish(DomainEventType.EMPLOYEE_DELETED, id, performedBy,
                 "Deleted employee: " + emp.getFirstName() + " " + emp.getLastName());
         log.info("Employee soft deleted: {} {}", emp.getFirstName(), emp.getLastName());
     }
 
+    /**
+     * A caller limited to one department ({@code scope} from {@link DepartmentScope#departmentFilter()}, null for
+     * admins) can only place employees in that department.
+     */
+    private static void requireInScope(Long scope, Long departmentId) {
+        if (scope != null && !scope.equals(departmentId)) {
+            throw new BadRequestException("You can only place employees in your own department");
+        }
+    }
+
+    /**
+     * The audited fields of an employee, taken before a write and diffed against the result for the audit entry.
+     */
+    private static Map<AuditField, Object> auditState(Employee emp) {
+        Map<AuditField, Object> state = new EnumMap<>(AuditField.class);
+        state.put(AuditField.FIRST_NAME, emp.getFirstName());
+        state.put(AuditField.LAST_NAME, emp.getLastName());
+        state.put(AuditField.EMAIL, emp.getEmail());
+        state.put(AuditField.PHONE, emp.getPhone());
+        state.put(AuditField.DATE_OF_BIRTH, emp.getDateOfBirth());
+        state.put(AuditField.DATE_OF_JOINING, emp.getDateOfJoining());
+        state.put(AuditField.SALARY, emp.getSalary());
+        state.put(AuditField.DEPARTMENT_ID, emp.getDepartment() != null ? emp.getDepartment().getId() : null);
+        state.put(AuditField.DESIGNATION_ID, emp.getDesignation() != null ? emp.getDesignation().getId() : null);
+        state.put(AuditField.REPORTING_MANAGER_ID,
+                emp.getReportingManager() != null ? emp.getReportingManager().getId() : null);
+        state.put(AuditField.EMPLOYMENT_STATUS, emp.getEmploymentStatus());
+        state.put(AuditField.RESIGNATION_DATE, emp.getResignationDate());
+        state.put(AuditField.NOTICE_PERIOD_END_DATE, emp.getNoticePeriodEndDate());
+        return state;
+    }
+
+    private static Map<String, Object> changeData(Map<AuditField, Object> before, Employee after) {
+        return Map.of(FieldChanges.DATA_KEY, FieldChanges.between(before, auditState(after)).toList());
+    }
+
     private EmployeeResponse mapToResponse(Employee emp) {
         return EmployeeResponse.builder()
                 .id(emp.getId())
@@ -257,7 +382,12 @@ public class EmployeeService {
                 .employmentStatus(emp.getEmploymentStatus() != null ? emp.getEmploymentStatus().name() : "ACTIVE")
                 .resignationDate(emp.getResignationDate())
                 .noticePeriodEndDate(emp.getNoticePeriodEndDate())
+                .version(emp.getVersion())
                 .createdAt(emp.getCreatedAt())
+                .departmentVersion(emp.getDepartment() != null ? emp.getDepartment().getVersion() : null)
+                .designationVersion(emp.getDesignation() != null ? emp.getDesignation().getVersion() : null)
+                .reportingManagerVersion(emp.getReportingManager() != null
+                        ? emp.getReportingManager().getVersion() : null)
                 .build();
     }
 }
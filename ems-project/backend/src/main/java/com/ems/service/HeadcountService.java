@@ -0,0 +1,401 @@
+package com.ems.service;
+
+import com.ems.analytics.DailyCounts;
+import com.ems.dto.response.DepartmentHeadcount;
+import com.ems.dto.response.HeadcountPoint;
+import com.ems.dto.response.HeadcountSeriesResponse;
+import com.ems.entity.Department;
+import com.ems.entity.Employee;
+import com.ems.entity.HeadcountSeries;
+import com.ems.exception.BadRequestException;
+import com.ems.job.ClusterJobRunner;
+import com.ems.repository.ArchiveRepository;
+import com.ems.repository.DepartmentRepository;
+import com.ems.repository.EmployeeRepository;
+import com.ems.repository.HeadcountSeriesRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Daily headcount per department, kept as one {@link HeadcountSeries} row per department and year.
+ * <p>
+ * A nightly job, run on one node through {@link ClusterJobRunner}, records the previous day's counts with one
+ * grouped query. History before the first run is reconstructed from joining, notice period end, resignation and
+ * deletion dates, archived employees included; reconstruction attributes an employee's whole tenure to their
+ * current department, since department moves are not recorded. Once the nightly job is running, each day is
+ * frozen with the department as it stood that day.
+ * <p>
+ * Queries read at most a few rows per department and downsample in memory to weekly or monthly points.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HeadcountService {
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+    private static final long MAX_RANGE_DAYS = 3_660;
+    private static final Long NONE = 0L;
+    private static final String JOB_NAME = "headcount-daily";
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    private final EmployeeRepository employeeRepository;
+    private final ArchiveRepository archiveRepository;
+    private final DepartmentRepository departmentRepository;
+    private final HeadcountSeriesRepository headcountSeriesRepository;
+    private final ClusterJobRunner clusterJobRunner;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${ems.headcount.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ems.headcount.backfill-years:5}")
+    private int backfillYears;
+
+    private enum Interval { DAY, WEEK, MONTH }
+
+    /**
+     * Catches up on startup, which on a fresh install reconstructs the last {@code ems.headcount.backfill-years}.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpOnStartup() {
+        recordDaily();
+    }
+
+    /**
+     * Records yesterday's headcount, first reconstructing any days missed since the last recorded one.
+     * Runs on one node at a time.
+     */
+    @Scheduled(cron = "${ems.headcount.cron:0 5 0 * * *}")
+    public void recordDaily() {
+        if (!enabled) {
+            return;
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        clusterJobRunner.run(JOB_NAME, LEASE, context -> {
+            Integer days = transaction.execute(status -> catchUp(LocalDate.now().minusDays(1)));
+            return days != null ? days : 0;
+        });
+    }
+
+    private int catchUp(LocalDate yesterday) {
+        LocalDate last = lastRecordedDay();
+        if (last != null && !last.isBefore(yesterday)) {
+            return 0;
+        }
+        LocalDate gapStart = last != null ? last.plusDays(1) : yesterday.minusYears(backfillYears).withDayOfYear(1);
+        int days = 0;
+        if (gapStart.isBefore(yesterday)) {
+            log.info("Reconstructing headcount from {}", gapStart);
+            days = backfill(gapStart, yesterday.minusDays(1));
+        }
+        record(yesterday);
+        return days + 1;
+    }
+
+    /**
+     * Reconstructs and overwrites the daily counts for {@code from..to} inclusive. Returns the number of days written.
+     */
+    @Transactional
+    public int backfill(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        // per department, +1 on the first counted day and -1 on the first day after; a prefix sum gives the counts
+        Map<Long, int[]> deltas = new HashMap<>();
+        long afterId = 0;
+        List<Object[]> page;
+        do {
+            page = employeeRepository.findHeadcountRowsAfter(afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            page.forEach(row -> addTenure(row, from, days, deltas));
+            if (!page.isEmpty()) {
+                afterId = (Long) page.get(page.size() - 1)[0];
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        // employees deleted long enough ago have been moved to the archive but still count for their tenure
+        afterId = 0;
+        do {
+            page = archiveRepository.findArchivedHeadcountRowsAfter(afterId, LOAD_PAGE_SIZE);
+            page.forEach(row -> addTenure(row, from, days, deltas));
+            if (!page.isEmpty()) {
+                afterId = (Long) page.get(page.size() - 1)[0];
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+
+        Map<String, HeadcountSeries> rows = load(from.getYear(), to.getYear());
+        Set<Long> departments = new HashSet<>(deltas.keySet());
+        rows.values().forEach(row -> departments.add(row.getDepartmentId()));
+        Map<String, DailyCounts> decoded = new HashMap<>();
+        for (Long departmentId : departments) {
+            int[] delta = deltas.get(departmentId);
+            int running = 0;
+            for (int i = 0; i < days; i++) {
+                running += delta == null ? 0 : delta[i];
+                LocalDate day = from.plusDays(i);
+                counts(rows, decoded, departmentId, day.getYear()).set(day, running);
+            }
+        }
+        save(rows, decoded);
+        log.info("Headcount backfilled for {} departments over {} days", departments.size(), days);
+        return days;
+    }
+
+    @Transactional(readOnly = true)
+    public HeadcountSeriesResponse getHeadcount(LocalDate from, LocalDate to, String interval, Long departmentId) {
+        LocalDate end = to != null ? to : LocalDate.now().minusDays(1);
+        LocalDate start = from != null ? from : end.minusYears(1).plusDays(1);
+        validateRange(start, end);
+        Interval bucket = parseInterval(interval);
+        int days = (int) ChronoUnit.DAYS.between(start, end) + 1;
+
+        Map<Long, int[]> series = new TreeMap<>();
+        for (HeadcountSeries row : headcountSeriesRepository.findByYearRange(start.getYear(), end.getYear())) {
+            if (departmentId != null && !departmentId.equals(row.getDepartmentId())) {
+                continue;
+            }
+            DailyCounts counts = DailyCounts.decode(row.getYear(), row.getDailyCounts());
+            int[] values = series.computeIfAbsent(row.getDepartmentId(), k -> unknown(days));
+            LocalDate first = start.getYear() == row.getYear() ? start : LocalDate.of(row.getYear(), 1, 1);
+            LocalDate last = end.getYear() == row.getYear() ? end : LocalDate.of(row.getYear(), 12, 31);
+            for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+                values[(int) ChronoUnit.DAYS.between(start, day)] = counts.get(day);
+            }
+        }
+
+        int[] total = unknown(days);
+        for (int[] values : series.values()) {
+            for (int i = 0; i < days; i++) {
+                if (values[i] != DailyCounts.UNKNOWN) {
+                    total[i] = (total[i] == DailyCounts.UNKNOWN ? 0 : total[i]) + values[i];
+                }
+            }
+        }
+
+        Map<Long, String> names = new HashMap<>();
+        for (Department department : departmentRepository.findAll()) {
+            names.put(department.getId(), department.getName());
+        }
+        List<DepartmentHeadcount> departments = new ArrayList<>();
+        series.forEach((id, values) -> departments.add(DepartmentHeadcount.builder()
+                .departmentId(NONE.equals(id) ? null : id)
+                .departmentName(NONE.equals(id) ? "(none)" : names.get(id))
+                .points(downsample(start, values, bucket))
+                .build()));
+        departments.sort(Comparator.comparing(DepartmentHeadcount::getDepartmentName,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+
+        return HeadcountSeriesResponse.builder()
+                .from(start)
+                .to(end)
+                .interval(bucket.name())
+                .total(downsample(start, total, bucket))
+                .departments(departments)
+                .build();
+    }
+
+    private static void addTenure(Object[] row, LocalDate from, int days, Map<Long, int[]> deltas) {
+        LocalDate joined = (LocalDate) row[2];
+        LocalDate exit = exitDay(joined, (LocalDate) row[3], (LocalDate) row[4],
+                (Employee.EmploymentStatus) row[5], (LocalDateTime) row[6]);
+        int start = (int) Math.max(0, ChronoUnit.DAYS.between(from, joined));
+        int end = exit == null ? days
+                : (int) Math.min(days, Math.max(0, ChronoUnit.DAYS.between(from, exit)));
+        if (start < end) {
+            int[] delta = deltas.computeIfAbsent(key((Long) row[1]), k -> new int[days + 1]);
+            delta[start]++;
+            delta[end]--;
+        }
+    }
+
+    private void record(LocalDate day) {
+        Map<String, HeadcountSeries> rows = load(day.getYear(), day.getYear());
+        Map<String, DailyCounts> decoded = new HashMap<>();
+        // departments that had staff earlier in the year but none today get an explicit zero
+        for (HeadcountSeries row : rows.values()) {
+            counts(rows, decoded, row.getDepartmentId(), day.getYear()).set(day, 0);
+        }
+        for (Object[] row : employeeRepository.countHeadcountByDepartment(day, day.plusDays(1).atStartOfDay(),
+                Employee.EmploymentStatus.RESIGNED)) {
+            counts(rows, decoded, key((Long) row[0]), day.getYear()).set(day, ((Long) row[1]).intValue());
+        }
+        save(rows, decoded);
+        log.info("Headcount recorded for {}", day);
+    }
+
+    private LocalDate lastRecordedDay() {
+        Integer year = headcountSeriesRepository.findLatestYear();
+        if (year == null) {
+            return null;
+        }
+        LocalDate last = null;
+        for (HeadcountSeries row : headcountSeriesRepository.findByYearRange(year, year)) {
+            LocalDate day = DailyCounts.decode(year, row.getDailyCounts()).lastRecordedDay();
+            if (day != null && (last == null || day.isAfter(last))) {
+                last = day;
+            }
+        }
+        return last;
+    }
+
+    /**
+     * First day the employee no longer counts, or null while still employed. A resignation without a notice
+     * period end counts through the resignation date; a resignation with neither date never counts.
+     */
+    static LocalDate exitDay(LocalDate joined, LocalDate resignationDate, LocalDate noticePeriodEndDate,
+                             Employee.EmploymentStatus status, LocalDateTime deletedAt) {
+        LocalDate exit = null;
+        if (noticePeriodEndDate != null) {
+            exit = noticePeriodEndDate.plusDays(1);
+        } else if (status == Employee.EmploymentStatus.RESIGNED) {
+            exit = resignationDate != null ? resignationDate.plusDays(1) : joined;
+        }
+        if (deletedAt != null) {
+            LocalDate deleted = deletedAt.toLocalDate();
+            if (exit == null || deleted.isBefore(exit)) {
+                exit = deleted;
+            }
+        }
+        return exit;
+    }
+
+    private Map<String, HeadcountSeries> load(int fromYear, int toYear) {
+        Map<String, HeadcountSeries> rows = new HashMap<>();
+        for (HeadcountSeries row : headcountSeriesRepository.findByYearRange(fromYear, toYear)) {
+            rows.put(rowKey(row.getDepartmentId(), row.getYear()), row);
+        }
+        return rows;
+    }
+
+    private static DailyCounts counts(Map<String, HeadcountSeries> rows, Map<String, DailyCounts> decoded,
+                                      Long departmentId, int year) {
+        String rowKey = rowKey(departmentId, year);
+        return decoded.computeIfAbsent(rowKey, k -> {
+            HeadcountSeries row = rows.get(k);
+            if (row == null) {
+                rows.put(k, HeadcountSeries.builder().departmentId(departmentId).year(year).build());
+                return DailyCounts.empty(year);
+            }
+            return DailyCounts.decode(year, row.getDailyCounts());
+        });
+    }
+
+    private void save(Map<String, HeadcountSeries> rows, Map<String, DailyCounts> decoded) {
+        List<HeadcountSeries> changed = new ArrayList<>(decoded.size());
+        decoded.forEach((rowKey, counts) -> {
+            HeadcountSeries row = rows.get(rowKey);
+            row.setDailyCounts(counts.encode());
+            changed.add(row);
+        });
+        headcountSeriesRepository.saveAll(changed);
+    }
+
+    private static List<HeadcountPoint> downsample(LocalDate from, int[] values, Interval interval) {
+        List<HeadcountPoint> points = new ArrayList<>();
+        LocalDate periodStart = null;
+        int last = DailyCounts.UNKNOWN;
+        long sum = 0;
+        int recorded = 0;
+        for (int i = 0; i < values.length; i++) {
+            LocalDate start = periodStart(from.plusDays(i), interval);
+            if (!start.equals(periodStart)) {
+                if (periodStart != null) {
+                    points.add(point(periodStart, last, sum, recorded));
+                }
+                periodStart = start;
+                last = DailyCounts.UNKNOWN;
+                sum = 0;
+                recorded = 0;
+            }
+            if (values[i] != DailyCounts.UNKNOWN) {
+                last = values[i];
+                sum += values[i];
+                recorded++;
+            }
+        }
+        if (periodStart != null) {
+            points.add(point(periodStart, last, sum, recorded));
+        }
+        return points;
+    }
+
+    private static HeadcountPoint point(LocalDate periodStart, int last, long sum, int recorded) {
+        return HeadcountPoint.builder()
+                .periodStart(periodStart)
+                .headcount(recorded > 0 ? last : null)
+                .average(recorded > 0
+                        ? BigDecimal.valueOf(sum).divide(BigDecimal.valueOf(recorded), 2, RoundingMode.HALF_UP) : null)
+                .build();
+    }
+
+    private static LocalDate periodStart(LocalDate day, Interval interval) {
+        return switch (interval) {
+            case DAY -> day;
+            case WEEK -> day.with(DayOfWeek.MONDAY);
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    private static Interval parseInterval(String interval) {
+        if (interval == null) {
+            return Interval.DAY;
+        }
+        try {
+            return Interval.valueOf(interval.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("interval must be DAY, WEEK or MONTH");
+        }
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new BadRequestException("from and to are required");
+        }
+        if (from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new BadRequestException("Range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+
+    private static int[] unknown(int days) {
+        int[] values = new int[days];
+        Arrays.fill(values, DailyCounts.UNKNOWN);
+        return values;
+    }
+
+    private static Long key(Long departmentId) {
+        return departmentId == null ? NONE : departmentId;
+    }
+
+    private static String rowKey(Long departmentId, int year) {
+        return departmentId + ":" + year;
+    }
+}
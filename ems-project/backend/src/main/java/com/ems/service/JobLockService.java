@@ -0,0 +1,90 @@
+package com.ems.service;
+
+import com.ems.repository.JobLockRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Leases on named jobs in the {@code job_locks} table, so a scheduled job runs on one node at a time.
+ * A lease expires on its own if its holder dies; a holder that runs longer than the lease renews it by calling
+ * {@link #tryAcquire} again. Each call commits in its own transaction so the lease is visible to other nodes at once.
+ * Lease ends are computed here from the database's clock and bound as parameters, so the statements are plain SQL.
+ * <p>
+ * The node id defaults to host name plus a random suffix; {@code ems.jobs.node-id} overrides it, and separate
+ * instances with different ids behave as separate nodes against the same database.
+ */
+@Service
+public class JobLockService {
+
+    private final JobLockRepository jobLockRepository;
+    private final TransactionTemplate leaseTransaction;
+    private final String owner;
+
+    public JobLockService(JobLockRepository jobLockRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${ems.jobs.node-id:}") String nodeId) {
+        this.jobLockRepository = jobLockRepository;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.owner = nodeId == null || nodeId.isBlank()
+                ? hostName() + ":" + UUID.randomUUID().toString().substring(0, 8)
+                : nodeId;
+    }
+
+    /**
+     * Takes or renews the lease on {@code name}; false if another node holds an unexpired lease. The job's row is
+     * created on first use.
+     */
+    public boolean tryAcquire(String name, Duration lease) {
+        Boolean acquired = leaseTransaction.execute(status -> takeLease(name, lease));
+        if (acquired == null) {
+            create(name);
+            acquired = leaseTransaction.execute(status -> takeLease(name, lease));
+        }
+        return Boolean.TRUE.equals(acquired);
+    }
+
+    public void release(String name) {
+        leaseTransaction.executeWithoutResult(status -> jobLockRepository.release(name, owner));
+    }
+
+    public String owner() {
+        return owner;
+    }
+
+    // true when taken or renewed, false when another node holds it, null when the job has no row yet
+    private Boolean takeLease(String name, Duration lease) {
+        LocalDateTime now = jobLockRepository.databaseTime().toLocalDateTime();
+        if (jobLockRepository.acquire(name, owner, now, now.plus(lease)) == 1) {
+            return true;
+        }
+        return jobLockRepository.existsById(name) ? Boolean.FALSE : null;
+    }
+
+    private void create(String name) {
+        try {
+            leaseTransaction.executeWithoutResult(status ->
+                    jobLockRepository.create(name, jobLockRepository.databaseTime().toLocalDateTime()));
+        } catch (DataIntegrityViolationException e) {
+            // another node created it first; its row is just as good
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
@@ -8,7 +8,9 @@ import com.ems.exception.BadRequestException;
 import com.ems.exception.ResourceNotFoundException;
 import com.ems.repository.EmployeeRepository;
 import com.ems.repository.ManagerNoteRepository;
+import com.ems.repository.ScopedEmployee;
 import com.ems.repository.UserRepository;
+import com.ems.security.DepartmentScope;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,38 +25,45 @@ public class ManagerNoteService {
     private final ManagerNoteRepository managerNoteRepository;
     private final EmployeeRepository employeeRepository;
     private final UserRepository userRepository;
+    private final DepartmentScope departmentScope;
 
+    @Transactional(readOnly = true)
     public List<ManagerNoteResponse> getNotesForEmployee(Long employeeId) {
+        if (!departmentScope.canManage(employeeId)) {
+            throw new ResourceNotFoundException("Employee not found");
+        }
         return managerNoteRepository.findByEmployeeId(employeeId).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
     public List<ManagerNoteResponse> getNotesByManager(String username) {
-        Employee manager = getEmployeeByUsername(username);
-        return managerNoteRepository.findByManagerId(manager.getId()).stream()
+        return getNotesByManagerId(getEmployeeByUsername(username).getId());
+    }
+
+    @Transactional(readOnly = true)
+    public List<ManagerNoteResponse> getNotesByManagerId(Long managerId) {
+        return managerNoteRepository.findByManagerId(managerId).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
     @Transactional
     public ManagerNoteResponse addNote(ManagerNoteRequest request, String username) {
-        Employee manager = getEmployeeByUsername(username);
-        Employee employee = employeeRepository.findActiveById(request.getEmployeeId())
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
-
         // Manager can only add notes for employees in their department
-        if (manager.getDepartment() != null && employee.getDepartment() != null
-                && !manager.getDepartment().getId().equals(employee.getDepartment().getId())) {
-            throw new BadRequestException("You can only add notes for employees in your department");
-        }
+        ScopedEmployee employee = departmentScope.requireManageable(request.getEmployeeId(),
+                "You can only add notes for employees in your department");
+        ScopedEmployee manager = employeeRepository.findScopedByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee profile not found for: " + username));
 
+        // both rows are known to exist, and their names came with the queries above, so the proxies are never
+        // initialised
         ManagerNote note = ManagerNote.builder()
-                .manager(manager)
-                .employee(employee)
+                .manager(employeeRepository.getReferenceById(manager.id()))
+                .employee(employeeRepository.getReferenceById(employee.id()))
                 .note(request.getNote())
                 .build();
-        return mapToResponse(managerNoteRepository.save(note));
+        return mapToResponse(managerNoteRepository.save(note), employee.fullName(), manager.fullName());
     }
 
     @Transactional
@@ -76,12 +85,17 @@ public class ManagerNoteService {
     }
 
     private ManagerNoteResponse mapToResponse(ManagerNote n) {
+        return mapToResponse(n, n.getEmployee().getFirstName() + " " + n.getEmployee().getLastName(),
+                n.getManager().getFirstName() + " " + n.getManager().getLastName());
+    }
+
+    private ManagerNoteResponse mapToResponse(ManagerNote n, String employeeName, String managerName) {
         return ManagerNoteResponse.builder()
                 .id(n.getId())
                 .employeeId(n.getEmployee().getId())
-                .employeeName(n.getEmployee().getFirstName() + " " + n.getEmployee().getLastName())
+                .employeeName(employeeName)
                 .managerId(n.getManager().getId())
-                .managerName(n.getManager().getFirstName() + " " + n.getManager().getLastName())
+                .managerName(managerName)
                 .note(n.getNote())
                 .createdAt(n.getCreatedAt())
                 .updatedAt(n.getUpdatedAt())
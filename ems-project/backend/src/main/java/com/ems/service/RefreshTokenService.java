@@ -3,12 +3,17 @@ package com.ems.service;
 import com.ems.entity.RefreshToken;
 import com.ems.entity.User;
 import com.ems.exception.TokenRefreshException;
+import com.ems.job.ClusterJobRunner;
 import com.ems.repository.RefreshTokenRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -16,11 +21,19 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class RefreshTokenService {
 
+    private static final String REAPER_JOB = "refresh-token-reaper";
+    private static final int REAP_BATCH_SIZE = 1_000;
+
     private final RefreshTokenRepository refreshTokenRepository;
+    private final ClusterJobRunner clusterJobRunner;
+    private final PlatformTransactionManager transactionManager;
 
     @Value("${jwt.refresh-expiration}")
     private long refreshExpiration;
 
+    @Value("${ems.jobs.refresh-token-retention-days:7}")
+    private long retentionDays;
+
     @Transactional
     public RefreshToken createRefreshToken(User user) {
         refreshTokenRepository.revokeAllUserTokens(user);
@@ -53,4 +66,24 @@ public class RefreshTokenService {
     public void revokeAllUserTokens(User user) {
         refreshTokenRepository.revokeAllUserTokens(user);
     }
+
+    /**
+     * Deletes refresh tokens that expired more than {@code ems.jobs.refresh-token-retention-days} ago, in batches
+     * so no single statement holds many row locks.
+     */
+    @Scheduled(cron = "${ems.jobs.refresh-token-reaper-cron:0 0 3 * * *}")
+    public void reapExpiredTokens() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        clusterJobRunner.run(REAPER_JOB, Duration.ofMinutes(5), context -> {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+            int total = 0;
+            Integer deleted;
+            do {
+                deleted = transaction.execute(status ->
+                        refreshTokenRepository.deleteExpiredBefore(cutoff, REAP_BATCH_SIZE));
+                total += deleted != null ? deleted : 0;
+            } while (deleted != null && deleted == REAP_BATCH_SIZE && !context.isLeaseLost());
+            return total;
+        });
+    }
 }
@@ -1,5 +1,7 @@
 package com.ems.service;
 
+import com.ems.cache.CacheInvalidator;
+import com.ems.cache.CacheNames;
 import com.ems.dto.response.RoleResponse;
 import com.ems.entity.Role;
 import com.ems.exception.DuplicateResourceException;
@@ -17,6 +19,7 @@ import java.util.stream.Collectors;
 public class RoleService {
 
     private final RoleRepository roleRepository;
+    private final CacheInvalidator cacheInvalidator;
 
     @Transactional(readOnly = true)
     public List<RoleResponse> getAllRoles() {
@@ -46,6 +49,8 @@ public class RoleService {
         Role role = roleRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Role not found with id: " + id));
         roleRepository.delete(role);
+        // cached users carry role names, and finding the holders would cost more than reloading everyone
+        cacheInvalidator.invalidateAll(CacheNames.USERS);
     }
 
     private RoleResponse mapToResponse(Role role) {
@@ -0,0 +1,249 @@
+package com.ems.service;
+
+import com.ems.analytics.Dictionary;
+import com.ems.analytics.Dimension;
+import com.ems.analytics.SalaryDistributions;
+import com.ems.analytics.SalaryHistogram;
+import com.ems.analytics.SalaryPoint;
+import com.ems.analytics.SalarySummary;
+import com.ems.analytics.WorkforceSnapshot;
+import com.ems.analytics.WorkforceSnapshotRebuiltEvent;
+import com.ems.dto.response.SalaryGroupStatistics;
+import com.ems.dto.response.SalaryStatisticsResponse;
+import com.ems.exception.BadRequestException;
+import com.ems.exception.ServiceUnavailableException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Salary statistics per department and designation, in two modes:
+ * <ul>
+ *   <li>{@code EXACT} sorts each group's salaries from the latest workforce snapshot;</li>
+ *   <li>{@code STREAMING} reads per-group {@link SalaryHistogram}s that are seeded from each snapshot and then
+ *       adjusted as employees are created, updated or deleted, so they track salary changes between rebuilds.</li>
+ * </ul>
+ * Changes made on this node since a snapshot's read began are kept in a journal. The snapshot may or may not hold
+ * them already, so rather than replaying them, each journaled employee is moved from where the snapshot counted them
+ * to their latest journaled point. Changes made on other nodes show up with the next snapshot.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalaryStatisticsService {
+
+    private static final int MAX_JOURNAL = 100_000;
+    private static final Long NONE = 0L;
+
+    private final WorkforceAnalyticsService workforceAnalyticsService;
+
+    private Map<Long, Group> byDepartment = new HashMap<>();
+    private Map<Long, Group> byDesignation = new HashMap<>();
+    private final Deque<Change> journal = new ArrayDeque<>();
+    private boolean seeded;
+
+    private record Change(LocalDateTime committedAt, Long employeeId, SalaryPoint after) {
+    }
+
+    private static final class Group {
+        private String name;
+        private final SalaryHistogram histogram;
+
+        private Group(String name, SalaryHistogram histogram) {
+            this.name = name;
+            this.histogram = histogram;
+        }
+    }
+
+    /**
+     * Records the employee's salary move once the surrounding transaction commits; either side may be null for
+     * a hire or a deletion.
+     */
+    public void recordChange(Long employeeId, SalaryPoint before, SalaryPoint after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(employeeId, before, after);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(employeeId, before, after);
+            }
+        });
+    }
+
+    @EventListener
+    public synchronized void onSnapshotRebuilt(WorkforceSnapshotRebuiltEvent event) {
+        WorkforceSnapshot snapshot = event.snapshot();
+        Map<Long, Group> departments = seed(snapshot, Dimension.DEPARTMENT);
+        Map<Long, Group> designations = seed(snapshot, Dimension.DESIGNATION);
+        // committed before the read began, so the snapshot (read on the primary) holds them
+        journal.removeIf(change -> change.committedAt().isBefore(event.readStartedAt()));
+        Map<Long, SalaryPoint> latest = new LinkedHashMap<>();
+        for (Change change : journal) {
+            latest.put(change.employeeId(), change.after());
+        }
+        latest.forEach((employeeId, after) -> {
+            SalaryPoint counted = snapshot.salaryPointOf(employeeId);
+            if (!samePlace(counted, after)) {
+                move(departments, designations, counted, after);
+            }
+        });
+        byDepartment = departments;
+        byDesignation = designations;
+        seeded = true;
+    }
+
+    public SalaryStatisticsResponse getStatistics(String groupBy, String mode) {
+        Dimension dimension = parseGroupBy(groupBy);
+        String normalizedMode = mode == null ? "STREAMING" : mode.toUpperCase(Locale.ROOT);
+        return switch (normalizedMode) {
+            case "EXACT" -> exact(dimension);
+            case "STREAMING" -> streaming(dimension);
+            default -> throw new BadRequestException("mode must be EXACT or STREAMING");
+        };
+    }
+
+    private SalaryStatisticsResponse exact(Dimension dimension) {
+        WorkforceSnapshot snapshot = workforceAnalyticsService.currentSnapshot();
+        if (snapshot == null) {
+            throw new ServiceUnavailableException("Workforce snapshot is still being built, try again shortly");
+        }
+        Dictionary dictionary = SalaryDistributions.dictionary(snapshot, dimension);
+        List<SalaryGroupStatistics> groups = new ArrayList<>();
+        SalaryDistributions.exact(snapshot, dimension).forEach((code, summary) ->
+                groups.add(toStatistics(dictionary.idOf(code), dictionary.labelOf(code), summary)));
+        return toResponse(dimension, "EXACT", snapshot.builtAt(), groups);
+    }
+
+    private synchronized SalaryStatisticsResponse streaming(Dimension dimension) {
+        if (!seeded) {
+            throw new ServiceUnavailableException("Salary statistics are still being built, try again shortly");
+        }
+        Map<Long, Group> source = dimension == Dimension.DEPARTMENT ? byDepartment : byDesignation;
+        List<SalaryGroupStatistics> groups = new ArrayList<>();
+        source.forEach((id, group) -> {
+            if (group.histogram.count() > 0) {
+                groups.add(toStatistics(NONE.equals(id) ? null : id, group.name, group.histogram.summary()));
+            }
+        });
+        return toResponse(dimension, "STREAMING", LocalDateTime.now(), groups);
+    }
+
+    private synchronized void apply(Long employeeId, SalaryPoint before, SalaryPoint after) {
+        journal.addLast(new Change(LocalDateTime.now(), employeeId, after));
+        if (journal.size() > MAX_JOURNAL) {
+            journal.removeFirst();
+        }
+        move(byDepartment, byDesignation, before, after);
+    }
+
+    private static void move(Map<Long, Group> departments, Map<Long, Group> designations,
+                             SalaryPoint before, SalaryPoint after) {
+        if (before != null) {
+            Group department = departments.get(key(before.departmentId()));
+            if (department != null) {
+                department.histogram.remove(before.salaryCents());
+            }
+            Group designation = designations.get(key(before.designationId()));
+            if (designation != null) {
+                designation.histogram.remove(before.salaryCents());
+            }
+        }
+        if (after != null) {
+            // unassigned salaries are grouped under the dictionary's "(none)" label, as in exact mode
+            group(departments, after.departmentId(), after.departmentName()).histogram.add(after.salaryCents());
+            group(designations, after.designationId(), after.designationTitle()).histogram.add(after.salaryCents());
+        }
+    }
+
+    /** Same department, designation and amount; names may differ after a rename. */
+    private static boolean samePlace(SalaryPoint a, SalaryPoint b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return Objects.equals(a.departmentId(), b.departmentId())
+                && Objects.equals(a.designationId(), b.designationId())
+                && a.salaryCents() == b.salaryCents();
+    }
+
+    private static Group group(Map<Long, Group> groups, Long id, String name) {
+        Group group = groups.computeIfAbsent(key(id), k -> new Group(id == null ? "(none)" : name, new SalaryHistogram()));
+        if (id != null && name != null) {
+            group.name = name;
+        }
+        return group;
+    }
+
+    private static Map<Long, Group> seed(WorkforceSnapshot snapshot, Dimension dimension) {
+        Dictionary dictionary = SalaryDistributions.dictionary(snapshot, dimension);
+        Map<Long, Group> groups = new HashMap<>();
+        SalaryDistributions.histograms(snapshot, dimension).forEach((code, histogram) -> {
+            groups.put(key(dictionary.idOf(code)), new Group(dictionary.labelOf(code), histogram));
+        });
+        return groups;
+    }
+
+    private static Long key(Long id) {
+        return id == null ? NONE : id;
+    }
+
+    private static Dimension parseGroupBy(String groupBy) {
+        if (groupBy == null || groupBy.equalsIgnoreCase("DEPARTMENT")) {
+            return Dimension.DEPARTMENT;
+        }
+        if (groupBy.equalsIgnoreCase("DESIGNATION")) {
+            return Dimension.DESIGNATION;
+        }
+        throw new BadRequestException("groupBy must be DEPARTMENT or DESIGNATION");
+    }
+
+    private static SalaryGroupStatistics toStatistics(Long id, String name, SalarySummary summary) {
+        return SalaryGroupStatistics.builder()
+                .id(id)
+                .name(name)
+                .count(summary.count())
+                .min(cents(summary.minCents()))
+                .max(cents(summary.maxCents()))
+                .mean(BigDecimal.valueOf(summary.meanCents()).movePointLeft(2).setScale(2, RoundingMode.HALF_UP))
+                .p10(cents(summary.p10Cents()))
+                .p50(cents(summary.p50Cents()))
+                .p90(cents(summary.p90Cents()))
+                .build();
+    }
+
+    private static SalaryStatisticsResponse toResponse(Dimension dimension, String mode, LocalDateTime asOf,
+                                                       List<SalaryGroupStatistics> groups) {
+        groups.sort(Comparator.comparing(SalaryGroupStatistics::getName, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return SalaryStatisticsResponse.builder()
+                .groupBy(dimension.name())
+                .mode(mode)
+                .asOf(asOf)
+                .groups(groups)
+                .build();
+    }
+
+    private static BigDecimal cents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -1,14 +1,23 @@
 package com.ems.service;
 
+import com.ems.audit.AuditField;
+import com.ems.audit.FieldChanges;
 import com.ems.dto.request.TaskRequest;
+import com.ems.dto.response.BatchGetResponse;
 import com.ems.dto.response.TaskResponse;
 import com.ems.entity.Employee;
 import com.ems.entity.Task;
+import com.ems.event.DomainEventPublisher;
+import com.ems.event.DomainEventType;
 import com.ems.exception.BadRequestException;
+import com.ems.exception.PreconditionFailedException;
 import com.ems.exception.ResourceNotFoundException;
 import com.ems.repository.EmployeeRepository;
+import com.ems.repository.ScopedEmployee;
 import com.ems.repository.TaskRepository;
 import com.ems.repository.UserRepository;
+import com.ems.security.DepartmentScope;
+import com.ems.security.UserPrincipal;
 import com.ems.entity.User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,7 +26,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,43 +40,38 @@ public class TaskService {
     private final TaskRepository taskRepository;
     private final EmployeeRepository employeeRepository;
     private final UserRepository userRepository;
+    private final DomainEventPublisher eventPublisher;
+    private final DepartmentScope departmentScope;
 
     @Transactional
     public TaskResponse createTask(TaskRequest request, String managerUsername) {
-        User managerUser = userRepository.findByUsername(managerUsername)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        Employee manager = employeeRepository.findByUser(managerUser)
-                .orElseThrow(() -> new ResourceNotFoundException("Manager employee profile not found"));
-
-        Employee assignedTo = employeeRepository.findActiveById(request.getAssignedToId())
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + request.getAssignedToId()));
-
         // Managers can only assign tasks to employees in their department
-        boolean isAdmin = managerUser.getRoles().stream()
-                .anyMatch(r -> r.getName().equals("ROLE_ADMIN"));
-
-        if (!isAdmin) {
-            if (manager.getDepartment() == null || assignedTo.getDepartment() == null ||
-                !manager.getDepartment().getId().equals(assignedTo.getDepartment().getId())) {
-                throw new BadRequestException("You can only assign tasks to employees in your department");
-            }
-        }
+        ScopedEmployee assignedTo = departmentScope.requireManageable(request.getAssignedToId(),
+                "You can only assign tasks to employees in your department");
+        ScopedEmployee manager = employeeRepository.findScopedByUsername(managerUsername)
+                .orElseThrow(() -> new ResourceNotFoundException("Manager employee profile not found"));
 
         Task task = Task.builder()
                 .title(request.getTitle())
                 .description(request.getDescription())
-                .assignedTo(assignedTo)
-                .assignedBy(manager)
+                // both rows are known to exist, and their names came with the queries above, so the proxies are
+                // never initialised
+                .assignedTo(employeeRepository.getReferenceById(assignedTo.id()))
+                .assignedBy(employeeRepository.getReferenceById(manager.id()))
                 .deadline(request.getDeadline())
                 .priority(Task.TaskPriority.valueOf(request.getPriority().toUpperCase()))
                 .status(Task.TaskStatus.PENDING)
                 .build();
 
-        return mapToResponse(taskRepository.save(task));
+        Task saved = taskRepository.save(task);
+        eventPublisher.publish(DomainEventType.TASK_CREATED, saved.getId(), managerUsername,
+                "Assigned task '" + saved.getTitle() + "' to " + assignedTo.fullName(),
+                Map.of("assignedToId", assignedTo.id()));
+        return mapToResponse(saved, assignedTo.fullName(), manager.fullName());
     }
 
     @Transactional
-    public TaskResponse updateTaskStatus(Long taskId, String status, String username) {
+    public TaskResponse updateTaskStatus(Long taskId, String status, String username, Long expectedVersion) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         Employee employee = employeeRepository.findByUser(user)
@@ -73,15 +80,18 @@ public class TaskService {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
 
-        boolean isAdmin = user.getRoles().stream().anyMatch(r -> r.getName().equals("ROLE_ADMIN"));
-        boolean isManager = user.getRoles().stream().anyMatch(r -> r.getName().equals("ROLE_MANAGER"));
+        boolean isAdmin = isAdmin();
         boolean isAssignee = task.getAssignedTo().getId().equals(employee.getId());
         boolean isAssigner = task.getAssignedBy().getId().equals(employee.getId());
 
         if (!isAdmin && !isAssignee && !isAssigner) {
             throw new BadRequestException("You are not authorized to update this task");
         }
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new PreconditionFailedException("Task " + taskId + " has changed since version " + expectedVersion);
+        }
 
+        Task.TaskStatus oldStatus = task.getStatus();
         Task.TaskStatus newStatus = Task.TaskStatus.valueOf(status.toUpperCase());
         task.setStatus(newStatus);
         if (newStatus == Task.TaskStatus.COMPLETED) {
@@ -90,7 +100,12 @@ public class TaskService {
             task.setCompletedAt(null);
         }
 
-        return mapToResponse(taskRepository.save(task));
+        Task saved = taskRepository.saveAndFlush(task);
+        FieldChanges changes = new FieldChanges().add(AuditField.STATUS, oldStatus, newStatus);
+        eventPublisher.publish(DomainEventType.TASK_STATUS_CHANGED, saved.getId(), username,
+                "Task '" + saved.getTitle() + "' moved from " + oldStatus + " to " + newStatus,
+                Map.of("from", oldStatus.name(), "to", newStatus.name(), FieldChanges.DATA_KEY, changes.toList()));
+        return mapToResponse(saved);
     }
 
     @Transactional
@@ -103,7 +118,7 @@ public class TaskService {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
 
-        boolean isAdmin = user.getRoles().stream().anyMatch(r -> r.getName().equals("ROLE_ADMIN"));
+        boolean isAdmin = isAdmin();
         boolean isAssigner = task.getAssignedBy().getId().equals(manager.getId());
 
         if (!isAdmin && !isAssigner) {
@@ -111,6 +126,7 @@ public class TaskService {
         }
 
         taskRepository.delete(task);
+        eventPublisher.publish(DomainEventType.TASK_DELETED, taskId, username, "Deleted task '" + task.getTitle() + "'");
     }
 
     public List<TaskResponse> getMyTasks(String username) {
@@ -123,6 +139,12 @@ public class TaskService {
                 .stream().map(this::mapToResponse).collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getTasksAssignedTo(Long employeeId) {
+        return taskRepository.findByAssignedTo_IdOrderByDeadlineAsc(employeeId)
+                .stream().map(this::mapToResponse).collect(Collectors.toList());
+    }
+
     public List<TaskResponse> getTasksAssignedByMe(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
@@ -133,7 +155,32 @@ public class TaskService {
                 .stream().map(this::mapToResponse).collect(Collectors.toList());
     }
 
+    /**
+     * Tasks for the given ids in one query, in request order. Admins see every task; anyone else only tasks
+     * assigned to or by them, filtered in the query, and other ids come back as not found.
+     */
+    @Transactional(readOnly = true)
+    public BatchGetResponse<TaskResponse> getTasksByIds(List<Long> ids, String username) {
+        Long employeeId = isAdmin() ? null : employeeRepository.findIdByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee profile not found"));
+
+        Map<Long, Task> byId = new HashMap<>();
+        for (Task task : taskRepository.findByIdInWithPeople(new LinkedHashSet<>(ids), employeeId)) {
+            byId.put(task.getId(), task);
+        }
+        return BatchGetResponse.of(ids, byId, this::mapToResponse);
+    }
+
+    private static boolean isAdmin() {
+        UserPrincipal caller = UserPrincipal.current();
+        return caller != null && caller.isAdmin();
+    }
+
     private TaskResponse mapToResponse(Task task) {
+        return mapToResponse(task, fullName(task.getAssignedTo()), fullName(task.getAssignedBy()));
+    }
+
+    private TaskResponse mapToResponse(Task task, String assignedToName, String assignedByName) {
         boolean overdue = task.getStatus() != Task.TaskStatus.COMPLETED
                 && task.getDeadline().isBefore(LocalDate.now());
         return TaskResponse.builder()
@@ -141,16 +188,21 @@ public class TaskService {
                 .title(task.getTitle())
                 .description(task.getDescription())
                 .assignedToId(task.getAssignedTo().getId())
-                .assignedToName(task.getAssignedTo().getFirstName() + " " + task.getAssignedTo().getLastName())
+                .assignedToName(assignedToName)
                 .assignedById(task.getAssignedBy().getId())
-                .assignedByName(task.getAssignedBy().getFirstName() + " " + task.getAssignedBy().getLastName())
+                .assignedByName(assignedByName)
                 .deadline(task.getDeadline())
                 .status(task.getStatus().name())
                 .priority(task.getPriority().name())
                 .completedAt(task.getCompletedAt())
+                .version(task.getVersion())
                 .createdAt(task.getCreatedAt())
                 .updatedAt(task.getUpdatedAt())
                 .overdue(overdue)
                 .build();
     }
+
+    private static String fullName(Employee employee) {
+        return employee.getFirstName() + " " + employee.getLastName();
+    }
 }
@@ -1,9 +1,13 @@
 package com.ems.service;
 
+import com.ems.cache.CacheInvalidator;
+import com.ems.cache.CacheNames;
 import com.ems.dto.request.AssignRoleRequest;
 import com.ems.dto.response.UserResponse;
 import com.ems.entity.Role;
 import com.ems.entity.User;
+import com.ems.event.DomainEventPublisher;
+import com.ems.event.DomainEventType;
 import com.ems.exception.ResourceNotFoundException;
 import com.ems.repository.RoleRepository;
 import com.ems.repository.UserRepository;
@@ -23,6 +27,8 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
+    private final DomainEventPublisher eventPublisher;
+    private final CacheInvalidator cacheInvalidator;
 
     @Transactional(readOnly = true)
     public List<UserResponse> getAllUsers() {
@@ -54,6 +60,7 @@ public class UserService {
 
         user.getRoles().add(role);
         User saved = userRepository.save(user);
+        cacheInvalidator.invalidate(CacheNames.USERS, user.getUsername());
         log.info("Role {} assigned to user {}", role.getName(), user.getUsername());
         return mapToResponse(saved);
     }
@@ -67,29 +74,34 @@ public class UserService {
 
         user.getRoles().remove(role);
         User saved = userRepository.save(user);
+        cacheInvalidator.invalidate(CacheNames.USERS, user.getUsername());
         log.info("Role {} removed from user {}", role.getName(), user.getUsername());
         return mapToResponse(saved);
     }
 
     @Transactional
-    public UserResponse lockUser(Long userId) {
+    public UserResponse lockUser(Long userId, String performedBy) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         user.setAccountLocked(true);
         user.setLockedAt(LocalDateTime.now());
         User saved = userRepository.save(user);
+        cacheInvalidator.invalidate(CacheNames.USERS, user.getUsername());
+        eventPublisher.publish(DomainEventType.USER_LOCKED, userId, performedBy, "Locked user: " + user.getUsername());
         log.info("User {} locked", user.getUsername());
         return mapToResponse(saved);
     }
 
     @Transactional
-    public UserResponse unlockUser(Long userId) {
+    public UserResponse unlockUser(Long userId, String performedBy) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         user.setAccountLocked(false);
         user.setLockedAt(null);
         user.setFailedAttempts(0);
         User saved = userRepository.save(user);
+        cacheInvalidator.invalidate(CacheNames.USERS, user.getUsername());
+        eventPublisher.publish(DomainEventType.USER_UNLOCKED, userId, performedBy, "Unlocked user: " + user.getUsername());
         log.info("User {} unlocked", user.getUsername());
         return mapToResponse(saved);
     }
@@ -101,6 +113,7 @@ public class UserService {
         user.setDeletedAt(LocalDateTime.now());
         user.setIsActive(false);
         userRepository.save(user);
+        cacheInvalidator.invalidate(CacheNames.USERS, user.getUsername());
         log.info("User {} soft deleted", user.getUsername());
     }
 
@@ -0,0 +1,157 @@
+package com.ems.service;
+
+import com.ems.analytics.WorkforceGroup;
+import com.ems.analytics.WorkforceQuery;
+import com.ems.analytics.WorkforceQueryEngine;
+import com.ems.analytics.WorkforceSnapshot;
+import com.ems.analytics.WorkforceSnapshotRebuiltEvent;
+import com.ems.dto.request.WorkforceQueryRequest;
+import com.ems.dto.response.WorkforceGroupResponse;
+import com.ems.dto.response.WorkforceQueryResponse;
+import com.ems.entity.Employee;
+import com.ems.exception.BadRequestException;
+import com.ems.exception.ServiceUnavailableException;
+import com.ems.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HR analytics over a periodically rebuilt {@link WorkforceSnapshot}, so aggregate queries never reach MySQL.
+ * The snapshot is read in one transaction on the primary, which also makes it a consistent point-in-time view, and
+ * swapped in atomically once complete. It is not routed to a replica: {@link SalaryStatisticsService} relies on
+ * every change committed before {@code readStartedAt} being in it, which a lagging replica cannot promise.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WorkforceAnalyticsService {
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private final EmployeeRepository employeeRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private volatile WorkforceSnapshot snapshot;
+
+    @Value("${ems.analytics.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ems.analytics.default-salary-band:10000}")
+    private BigDecimal defaultSalaryBand;
+
+    @Scheduled(initialDelayString = "${ems.analytics.initial-delay-ms:5000}",
+               fixedDelayString = "${ems.analytics.refresh-interval-ms:300000}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public synchronized WorkforceSnapshot rebuild() {
+        long start = System.nanoTime();
+        LocalDateTime readStartedAt = LocalDateTime.now();
+        // deliberately not read-only, so ReplicaRoutingDataSource keeps it on the primary
+        WorkforceSnapshot built = new TransactionTemplate(transactionManager).execute(status -> load());
+        snapshot = built;
+        log.info("Workforce snapshot rebuilt: {} employees in {} ms", built.size(), (System.nanoTime() - start) / 1_000_000);
+        applicationEventPublisher.publishEvent(new WorkforceSnapshotRebuiltEvent(built, readStartedAt));
+        return built;
+    }
+
+    /**
+     * The latest snapshot, or null before the first build.
+     */
+    public WorkforceSnapshot currentSnapshot() {
+        return snapshot;
+    }
+
+    public WorkforceQueryResponse query(WorkforceQueryRequest request) {
+        WorkforceSnapshot current = snapshot;
+        if (current == null) {
+            throw new ServiceUnavailableException("Workforce snapshot is still being built, try again shortly");
+        }
+        long bandCents = toCents(request.getSalaryBand() != null ? request.getSalaryBand() : defaultSalaryBand);
+        if (bandCents < 1) {
+            throw new BadRequestException("salaryBand must be at least 0.01");
+        }
+        if (request.getJoinedFrom() != null && request.getJoinedTo() != null
+                && request.getJoinedFrom().isAfter(request.getJoinedTo())) {
+            throw new BadRequestException("joinedFrom must not be after joinedTo");
+        }
+        WorkforceQuery query = new WorkforceQuery(
+                request.getGroupBy() != null ? List.copyOf(request.getGroupBy()) : List.of(),
+                request.getDepartmentIds(),
+                request.getDesignationIds(),
+                request.getStatuses(),
+                request.getJoinedFrom(),
+                request.getJoinedTo(),
+                toCents(request.getMinSalary()),
+                toCents(request.getMaxSalary()),
+                bandCents);
+
+        long start = System.nanoTime();
+        List<WorkforceGroup> groups = WorkforceQueryEngine.execute(current, query);
+        long elapsedMicros = (System.nanoTime() - start) / 1_000;
+
+        return WorkforceQueryResponse.builder()
+                .snapshotBuiltAt(current.builtAt())
+                .rowsScanned(current.size())
+                .elapsedMicros(elapsedMicros)
+                .groups(groups.stream().map(this::mapToResponse).toList())
+                .build();
+    }
+
+    private WorkforceSnapshot load() {
+        WorkforceSnapshot.Builder builder = WorkforceSnapshot.builder();
+        long afterId = 0;
+        List<Object[]> page;
+        do {
+            page = employeeRepository.findAnalyticsRowsAfter(afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (Object[] row : page) {
+                builder.add((Long) row[0], (Long) row[1], (String) row[2], (Long) row[3], (String) row[4],
+                        (Employee.EmploymentStatus) row[5], (LocalDate) row[6], (BigDecimal) row[7]);
+            }
+            if (!page.isEmpty()) {
+                afterId = (Long) page.get(page.size() - 1)[0];
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        return builder.build();
+    }
+
+    private WorkforceGroupResponse mapToResponse(WorkforceGroup group) {
+        Map<String, String> labels = new LinkedHashMap<>();
+        group.key().forEach((dimension, label) -> labels.put(dimension.name(), label));
+        boolean hasSalary = group.salaryCount() > 0;
+        BigDecimal total = BigDecimal.valueOf(group.salarySumCents(), 2);
+        return WorkforceGroupResponse.builder()
+                .group(labels)
+                .count(group.count())
+                .salaryCount(group.salaryCount())
+                .totalSalary(total)
+                .minSalary(hasSalary ? BigDecimal.valueOf(group.minSalaryCents(), 2) : null)
+                .maxSalary(hasSalary ? BigDecimal.valueOf(group.maxSalaryCents(), 2) : null)
+                .averageSalary(hasSalary
+                        ? total.divide(BigDecimal.valueOf(group.salaryCount()), 2, RoundingMode.HALF_UP) : null)
+                .build();
+    }
+
+    private static Long toCents(BigDecimal amount) {
+        return amount == null ? null : amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
@@ -0,0 +1,59 @@
+package com.ems.cache;
+
+import com.ems.dto.response.JsonFragments;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link JsonFragmentCache} keeps one entry per id: a new version replaces the entry instead of adding a key, so
+ * repeated writes never fill the cache and push out the other rows.
+ */
+class JsonFragmentCacheTest {
+
+    private record Row(Long id, long version, String name) {
+    }
+
+    private final JsonFragmentCache cache = new JsonFragmentCache(new ObjectMapper(), new CacheRegistry(), 3, 3600);
+
+    private final List<Long> serialised = new ArrayList<>();
+
+    @Test
+    void unchangedRowsAreServedFromTheCache() {
+        List<Row> rows = List.of(new Row(1L, 0, "a"), new Row(2L, 0, "b"));
+
+        fragments(rows);
+        List<String> second = fragments(rows);
+
+        assertThat(serialised).containsExactly(1L, 2L);
+        assertThat(second).containsExactly("{\"name\":\"a\"}", "{\"name\":\"b\"}");
+    }
+
+    @Test
+    void newVersionReplacesTheEntryWithoutEvictingOtherRows() {
+        Row second = new Row(2L, 0, "b");
+        Row third = new Row(3L, 0, "c");
+        for (int version = 0; version < 10; version++) {
+            assertThat(fragments(List.of(new Row(1L, version, "a" + version), second, third)))
+                    .first().isEqualTo("{\"name\":\"a" + version + "\"}");
+        }
+
+        assertThat(serialised).filteredOn(id -> id == 1L).hasSize(10);
+        assertThat(serialised).filteredOn(id -> id != 1L).containsExactly(2L, 3L);
+    }
+
+    private List<String> fragments(List<Row> rows) {
+        JsonFragments fragments = cache.fragments(CacheNames.EMPLOYEE_JSON, rows, Row::id,
+                row -> String.valueOf(row.version()), row -> {
+                    serialised.add(row.id());
+                    return Map.of("name", row.name());
+                });
+        return fragments.items().stream().map(SerializableString::getValue).toList();
+    }
+}
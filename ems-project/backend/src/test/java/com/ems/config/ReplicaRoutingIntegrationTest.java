@@ -0,0 +1,124 @@
+package com.ems.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link ReplicaDataSourceConfig} against two in-memory H2 databases (profile {@code replica-h2}) and checks
+ * where statements end up. Each database has a {@code node} table holding its own name.
+ */
+@SpringBootTest(classes = ReplicaRoutingIntegrationTest.Config.class)
+@ActiveProfiles("replica-h2")
+class ReplicaRoutingIntegrationTest {
+
+    @Configuration
+    @Import(ReplicaDataSourceConfig.class)
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, DataSourceTransactionManagerAutoConfiguration.class,
+            JdbcTemplateAutoConfiguration.class, TransactionAutoConfiguration.class})
+    static class Config {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${ems.datasource.replica.url}")
+    private String replicaUrl;
+
+    private JdbcTemplate replicaAdmin;
+
+    @BeforeEach
+    void setUp() {
+        replicaAdmin = new JdbcTemplate(new DriverManagerDataSource(replicaUrl, "sa", ""));
+        setReplicaLag(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        setReplicaLag(0);
+    }
+
+    @Test
+    void readOnlyTransactionRunsOnReplica() {
+        assertThat(readOnly()).isEqualTo("replica");
+    }
+
+    @Test
+    void writeTransactionRunsOnPrimary() {
+        String node = readWrite(() -> jdbcTemplate.update("INSERT INTO notes (body) VALUES ('write test')"));
+
+        assertThat(node).isEqualTo("primary");
+        assertThat(replicaAdmin.queryForObject("SELECT COUNT(*) FROM notes WHERE body = 'write test'", Long.class))
+                .isZero();
+    }
+
+    @Test
+    void readOnlyTransactionFallsBackToPrimaryWhileReplicaLags() {
+        setReplicaLag(60);
+        assertThat(readOnly()).isEqualTo("primary");
+
+        setReplicaLag(0);
+        assertThat(readOnly()).isEqualTo("replica");
+    }
+
+    @Test
+    void readsArePinnedToPrimaryAfterTheSameUserWrote() {
+        authenticate("writer");
+        readWrite(() -> jdbcTemplate.update("INSERT INTO notes (body) VALUES ('pinned')"));
+        assertThat(readOnly()).isEqualTo("primary");
+
+        authenticate("bystander");
+        assertThat(readOnly()).isEqualTo("replica");
+    }
+
+    private String readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(status -> currentNode());
+    }
+
+    private String readWrite(Runnable work) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            work.run();
+            return currentNode();
+        });
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private void setReplicaLag(long seconds) {
+        replicaAdmin.update("UPDATE replica_status SET lag_seconds = ?", seconds);
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+}
@@ -0,0 +1,144 @@
+package com.ems.job;
+
+import com.ems.entity.JobLock;
+import com.ems.entity.JobRun;
+import com.ems.repository.JobLockRepository;
+import com.ems.repository.JobRunRepository;
+import com.ems.service.JobLockService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs two {@link ClusterJobRunner}s with different node ids against one in-memory H2 database (profile
+ * {@code jobs-h2}), the way two application instances share the MySQL {@code job_locks} table.
+ */
+@SpringBootTest(classes = ClusterJobRunnerIntegrationTest.Config.class)
+@ActiveProfiles("jobs-h2")
+class ClusterJobRunnerIntegrationTest {
+
+    private static final Duration LEASE = Duration.ofSeconds(30);
+
+    @Configuration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class})
+    @EnableJpaRepositories(basePackageClasses = JobLockRepository.class, includeFilters = @ComponentScan.Filter(
+            type = FilterType.ASSIGNABLE_TYPE, classes = {JobLockRepository.class, JobRunRepository.class}))
+    static class Config {
+
+        @Bean
+        PersistenceManagedTypes persistenceManagedTypes() {
+            return PersistenceManagedTypes.of(JobLock.class.getName(), JobRun.class.getName());
+        }
+    }
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    @Autowired
+    private JobRunRepository jobRunRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<ClusterJobRunner> runners = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        runners.forEach(ClusterJobRunner::shutdown);
+    }
+
+    @Test
+    void onlyOneNodeRunsTheJobWhileTheLeaseIsHeld() throws Exception {
+        ClusterJobRunner nodeA = runner("node-a");
+        ClusterJobRunner nodeB = runner("node-b");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<JobRun.Status> first = executor.submit(() -> nodeA.run("single-runner", LEASE, context -> {
+                executions.incrementAndGet();
+                started.countDown();
+                awaitQuietly(finish);
+                return 1;
+            }));
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+            JobRun.Status second = nodeB.run("single-runner", LEASE, context -> executions.incrementAndGet());
+            finish.countDown();
+
+            assertThat(second).isEqualTo(JobRun.Status.SKIPPED);
+            assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo(JobRun.Status.SUCCEEDED);
+            assertThat(executions).hasValue(1);
+        } finally {
+            finish.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void expiredLeaseIsTakenOverByAnotherNode() throws Exception {
+        // node-a takes a short lease and then stops without renewing or releasing it, like a crashed node
+        JobLockService crashedNode = new JobLockService(jobLockRepository, transactionManager, "node-a");
+        ClusterJobRunner nodeB = runner("node-b");
+        assertThat(crashedNode.tryAcquire("takeover", Duration.ofMillis(500))).isTrue();
+
+        assertThat(nodeB.run("takeover", LEASE, context -> 1)).isEqualTo(JobRun.Status.SKIPPED);
+
+        Thread.sleep(800);
+        AtomicBoolean renewedByCrashedNode = new AtomicBoolean(true);
+        JobRun.Status outcome = nodeB.run("takeover", LEASE, context -> {
+            renewedByCrashedNode.set(crashedNode.tryAcquire("takeover", LEASE));
+            return 1;
+        });
+
+        assertThat(outcome).isEqualTo(JobRun.Status.SUCCEEDED);
+        assertThat(renewedByCrashedNode).isFalse();
+        assertThat(jobLockRepository.findById("takeover")).get()
+                .extracting(JobLock::getLockedBy).isEqualTo("node-b");
+    }
+
+    private ClusterJobRunner runner(String nodeId) {
+        ClusterJobRunner runner = new ClusterJobRunner(
+                new JobLockService(jobLockRepository, transactionManager, nodeId),
+                jobRunRepository, new SimpleMeterRegistry(), transactionManager);
+        runners.add(runner);
+        return runner;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.ems.security;
+
+import com.ems.exception.BadRequestException;
+import com.ems.exception.ResourceNotFoundException;
+import com.ems.repository.EmployeeRepository;
+import com.ems.repository.ScopedEmployee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link DepartmentScope#requireManageable} tells a missing employee from one in another department with a single
+ * repository call, and hands back the employee's name from that same call.
+ */
+@ExtendWith(MockitoExtension.class)
+class DepartmentScopeTest {
+
+    private static final String DENIAL = "You can only act on employees in your department";
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @InjectMocks
+    private DepartmentScope departmentScope;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void sameDepartmentIsAllowed() {
+        authenticate("manager1", false);
+        when(employeeRepository.findScopedById(7L, "manager1")).thenReturn(Optional.of(scoped(7L, true)));
+
+        assertThat(departmentScope.requireManageable(7L, DENIAL).fullName()).isEqualTo("Ed Employee");
+        verify(employeeRepository).findScopedById(7L, "manager1");
+        verifyNoMoreInteractions(employeeRepository);
+    }
+
+    @Test
+    void otherDepartmentIsDenied() {
+        authenticate("manager1", false);
+        when(employeeRepository.findScopedById(7L, "manager1")).thenReturn(Optional.of(scoped(7L, false)));
+
+        assertThatThrownBy(() -> departmentScope.requireManageable(7L, DENIAL))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(DENIAL);
+        verify(employeeRepository).findScopedById(7L, "manager1");
+        verifyNoMoreInteractions(employeeRepository);
+    }
+
+    @Test
+    void missingOrDeletedEmployeeIsNotFound() {
+        authenticate("manager1", false);
+        when(employeeRepository.findScopedById(7L, "manager1")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> departmentScope.requireManageable(7L, DENIAL))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(employeeRepository).findScopedById(7L, "manager1");
+        verifyNoMoreInteractions(employeeRepository);
+    }
+
+    @Test
+    void adminMayActAcrossDepartmentsButNotOnMissingEmployees() {
+        authenticate("admin", true);
+        when(employeeRepository.findScopedById(7L, "admin")).thenReturn(Optional.of(scoped(7L, false)));
+        when(employeeRepository.findScopedById(8L, "admin")).thenReturn(Optional.empty());
+
+        assertThatCode(() -> departmentScope.requireManageable(7L, DENIAL)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> departmentScope.requireManageable(8L, DENIAL))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void canManageUsesTheSameQueryAndIsFalseForMissingEmployees() {
+        authenticate("manager1", false);
+        when(employeeRepository.findScopedById(7L, "manager1")).thenReturn(Optional.of(scoped(7L, true)));
+        when(employeeRepository.findScopedById(8L, "manager1")).thenReturn(Optional.empty());
+
+        assertThat(departmentScope.canManage(7L)).isTrue();
+        assertThat(departmentScope.canManage(8L)).isFalse();
+    }
+
+    private static ScopedEmployee scoped(Long id, boolean inDepartment) {
+        return new ScopedEmployee(id, "Ed", "Employee", inDepartment);
+    }
+
+    private static void authenticate(String username, boolean admin) {
+        String role = admin ? "ROLE_ADMIN" : "ROLE_MANAGER";
+        List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(role));
+        UserPrincipal principal = new UserPrincipal(username, "", List.of(role), authorities,
+                admin ? SystemRole.ADMIN.bit() : SystemRole.MANAGER.bit(), false, true);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, authorities));
+    }
+}
@@ -0,0 +1,273 @@
+package com.ems.service;
+
+import com.ems.cache.CacheRegistry;
+import com.ems.cache.JsonFragmentCache;
+import com.ems.dto.request.EmployeeRequest;
+import com.ems.dto.request.ManagerNoteRequest;
+import com.ems.dto.request.TaskRequest;
+import com.ems.dto.response.BatchGetResponse;
+import com.ems.dto.response.EmployeeResponse;
+import com.ems.dto.response.ManagerNoteResponse;
+import com.ems.dto.response.TaskResponse;
+import com.ems.entity.Department;
+import com.ems.entity.Designation;
+import com.ems.entity.Employee;
+import com.ems.entity.ManagerNote;
+import com.ems.entity.Role;
+import com.ems.entity.Task;
+import com.ems.entity.User;
+import com.ems.event.DomainEventPublisher;
+import com.ems.exception.BadRequestException;
+import com.ems.exception.ResourceNotFoundException;
+import com.ems.repository.DepartmentRepository;
+import com.ems.repository.DesignationRepository;
+import com.ems.repository.EmployeeRepository;
+import com.ems.repository.ManagerNoteRepository;
+import com.ems.repository.ScopedEmployee;
+import com.ems.repository.TaskRepository;
+import com.ems.repository.UserRepository;
+import com.ems.security.DepartmentScope;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the department-scoped service paths and their JPQL against an in-memory H2 database (profile
+ * {@code scope-h2}) as {@code manager_a}, the manager of Engineering, and checks that Sales employees neither show
+ * up nor can be acted on. The seed rows are listed in {@code scope-h2/schema.sql}; every test rolls back.
+ */
+@SpringBootTest(classes = DepartmentScopeIntegrationTest.Config.class)
+@ActiveProfiles("scope-h2")
+@Transactional
+class DepartmentScopeIntegrationTest {
+
+    private static final long ENGINEERING = 1L;
+    private static final long SALES = 2L;
+    private static final long MIA = 1L;
+    private static final long ALAN = 2L;
+    private static final long BEA = 3L;
+    private static final long BEN = 4L;
+    private static final long DORA_DELETED = 5L;
+    private static final long BENS_TASK = 1L;
+
+    @Configuration
+    @Import({DepartmentScope.class, EmployeeService.class, TaskService.class, ManagerNoteService.class,
+            JsonFragmentCache.class, CacheRegistry.class})
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class, JacksonAutoConfiguration.class})
+    @EnableJpaRepositories(basePackageClasses = EmployeeRepository.class, includeFilters = @ComponentScan.Filter(
+            type = FilterType.ASSIGNABLE_TYPE, classes = {EmployeeRepository.class, UserRepository.class,
+            DepartmentRepository.class, DesignationRepository.class, TaskRepository.class,
+            ManagerNoteRepository.class}))
+    static class Config {
+
+        @Bean
+        PersistenceManagedTypes persistenceManagedTypes() {
+            return PersistenceManagedTypes.of(User.class.getName(), Role.class.getName(), Department.class.getName(),
+                    Designation.class.getName(), Employee.class.getName(), Task.class.getName(),
+                    ManagerNote.class.getName());
+        }
+    }
+
+    @MockBean
+    private DomainEventPublisher eventPublisher;
+
+    @MockBean
+    private SalaryStatisticsService salaryStatisticsService;
+
+    @MockBean
+    private EmployeeHistoryService employeeHistoryService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ManagerNoteService managerNoteService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ManagerNoteRepository managerNoteRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("manager_a", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void listAndFieldProjectionOnlyShowTheOwnDepartment() throws Exception {
+        JsonNode list = objectMapper.readTree(objectMapper.writeValueAsString(employeeService.getAllEmployees()));
+        List<Long> listed = new ArrayList<>();
+        list.forEach(employee -> listed.add(employee.get("id").asLong()));
+
+        List<Object[]> rows = employeeService.getEmployeeFields("id,departmentId").rows();
+
+        assertThat(listed).containsExactlyInAnyOrder(MIA, ALAN);
+        assertThat(rows).extracting(row -> row[0]).containsExactlyInAnyOrder(MIA, ALAN);
+        assertThat(rows).extracting(row -> row[1]).containsOnly(ENGINEERING);
+    }
+
+    @Test
+    void getAndPutOnAnotherDepartmentAreNotFound() {
+        assertThat(employeeService.getEmployeeById(ALAN).getFirstName()).isEqualTo("Alan");
+        assertThatThrownBy(() -> employeeService.getEmployeeById(BEA))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> employeeService.getEmployeeById(DORA_DELETED))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        assertThatThrownBy(() -> employeeService.updateEmployee(BEA,
+                request("Bea", "Taken", "bea@ems.test", ENGINEERING, null), "manager_a", null))
+                .isInstanceOf(ResourceNotFoundException.class);
+        Employee bea = employeeRepository.findById(BEA).orElseThrow();
+        assertThat(bea.getLastName()).isEqualTo("Bravo");
+        assertThat(bea.getDepartment().getId()).isEqualTo(SALES);
+    }
+
+    @Test
+    void putKeepsTheEmployeeAndTheirManagerInTheOwnDepartment() {
+        assertThatThrownBy(() -> employeeService.updateEmployee(ALAN,
+                request("Alan", "Able", "alan@ems.test", SALES, null), "manager_a", null))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> employeeService.updateEmployee(ALAN,
+                request("Alan", "Able", "alan@ems.test", ENGINEERING, BEN), "manager_a", null))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Reporting manager not found");
+
+        EmployeeResponse updated = employeeService.updateEmployee(ALAN,
+                request("Alan", "Abler", "alan@ems.test", ENGINEERING, MIA), "manager_a", null);
+
+        assertThat(updated.getLastName()).isEqualTo("Abler");
+        assertThat(updated.getDepartmentId()).isEqualTo(ENGINEERING);
+    }
+
+    @Test
+    void batchGetsReportOtherDepartmentsAsNotFound() {
+        BatchGetResponse<EmployeeResponse> employees =
+                employeeService.getEmployeesByIds(List.of(ALAN, BEA, DORA_DELETED));
+        BatchGetResponse<TaskResponse> tasks = taskService.getTasksByIds(List.of(BENS_TASK), "manager_a");
+
+        assertThat(employees.getFound()).isEqualTo(1);
+        assertThat(employees.getItems()).extracting(BatchGetResponse.Item::isFound).containsExactly(true, false, false);
+        assertThat(tasks.getFound()).isZero();
+        assertThat(tasks.getItems().get(0).getData()).isNull();
+    }
+
+    @Test
+    void notesAndTasksForAnotherDepartmentAreRejected() {
+        assertThatThrownBy(() -> managerNoteService.addNote(new ManagerNoteRequest(BEA, "Nice work"), "manager_a"))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> managerNoteService.getNotesForEmployee(BEA))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> taskService.createTask(taskRequest(BEA), "manager_a"))
+                .isInstanceOf(BadRequestException.class);
+
+        assertThatThrownBy(() -> managerNoteService.addNote(new ManagerNoteRequest(DORA_DELETED, "Nice work"),
+                "manager_a"))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> taskService.createTask(taskRequest(999L), "manager_a"))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(managerNoteRepository.count()).isEqualTo(1);
+        assertThat(taskRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void notesAndTasksInTheOwnDepartmentAreSavedWithBothNames() {
+        ManagerNoteResponse note = managerNoteService.addNote(new ManagerNoteRequest(ALAN, "Nice work"), "manager_a");
+        TaskResponse task = taskService.createTask(taskRequest(ALAN), "manager_a");
+
+        assertThat(note.getEmployeeName()).isEqualTo("Alan Able");
+        assertThat(note.getManagerName()).isEqualTo("Mia Manager");
+        assertThat(managerNoteService.getNotesForEmployee(ALAN)).extracting(ManagerNoteResponse::getId)
+                .containsExactly(note.getId());
+        assertThat(task.getAssignedToName()).isEqualTo("Alan Able");
+        assertThat(task.getAssignedByName()).isEqualTo("Mia Manager");
+        assertThat(taskRepository.findById(task.getId())).get()
+                .extracting(saved -> saved.getAssignedBy().getId()).isEqualTo(MIA);
+    }
+
+    @Test
+    void scopeQueriesMatchOnTheCallersDepartment() {
+        assertThat(employeeRepository.findScopedById(ALAN, "manager_a"))
+                .contains(new ScopedEmployee(ALAN, "Alan", "Able", true));
+        assertThat(employeeRepository.findScopedById(BEA, "manager_a"))
+                .contains(new ScopedEmployee(BEA, "Bea", "Bravo", false));
+        assertThat(employeeRepository.findScopedById(BEA, "no_profile")).get()
+                .extracting(ScopedEmployee::inDepartmentOfUser).isEqualTo(false);
+        assertThat(employeeRepository.findScopedById(DORA_DELETED, "manager_a")).isEmpty();
+        assertThat(employeeRepository.findScopedByUsername("manager_a"))
+                .contains(new ScopedEmployee(MIA, "Mia", "Manager", true));
+
+        assertThat(employeeRepository.findActiveByIdInDepartment(BEA, ENGINEERING)).isEmpty();
+        assertThat(employeeRepository.findActiveByIdInDepartment(BEA, null)).isPresent();
+        assertThat(employeeRepository.findActiveByIdInDepartment(List.of(ALAN, BEA, DORA_DELETED), ENGINEERING))
+                .extracting(Employee::getId).containsExactly(ALAN);
+        assertThat(employeeRepository.findActiveByIdInDepartment(List.of(ALAN, BEA, DORA_DELETED), null))
+                .extracting(Employee::getId).containsExactlyInAnyOrder(ALAN, BEA);
+    }
+
+    private static EmployeeRequest request(String firstName, String lastName, String email, Long departmentId,
+                                           Long reportingManagerId) {
+        EmployeeRequest request = new EmployeeRequest();
+        request.setFirstName(firstName);
+        request.setLastName(lastName);
+        request.setEmail(email);
+        request.setDateOfJoining(LocalDate.of(2021, 3, 1));
+        request.setDepartmentId(departmentId);
+        request.setReportingManagerId(reportingManagerId);
+        return request;
+    }
+
+    private static TaskRequest taskRequest(Long assignedToId) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Quarterly report");
+        request.setAssignedToId(assignedToId);
+        request.setDeadline(LocalDate.now().plusDays(7));
+        request.setPriority("high");
+        return request;
+    }
+}
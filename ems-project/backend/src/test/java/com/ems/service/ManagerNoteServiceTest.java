@@ -0,0 +1,111 @@
+package com.ems.service;
+
+import com.ems.dto.request.ManagerNoteRequest;
+import com.ems.dto.response.ManagerNoteResponse;
+import com.ems.entity.Employee;
+import com.ems.entity.ManagerNote;
+import com.ems.exception.ResourceNotFoundException;
+import com.ems.repository.EmployeeRepository;
+import com.ems.repository.ScopedEmployee;
+import com.ems.repository.ManagerNoteRepository;
+import com.ems.repository.UserRepository;
+import com.ems.security.DepartmentScope;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link ManagerNoteService#addNote}: one scope check, then the note is saved with references to the manager and
+ * the employee, and the response is named from the scope queries so the references are never loaded.
+ */
+@ExtendWith(MockitoExtension.class)
+class ManagerNoteServiceTest {
+
+    @Mock
+    private ManagerNoteRepository managerNoteRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private DepartmentScope departmentScope;
+
+    @InjectMocks
+    private ManagerNoteService managerNoteService;
+
+    @Test
+    void addNoteSavesReferencesAfterTheScopeCheck() {
+        when(departmentScope.requireManageable(eq(2L), anyString()))
+                .thenReturn(new ScopedEmployee(2L, "Ed", "Employee", true));
+        when(employeeRepository.findScopedByUsername("manager1"))
+                .thenReturn(Optional.of(new ScopedEmployee(1L, "Mia", "Manager", true)));
+        Employee manager = reference(1L);
+        Employee employee = reference(2L);
+        when(employeeRepository.getReferenceById(1L)).thenReturn(manager);
+        when(employeeRepository.getReferenceById(2L)).thenReturn(employee);
+        when(managerNoteRepository.save(any(ManagerNote.class))).thenAnswer(invocation -> {
+            ManagerNote note = invocation.getArgument(0);
+            note.setId(20L);
+            return note;
+        });
+
+        ManagerNoteResponse response = managerNoteService.addNote(new ManagerNoteRequest(2L, "Great sprint"),
+                "manager1");
+
+        InOrder order = inOrder(departmentScope, managerNoteRepository);
+        order.verify(departmentScope).requireManageable(eq(2L), anyString());
+        order.verify(managerNoteRepository).save(any(ManagerNote.class));
+        verify(employeeRepository, never()).findActiveById(any());
+        verifyNoInteractions(userRepository);
+        assertThat(response.getId()).isEqualTo(20L);
+        assertThat(response.getEmployeeId()).isEqualTo(2L);
+        assertThat(response.getEmployeeName()).isEqualTo("Ed Employee");
+        assertThat(response.getManagerName()).isEqualTo("Mia Manager");
+        verifyNotInitialised(manager, employee);
+    }
+
+    @Test
+    void addNoteForMissingEmployeeIsNotFoundWithoutFurtherQueries() {
+        doThrow(new ResourceNotFoundException("Employee not found with id: 2"))
+                .when(departmentScope).requireManageable(eq(2L), anyString());
+
+        assertThatThrownBy(() -> managerNoteService.addNote(new ManagerNoteRequest(2L, "Great sprint"), "manager1"))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(employeeRepository, userRepository, managerNoteRepository);
+    }
+
+    /** Stands in for an uninitialised proxy: only the id may be read without a load. */
+    private static Employee reference(Long id) {
+        Employee reference = mock(Employee.class);
+        when(reference.getId()).thenReturn(id);
+        return reference;
+    }
+
+    private static void verifyNotInitialised(Employee... references) {
+        for (Employee reference : references) {
+            verify(reference, never()).getFirstName();
+            verify(reference, never()).getLastName();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.ems.service;
+
+import com.ems.dto.request.TaskRequest;
+import com.ems.dto.response.TaskResponse;
+import com.ems.entity.Employee;
+import com.ems.entity.Task;
+import com.ems.event.DomainEventPublisher;
+import com.ems.event.DomainEventType;
+import com.ems.exception.BadRequestException;
+import com.ems.repository.EmployeeRepository;
+import com.ems.repository.ScopedEmployee;
+import com.ems.repository.TaskRepository;
+import com.ems.repository.UserRepository;
+import com.ems.security.DepartmentScope;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link TaskService#createTask}: one scope check, then the task is saved with references to the manager and the
+ * assignee, and the event and response are named from the scope queries so the references are never loaded.
+ */
+@ExtendWith(MockitoExtension.class)
+class TaskServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private DomainEventPublisher eventPublisher;
+
+    @Mock
+    private DepartmentScope departmentScope;
+
+    @InjectMocks
+    private TaskService taskService;
+
+    @Test
+    void createTaskSavesReferencesAfterTheScopeCheck() {
+        when(departmentScope.requireManageable(eq(2L), anyString()))
+                .thenReturn(new ScopedEmployee(2L, "Ed", "Employee", true));
+        when(employeeRepository.findScopedByUsername("manager1"))
+                .thenReturn(Optional.of(new ScopedEmployee(1L, "Mia", "Manager", true)));
+        Employee manager = reference(1L);
+        Employee assignee = reference(2L);
+        when(employeeRepository.getReferenceById(1L)).thenReturn(manager);
+        when(employeeRepository.getReferenceById(2L)).thenReturn(assignee);
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> {
+            Task task = invocation.getArgument(0);
+            task.setId(10L);
+            return task;
+        });
+
+        TaskResponse response = taskService.createTask(request(2L), "manager1");
+
+        InOrder order = inOrder(departmentScope, taskRepository);
+        order.verify(departmentScope).requireManageable(eq(2L), anyString());
+        order.verify(taskRepository).save(any(Task.class));
+        verify(employeeRepository, never()).findActiveById(any());
+        verifyNoInteractions(userRepository);
+        verify(eventPublisher).publish(eq(DomainEventType.TASK_CREATED), eq(10L), eq("manager1"),
+                eq("Assigned task 'Quarterly report' to Ed Employee"), eq(Map.of("assignedToId", 2L)));
+        assertThat(response.getAssignedToId()).isEqualTo(2L);
+        assertThat(response.getAssignedById()).isEqualTo(1L);
+        assertThat(response.getAssignedToName()).isEqualTo("Ed Employee");
+        assertThat(response.getAssignedByName()).isEqualTo("Mia Manager");
+        verifyNotInitialised(manager, assignee);
+        assertThat(response.getStatus()).isEqualTo("PENDING");
+    }
+
+    @Test
+    void createTaskForAnotherDepartmentIsRejectedBeforeAnythingIsLoaded() {
+        doThrow(new BadRequestException("You can only assign tasks to employees in your department"))
+                .when(departmentScope).requireManageable(eq(2L), anyString());
+
+        assertThatThrownBy(() -> taskService.createTask(request(2L), "manager1"))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(employeeRepository, userRepository, taskRepository, eventPublisher);
+    }
+
+    private static TaskRequest request(Long assignedToId) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Quarterly report");
+        request.setAssignedToId(assignedToId);
+        request.setDeadline(LocalDate.now().plusDays(7));
+        request.setPriority("high");
+        return request;
+    }
+
+    /** Stands in for an uninitialised proxy: only the id may be read without a load. */
+    private static Employee reference(Long id) {
+        Employee reference = mock(Employee.class);
+        when(reference.getId()).thenReturn(id);
+        return reference;
+    }
+
+    private static void verifyNotInitialised(Employee... references) {
+        for (Employee reference : references) {
+            verify(reference, never()).getFirstName();
+            verify(reference, never()).getLastName();
+        }
+    }
+}
@@ -0,0 +1,3 @@
+CREATE TABLE IF NOT EXISTS node (name VARCHAR(20) NOT NULL);
+INSERT INTO node (name) SELECT 'primary' WHERE NOT EXISTS (SELECT 1 FROM node);
+CREATE TABLE IF NOT EXISTS notes (id BIGINT AUTO_INCREMENT PRIMARY KEY, body VARCHAR(100) NOT NULL);
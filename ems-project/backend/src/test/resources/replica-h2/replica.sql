@@ -0,0 +1,5 @@
+CREATE TABLE IF NOT EXISTS node (name VARCHAR(20) NOT NULL);
+INSERT INTO node (name) SELECT 'replica' WHERE NOT EXISTS (SELECT 1 FROM node);
+CREATE TABLE IF NOT EXISTS notes (id BIGINT AUTO_INCREMENT PRIMARY KEY, body VARCHAR(100) NOT NULL);
+CREATE TABLE IF NOT EXISTS replica_status (lag_seconds BIGINT);
+INSERT INTO replica_status (lag_seconds) SELECT 0 WHERE NOT EXISTS (SELECT 1 FROM replica_status);
@@ -0,0 +1,112 @@
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY (START WITH 100) PRIMARY KEY,
+    username VARCHAR(50) NOT NULL UNIQUE,
+    email VARCHAR(100) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    is_active BOOLEAN DEFAULT TRUE NOT NULL,
+    failed_attempts INT DEFAULT 0 NOT NULL,
+    account_locked BOOLEAN DEFAULT FALSE NOT NULL,
+    locked_at TIMESTAMP NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    deleted_at TIMESTAMP NULL
+);
+
+CREATE TABLE IF NOT EXISTS roles (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY (START WITH 100) PRIMARY KEY,
+    name VARCHAR(50) NOT NULL UNIQUE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    role_id BIGINT NOT NULL REFERENCES roles(id),
+    PRIMARY KEY (user_id, role_id)
+);
+
+CREATE TABLE IF NOT EXISTS departments (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY (START WITH 100) PRIMARY KEY,
+    name VARCHAR(100) NOT NULL UNIQUE,
+    description VARCHAR(255) NULL,
+    manager_id BIGINT NULL,
+    is_active BOOLEAN DEFAULT TRUE NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    deleted_at TIMESTAMP NULL
+);
+
+CREATE TABLE IF NOT EXISTS designations (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY (START WITH 100) PRIMARY KEY,
+    title VARCHAR(100) NOT NULL UNIQUE,
+    version BIGINT DEFAULT 0 NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    deleted_at TIMESTAMP NULL
+);
+
+CREATE TABLE IF NOT EXISTS employees (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY (START WITH 100) PRIMARY KEY,
+    user_id BIGINT NULL UNIQUE REFERENCES users(id),
+    first_name VARCHAR(100) NOT NULL,
+    last_name VARCHAR(100) NOT NULL,
+    email VARCHAR(100) NOT NULL UNIQUE,
+    phone VARCHAR(20) NULL,
+    date_of_birth DATE NULL,
+    date_of_joining DATE NOT NULL,
+    salary DECIMAL(12,2) NULL,
+    department_id BIGINT NULL REFERENCES departments(id),
+    designation_id BIGINT NULL REFERENCES designations(id),
+    reporting_manager_id BIGINT NULL REFERENCES employees(id),
+    is_active BOOLEAN DEFAULT TRUE NOT NULL,
+    employment_status VARCHAR(20) DEFAULT 'ACTIVE' NOT NULL,
+    resignation_date DATE NULL,
+    notice_period_end_date DATE NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    deleted_at TIMESTAMP NULL
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY (START WITH 100) PRIMARY KEY,
+    title VARCHAR(200) NOT NULL,
+    description VARCHAR(2000) NULL,
+    assigned_to BIGINT NOT NULL REFERENCES employees(id),
+    assigned_by BIGINT NOT NULL REFERENCES employees(id),
+    deadline DATE NOT NULL,
+    status VARCHAR(20) DEFAULT 'PENDING' NOT NULL,
+    priority VARCHAR(10) DEFAULT 'MEDIUM' NOT NULL,
+    completed_at TIMESTAMP NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS manager_notes (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY (START WITH 100) PRIMARY KEY,
+    employee_id BIGINT NOT NULL REFERENCES employees(id),
+    manager_id BIGINT NOT NULL REFERENCES employees(id),
+    note VARCHAR(2000) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+-- Engineering (1): manager_a's profile Mia (1), Alan (2) reporting to her, and Dora (5), who is soft-deleted.
+-- Sales (2): manager_b's profile Ben (4) and Bea (3) reporting to him, with one task and one note of Ben's.
+MERGE INTO departments (id, name) KEY (id) VALUES (1, 'Engineering'), (2, 'Sales');
+MERGE INTO designations (id, title) KEY (id) VALUES (1, 'Engineer');
+MERGE INTO users (id, username, email, password) KEY (id) VALUES
+    (1, 'manager_a', 'manager_a@ems.test', 'unused'),
+    (2, 'manager_b', 'manager_b@ems.test', 'unused');
+MERGE INTO employees (id, user_id, first_name, last_name, email, date_of_joining, department_id, designation_id,
+                      reporting_manager_id, deleted_at) KEY (id) VALUES
+    (1, 1, 'Mia', 'Manager', 'mia@ems.test', DATE '2020-01-06', 1, 1, NULL, NULL),
+    (2, NULL, 'Alan', 'Able', 'alan@ems.test', DATE '2021-03-01', 1, 1, 1, NULL),
+    (4, 2, 'Ben', 'Boss', 'ben@ems.test', DATE '2019-09-02', 2, NULL, NULL, NULL),
+    (3, NULL, 'Bea', 'Bravo', 'bea@ems.test', DATE '2022-05-16', 2, NULL, 4, NULL),
+    (5, NULL, 'Dora', 'Gone', 'dora@ems.test', DATE '2018-02-12', 1, NULL, 1, TIMESTAMP '2024-01-31 17:00:00');
+MERGE INTO tasks (id, title, assigned_to, assigned_by, deadline) KEY (id) VALUES
+    (1, 'Pipeline review', 3, 4, DATE '2030-01-01');
+MERGE INTO manager_notes (id, employee_id, manager_id, note) KEY (id) VALUES
+    (1, 3, 4, 'Strong quarter');
@@ -15,8 +15,8 @@ CREATE TABLE IF NOT EXISTS roles (
 
 CREATE TABLE IF NOT EXISTS users (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
-    username VARCHAR(50) NOT NULL UNIQUE,
-    email VARCHAR(100) NOT NULL UNIQUE,
+    username VARCHAR(50) NOT NULL,
+    email VARCHAR(100) NOT NULL,
     password VARCHAR(255) NOT NULL,
     is_active BOOLEAN NOT NULL DEFAULT TRUE,
     failed_attempts INT NOT NULL DEFAULT 0,
@@ -24,7 +24,10 @@ CREATE TABLE IF NOT EXISTS users (
     locked_at DATETIME NULL,
     created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-    deleted_at DATETIME NULL
+    deleted_at DATETIME NULL,
+    INDEX idx_users_deleted_at (deleted_at),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
 );
 
 CREATE TABLE IF NOT EXISTS user_roles (
@@ -43,33 +46,43 @@ CREATE TABLE IF NOT EXISTS refresh_tokens (
     expiry_date DATETIME NOT NULL,
     revoked BOOLEAN NOT NULL DEFAULT FALSE,
     created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_rt_expiry (expiry_date),
     CONSTRAINT fk_rt_user FOREIGN KEY (user_id) REFERENCES users(id)
 );
 
 CREATE TABLE IF NOT EXISTS designations (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
-    title VARCHAR(100) NOT NULL UNIQUE,
+    title VARCHAR(100) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
     created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    deleted_at DATETIME NULL
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    deleted_at DATETIME NULL,
+    INDEX idx_desig_deleted_at (deleted_at),
+    INDEX idx_desig_updated_at (updated_at, id),
+    CONSTRAINT uk_designations_title UNIQUE (title)
 );
 
 CREATE TABLE IF NOT EXISTS departments (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
-    name VARCHAR(100) NOT NULL UNIQUE,
+    name VARCHAR(100) NOT NULL,
     description VARCHAR(255) NULL,
     manager_id BIGINT NULL,
     is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    version BIGINT NOT NULL DEFAULT 0,
     created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-    deleted_at DATETIME NULL
+    deleted_at DATETIME NULL,
+    INDEX idx_dept_updated_at (updated_at, id),
+    INDEX idx_dept_deleted_at (deleted_at),
+    CONSTRAINT uk_departments_name UNIQUE (name)
 );
 
 CREATE TABLE IF NOT EXISTS employees (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
-    user_id BIGINT NULL UNIQUE,
+    user_id BIGINT NULL,
     first_name VARCHAR(100) NOT NULL,
     last_name VARCHAR(100) NOT NULL,
-    email VARCHAR(100) NOT NULL UNIQUE,
+    email VARCHAR(100) NOT NULL,
     phone VARCHAR(20) NULL,
     date_of_birth DATE NULL,
     date_of_joining DATE NOT NULL,
@@ -81,9 +94,15 @@ CREATE TABLE IF NOT EXISTS employees (
     employment_status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE',
     resignation_date DATE NULL,
     notice_period_end_date DATE NULL,
+    version BIGINT NOT NULL DEFAULT 0,
     created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     deleted_at DATETIME NULL,
+    INDEX idx_emp_updated_at (updated_at, id),
+    INDEX idx_emp_status_notice (employment_status, notice_period_end_date),
+    INDEX idx_emp_deleted_at (deleted_at),
+    CONSTRAINT uk_employees_email UNIQUE (email),
+    CONSTRAINT uk_employees_user UNIQUE (user_id),
     CONSTRAINT fk_emp_user FOREIGN KEY (user_id) REFERENCES users(id),
     CONSTRAINT fk_emp_dept FOREIGN KEY (department_id) REFERENCES departments(id),
     CONSTRAINT fk_emp_desig FOREIGN KEY (designation_id) REFERENCES designations(id),
@@ -108,8 +127,11 @@ CREATE TABLE IF NOT EXISTS audit_logs (
     entity_type VARCHAR(50) NOT NULL,
     entity_id BIGINT NULL,
     performed_by VARCHAR(100) NOT NULL,
-    details TEXT NULL,
-    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP
+    details MEDIUMTEXT NULL,
+    changes TEXT NULL,
+    changed_fields BIGINT NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_audit_entity (entity_type, entity_id, id)
 );
 
 CREATE TABLE IF NOT EXISTS manager_notes (
@@ -134,12 +156,153 @@ CREATE TABLE IF NOT EXISTS tasks (
     status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
     priority VARCHAR(10) NOT NULL DEFAULT 'MEDIUM',
     completed_at DATETIME NULL,
+    version BIGINT NOT NULL DEFAULT 0,
     created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     CONSTRAINT fk_task_assignee FOREIGN KEY (assigned_to) REFERENCES employees(id),
     CONSTRAINT fk_task_assigner FOREIGN KEY (assigned_by) REFERENCES employees(id)
 );
 
+-- Domain event outbox (written in the same transaction as the change, drained by OutboxDispatcher)
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(50) NOT NULL,
+    aggregate_id BIGINT NULL,
+    performed_by VARCHAR(100) NOT NULL,
+    payload TEXT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500) NULL,
+    next_attempt_at DATETIME NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    dispatched_at DATETIME NULL,
+    INDEX idx_outbox_pending (dispatched_at, id)
+);
+
+-- Daily headcount, one row per department and year (366 big-endian ints, -1 = not recorded; department 0 = none)
+CREATE TABLE IF NOT EXISTS headcount_series (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    department_id BIGINT NOT NULL,
+    series_year INT NOT NULL,
+    daily_counts VARBINARY(1464) NOT NULL,
+    updated_at DATETIME NOT NULL,
+    UNIQUE KEY uk_headcount_dept_year (department_id, series_year)
+);
+
+-- Cluster-wide leases for scheduled jobs (see JobLockService)
+CREATE TABLE IF NOT EXISTS job_locks (
+    name VARCHAR(100) PRIMARY KEY,
+    locked_by VARCHAR(255) NOT NULL,
+    locked_at DATETIME(3) NOT NULL,
+    locked_until DATETIME(3) NOT NULL
+);
+
+-- One row per cluster job execution (see ClusterJobRunner)
+CREATE TABLE IF NOT EXISTS job_runs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_name VARCHAR(100) NOT NULL,
+    node VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    started_at DATETIME NOT NULL,
+    finished_at DATETIME NULL,
+    items_processed INT NULL,
+    error VARCHAR(500) NULL,
+    INDEX idx_job_runs_recent (job_name, started_at),
+    INDEX idx_job_runs_status (job_name, status, finished_at),
+    INDEX idx_job_runs_started (started_at)
+);
+
+-- Cross-node cache invalidation log (see DbPolledInvalidationTransport)
+CREATE TABLE IF NOT EXISTS cache_invalidations (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    cache_name VARCHAR(50) NOT NULL,
+    cache_key VARCHAR(255) NULL,
+    origin VARCHAR(255) NOT NULL,
+    created_at DATETIME NOT NULL,
+    INDEX idx_cache_inval_created (created_at)
+);
+
+-- Validity intervals of tracked employee fields (see EmployeeHistoryService); field codes in EmployeeHistoryField
+CREATE TABLE IF NOT EXISTS employee_history (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    employee_id BIGINT NOT NULL,
+    field TINYINT NOT NULL,
+    value VARCHAR(64) NOT NULL,
+    valid_from DATETIME NOT NULL,
+    valid_to DATETIME NULL,
+    INDEX idx_emp_history_asof (employee_id, valid_from)
+);
+
+-- Rows soft-deleted longer than ems.archive.retention-days, moved out by ArchiveService; same columns as the
+-- live tables plus archived_at, without foreign keys or unique constraints (checked again on restore)
+CREATE TABLE IF NOT EXISTS users_archive (
+    id BIGINT PRIMARY KEY,
+    username VARCHAR(50) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    is_active BOOLEAN NOT NULL,
+    failed_attempts INT NOT NULL,
+    account_locked BOOLEAN NOT NULL,
+    locked_at DATETIME NULL,
+    created_at DATETIME NOT NULL,
+    updated_at DATETIME NOT NULL,
+    deleted_at DATETIME NULL,
+    archived_at DATETIME NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS user_roles_archive (
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    assigned_at DATETIME NOT NULL,
+    PRIMARY KEY (user_id, role_id)
+);
+
+CREATE TABLE IF NOT EXISTS designations_archive (
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(100) NOT NULL,
+    version BIGINT NOT NULL,
+    created_at DATETIME NOT NULL,
+    updated_at DATETIME NOT NULL,
+    deleted_at DATETIME NULL,
+    archived_at DATETIME NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS departments_archive (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    description VARCHAR(255) NULL,
+    manager_id BIGINT NULL,
+    is_active BOOLEAN NOT NULL,
+    version BIGINT NOT NULL,
+    created_at DATETIME NOT NULL,
+    updated_at DATETIME NOT NULL,
+    deleted_at DATETIME NULL,
+    archived_at DATETIME NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS employees_archive (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NULL,
+    first_name VARCHAR(100) NOT NULL,
+    last_name VARCHAR(100) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    phone VARCHAR(20) NULL,
+    date_of_birth DATE NULL,
+    date_of_joining DATE NOT NULL,
+    salary DECIMAL(12,2) NULL,
+    department_id BIGINT NULL,
+    designation_id BIGINT NULL,
+    reporting_manager_id BIGINT NULL,
+    is_active BOOLEAN NOT NULL,
+    employment_status VARCHAR(20) NOT NULL,
+    resignation_date DATE NULL,
+    notice_period_end_date DATE NULL,
+    version BIGINT NOT NULL,
+    created_at DATETIME NOT NULL,
+    updated_at DATETIME NOT NULL,
+    deleted_at DATETIME NULL,
+    archived_at DATETIME NOT NULL
+);
+
 -- SEED DATA
 INSERT IGNORE INTO roles (name) VALUES ('ROLE_ADMIN'), ('ROLE_MANAGER'), ('ROLE_EMPLOYEE');
 
@@ -0,0 +1,200 @@
+-- ============================================
+-- EMS DATABASE - UPGRADE SCRIPT (emp_dbs)
+-- For databases created by an earlier database_migration.sql.
+-- Fresh installs already get all of this from database_migration.sql.
+-- Run each section once, in order.
+-- ============================================
+
+USE emp_dbs;
+
+-- Optimistic locking (ETag / If-Match)
+ALTER TABLE employees   ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER notice_period_end_date;
+ALTER TABLE departments ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER is_active;
+ALTER TABLE tasks       ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER completed_at;
+
+-- Change feeds (/api/employees/changes, /api/departments/changes)
+CREATE INDEX idx_emp_updated_at  ON employees   (updated_at, id);
+CREATE INDEX idx_dept_updated_at ON departments (updated_at, id);
+
+-- Domain event outbox
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(50) NOT NULL,
+    aggregate_id BIGINT NULL,
+    performed_by VARCHAR(100) NOT NULL,
+    payload TEXT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500) NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    dispatched_at DATETIME NULL,
+    INDEX idx_outbox_pending (dispatched_at, id)
+);
+
+-- Daily headcount series (/api/analytics/headcount)
+CREATE TABLE IF NOT EXISTS headcount_series (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    department_id BIGINT NOT NULL,
+    series_year INT NOT NULL,
+    daily_counts VARBINARY(1464) NOT NULL,
+    updated_at DATETIME NOT NULL,
+    UNIQUE KEY uk_headcount_dept_year (department_id, series_year)
+);
+
+-- Employee lifecycle job (notice period -> RESIGNED)
+CREATE INDEX idx_emp_status_notice ON employees (employment_status, notice_period_end_date);
+
+CREATE TABLE IF NOT EXISTS job_locks (
+    name VARCHAR(100) PRIMARY KEY,
+    locked_by VARCHAR(255) NOT NULL,
+    locked_at DATETIME(3) NOT NULL,
+    locked_until DATETIME(3) NOT NULL
+);
+
+-- Cluster job framework: run history and refresh token reaping
+CREATE TABLE IF NOT EXISTS job_runs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_name VARCHAR(100) NOT NULL,
+    node VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    started_at DATETIME NOT NULL,
+    finished_at DATETIME NULL,
+    items_processed INT NULL,
+    error VARCHAR(500) NULL,
+    INDEX idx_job_runs_recent (job_name, started_at),
+    INDEX idx_job_runs_status (job_name, status, finished_at),
+    INDEX idx_job_runs_started (started_at)
+);
+CREATE INDEX idx_rt_expiry ON refresh_tokens (expiry_date);
+
+-- Cross-node cache invalidation log
+CREATE TABLE IF NOT EXISTS cache_invalidations (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    cache_name VARCHAR(50) NOT NULL,
+    cache_key VARCHAR(255) NULL,
+    origin VARCHAR(255) NOT NULL,
+    created_at DATETIME NOT NULL,
+    INDEX idx_cache_inval_created (created_at)
+);
+
+-- Named unique constraints; writers rely on them instead of checking first (see UniqueConstraint)
+ALTER TABLE users        RENAME INDEX username TO uk_users_username;
+ALTER TABLE users        RENAME INDEX email    TO uk_users_email;
+ALTER TABLE designations RENAME INDEX title    TO uk_designations_title;
+ALTER TABLE departments  RENAME INDEX name     TO uk_departments_name;
+ALTER TABLE employees    RENAME INDEX email    TO uk_employees_email;
+ALTER TABLE employees    RENAME INDEX user_id  TO uk_employees_user;
+
+-- Department reorganisation: the detail audit entry lists every moved employee
+ALTER TABLE audit_logs MODIFY details MEDIUMTEXT NULL;
+
+-- Archive tables for rows soft-deleted longer than ems.archive.retention-days (see ArchiveService)
+CREATE INDEX idx_users_deleted_at ON users (deleted_at);
+CREATE INDEX idx_desig_deleted_at ON designations (deleted_at);
+CREATE INDEX idx_dept_deleted_at ON departments (deleted_at);
+CREATE INDEX idx_emp_deleted_at ON employees (deleted_at);
+CREATE TABLE IF NOT EXISTS users_archive (
+    id BIGINT PRIMARY KEY,
+    username VARCHAR(50) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    is_active BOOLEAN NOT NULL,
+    failed_attempts INT NOT NULL,
+    account_locked BOOLEAN NOT NULL,
+    locked_at DATETIME NULL,
+    created_at DATETIME NOT NULL,
+    updated_at DATETIME NOT NULL,
+    deleted_at DATETIME NULL,
+    archived_at DATETIME NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS user_roles_archive (
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    assigned_at DATETIME NOT NULL,
+    PRIMARY KEY (user_id, role_id)
+);
+
+CREATE TABLE IF NOT EXISTS designations_archive (
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(100) NOT NULL,
+    created_at DATETIME NOT NULL,
+    deleted_at DATETIME NULL,
+    archived_at DATETIME NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS departments_archive (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    description VARCHAR(255) NULL,
+    manager_id BIGINT NULL,
+    is_active BOOLEAN NOT NULL,
+    version BIGINT NOT NULL,
+    created_at DATETIME NOT NULL,
+    updated_at DATETIME NOT NULL,
+    deleted_at DATETIME NULL,
+    archived_at DATETIME NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS employees_archive (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NULL,
+    first_name VARCHAR(100) NOT NULL,
+    last_name VARCHAR(100) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    phone VARCHAR(20) NULL,
+    date_of_birth DATE NULL,
+    date_of_joining DATE NOT NULL,
+    salary DECIMAL(12,2) NULL,
+    department_id BIGINT NULL,
+    designation_id BIGINT NULL,
+    reporting_manager_id BIGINT NULL,
+    is_active BOOLEAN NOT NULL,
+    employment_status VARCHAR(20) NOT NULL,
+    resignation_date DATE NULL,
+    notice_period_end_date DATE NULL,
+    version BIGINT NOT NULL,
+    created_at DATETIME NOT NULL,
+    updated_at DATETIME NOT NULL,
+    deleted_at DATETIME NULL,
+    archived_at DATETIME NOT NULL
+);
+
+-- Validity intervals of tracked employee fields (see EmployeeHistoryService); field codes in EmployeeHistoryField
+CREATE TABLE IF NOT EXISTS employee_history (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    employee_id BIGINT NOT NULL,
+    field TINYINT NOT NULL,
+    value VARCHAR(64) NOT NULL,
+    valid_from DATETIME NOT NULL,
+    valid_to DATETIME NULL,
+    INDEX idx_emp_history_asof (employee_id, valid_from)
+);
+-- Current state of existing employees, valid from their last update; nothing earlier is known
+INSERT INTO employee_history (employee_id, field, value, valid_from)
+SELECT id, 1, CAST(department_id AS CHAR), updated_at FROM employees WHERE deleted_at IS NULL AND department_id IS NOT NULL;
+INSERT INTO employee_history (employee_id, field, value, valid_from)
+SELECT id, 2, CAST(designation_id AS CHAR), updated_at FROM employees WHERE deleted_at IS NULL AND designation_id IS NOT NULL;
+INSERT INTO employee_history (employee_id, field, value, valid_from)
+SELECT id, 3, CAST(reporting_manager_id AS CHAR), updated_at FROM employees
+WHERE deleted_at IS NULL AND reporting_manager_id IS NOT NULL;
+INSERT INTO employee_history (employee_id, field, value, valid_from)
+SELECT id, 4, CAST(salary AS CHAR), updated_at FROM employees WHERE deleted_at IS NULL AND salary IS NOT NULL;
+INSERT INTO employee_history (employee_id, field, value, valid_from)
+SELECT id, 5, employment_status, updated_at FROM employees WHERE deleted_at IS NULL;
+
+-- Structured field changes on audit entries, [[code, old, new], ...] plus a bit per changed field (see FieldChanges)
+ALTER TABLE audit_logs ADD COLUMN changes TEXT NULL AFTER details;
+ALTER TABLE audit_logs ADD COLUMN changed_fields BIGINT NULL AFTER changes;
+CREATE INDEX idx_audit_entity ON audit_logs (entity_type, entity_id, id);
+
+-- Designation versions, part of the cached designation and employee list entry keys (see JsonFragmentCache)
+ALTER TABLE designations ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER title;
+ALTER TABLE designations_archive ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER title;
+
+-- Outbox retry backoff: a failed event is not claimed again before next_attempt_at (see OutboxDispatcher)
+ALTER TABLE outbox_events ADD COLUMN next_attempt_at DATETIME NULL AFTER last_error;
+
+-- Designation change feed, tailed by the search index so renamed titles reach indexed employees
+ALTER TABLE designations ADD COLUMN updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP AFTER created_at;
+ALTER TABLE designations_archive ADD COLUMN updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP AFTER created_at;
+CREATE INDEX idx_desig_updated_at ON designations (updated_at, id);
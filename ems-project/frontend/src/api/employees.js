@@ -4,6 +4,8 @@ export const employeesApi = {
   getAll: () => api.get('/api/employees'),
   getById: (id) => api.get(`/api/employees/${id}`),
   getMe: () => api.get('/api/employees/me'),
+  search: (q, limit = 20) => api.get('/api/employees/search', { params: { q, limit } }),
+  suggest: (prefix, limit = 10) => api.get('/api/employees/suggest', { params: { prefix, limit } }),
   create: (data) => api.post('/api/employees', data),
   update: (id, data) => api.put(`/api/employees/${id}`, data),
   updateMe: (data) => api.patch('/api/employees/me', data),